@@ -0,0 +1,112 @@
+package com.nattguld.tasker.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.nattguld.tasker.util.Attributes;
+import com.nattguld.tasker.util.ConcurrentAttributes;
+import com.nattguld.tasker.util.IAttributes;
+
+/**
+ * Measures attribute lookups and counter updates on the plain and the concurrent attributes.
+ * 
+ * @author randqm
+ *
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AttributesBenchmark {
+	
+	/**
+	 * The attributes owned by a single thread.
+	 */
+	private final Attributes attributes = new Attributes();
+	
+	/**
+	 * The concurrent attributes owned by a single thread.
+	 */
+	private final ConcurrentAttributes concurrentAttributes = new ConcurrentAttributes();
+	
+	
+	@Setup
+	public void setup() {
+		fill(attributes);
+		fill(concurrentAttributes);
+	}
+	
+	/**
+	 * Fills attributes with a mix of values.
+	 * 
+	 * @param attributes The attributes.
+	 */
+	private static void fill(IAttributes attributes) {
+		for (int i = 0; i < 16; i++) {
+			attributes.put("key" + i, i);
+		}
+		attributes.put("name", "benchmark");
+		attributes.put("count", 0L);
+	}
+	
+	@Benchmark
+	public int getInt() {
+		return attributes.getAsInt("key7");
+	}
+	
+	@Benchmark
+	public long increment() {
+		return attributes.increment("count", 1L);
+	}
+	
+	@Benchmark
+	public int concurrentGetInt() {
+		return concurrentAttributes.getAsInt("key7");
+	}
+	
+	@Benchmark
+	public long concurrentIncrement() {
+		return concurrentAttributes.increment("count", 1L);
+	}
+	
+	@Benchmark
+	@Threads(4)
+	public long contendedIncrement(Shared shared) {
+		return shared.attributes.increment("count", 1L);
+	}
+	
+	
+	/**
+	 * Concurrent attributes shared by all benchmark threads.
+	 */
+	@State(Scope.Benchmark)
+	public static class Shared {
+		
+		/**
+		 * The shared attributes.
+		 */
+		private final ConcurrentAttributes attributes = new ConcurrentAttributes();
+		
+		
+		@Setup
+		public void setup() {
+			fill(attributes);
+		}
+		
+	}
+	
+}
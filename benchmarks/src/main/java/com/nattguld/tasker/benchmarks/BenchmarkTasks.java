@@ -0,0 +1,247 @@
+package com.nattguld.tasker.benchmarks;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.CountDownLatch;
+
+import com.nattguld.tasker.TaskManager;
+import com.nattguld.tasker.TaskPolicy;
+import com.nattguld.tasker.callbacks.CallbackResponse;
+import com.nattguld.tasker.callbacks.ICallback;
+import com.nattguld.tasker.cfg.TaskConfig;
+import com.nattguld.tasker.status.StatusLog;
+import com.nattguld.tasker.steps.Step;
+import com.nattguld.tasker.steps.StepState;
+import com.nattguld.tasker.tasks.ExecutorBackend;
+import com.nattguld.tasker.tasks.Task;
+import com.nattguld.tasker.tasks.TaskState;
+import com.nattguld.tasker.tasks.impl.StepTask;
+
+/**
+ * 
+ * @author randqm
+ *
+ */
+
+public class BenchmarkTasks {
+	
+	/**
+	 * The error stream before it got silenced.
+	 */
+	private static final PrintStream ERR = System.err;
+	
+	
+	/**
+	 * Configures the task manager for a benchmark and discards status messages so console output isn't measured.
+	 * 
+	 * @param maxParallel The maximum amount of parallel tasks.
+	 * 
+	 * @param maxQueueSize The maximum queue size.
+	 */
+	public static void configure(int maxParallel, int maxQueueSize) {
+		configure(ExecutorBackend.THREAD_POOL, maxParallel, maxQueueSize);
+	}
+	
+	/**
+	 * Configures the task manager for a benchmark and discards status messages so console output isn't measured.
+	 * 
+	 * @param backend The executor backend, applied before the task manager starts.
+	 * 
+	 * @param maxParallel The maximum amount of parallel tasks.
+	 * 
+	 * @param maxQueueSize The maximum queue size.
+	 */
+	public static void configure(ExecutorBackend backend, int maxParallel, int maxQueueSize) {
+		StatusLog.setSink(events -> {});
+		TaskConfig.getConfig().setExecutorBackend(backend).setMaxParallel(maxParallel).setMaxQueueSize(maxQueueSize);
+		TaskManager.resetMetrics();
+	}
+	
+	/**
+	 * Silences the error stream, rejected tasks report their delay on it.
+	 */
+	public static void silenceErrors() {
+		System.setErr(new PrintStream(new OutputStream() {
+			@Override
+			public void write(int b) {
+				//Discarded
+			}
+		}));
+	}
+	
+	/**
+	 * Disposes the task manager and restores the error stream.
+	 */
+	public static void dispose() {
+		TaskManager.dispose();
+		System.setErr(ERR);
+	}
+	
+	
+	/**
+	 * A task finishing right away.
+	 */
+	public static class NoopTask extends Task {
+		
+		
+		/**
+		 * Creates a new noop task.
+		 */
+		public NoopTask() {
+			super("Noop");
+		}
+		
+		@Override
+		protected TaskState executeTask() throws Exception {
+			return TaskState.FINISHED;
+		}
+		
+	}
+	
+	/**
+	 * A callback task responding right away.
+	 */
+	public static class EchoTask extends Task implements ICallback<Integer> {
+		
+		/**
+		 * The callback response.
+		 */
+		private final CallbackResponse<Integer> callbackResponse = new CallbackResponse<>(-1);
+		
+		/**
+		 * The value to respond with.
+		 */
+		private final int value;
+		
+		
+		/**
+		 * Creates a new echo task.
+		 * 
+		 * @param value The value to respond with.
+		 */
+		public EchoTask(int value) {
+			super("Echo");
+			
+			this.value = value;
+		}
+		
+		@Override
+		protected TaskState executeTask() throws Exception {
+			callbackResponse.assign(value);
+			return TaskState.FINISHED;
+		}
+		
+		@Override
+		public CallbackResponse<Integer> getCallbackResponse() {
+			return callbackResponse;
+		}
+		
+	}
+	
+	/**
+	 * A task occupying its worker until released.
+	 */
+	public static class BlockingTask extends Task {
+		
+		/**
+		 * The latch releasing the task.
+		 */
+		private final CountDownLatch release;
+		
+		
+		/**
+		 * Creates a new blocking task.
+		 * 
+		 * @param release The latch releasing the task.
+		 */
+		public BlockingTask(CountDownLatch release) {
+			super("Blocking");
+			
+			this.release = release;
+		}
+		
+		@Override
+		protected TaskState executeTask() throws Exception {
+			release.await();
+			return TaskState.FINISHED;
+		}
+		
+	}
+	
+	/**
+	 * A blocking task of which only one runs at a time.
+	 */
+	public static class SingleTask extends BlockingTask {
+		
+		
+		/**
+		 * Creates a new single task.
+		 * 
+		 * @param release The latch releasing the task.
+		 */
+		public SingleTask(CountDownLatch release) {
+			super(release);
+		}
+		
+		@Override
+		public TaskPolicy getPolicy() {
+			return TaskPolicy.SINGLE;
+		}
+		
+	}
+	
+	/**
+	 * A step task running a flow of steps succeeding right away.
+	 */
+	public static class FlowTask extends StepTask {
+		
+		/**
+		 * The amount of steps.
+		 */
+		private final int steps;
+		
+		/**
+		 * Whether the flow is executed one step transition at a time or not.
+		 */
+		private final boolean continuation;
+		
+		
+		/**
+		 * Creates a new flow task.
+		 * 
+		 * @param steps The amount of steps.
+		 * 
+		 * @param continuation Whether the flow is executed one step transition at a time or not.
+		 */
+		public FlowTask(int steps, boolean continuation) {
+			super("Flow");
+			
+			this.steps = steps;
+			this.continuation = continuation;
+		}
+		
+		@Override
+		protected void buildStepFlow() {
+			for (int i = 0; i < steps; i++) {
+				add(new Step("Noop step") {
+					@Override
+					public StepState execute() {
+						return StepState.SUCCESS;
+					}
+				});
+			}
+		}
+		
+		@Override
+		protected int getStepDelay() {
+			return 0;
+		}
+		
+		@Override
+		protected boolean isContinuationMode() {
+			return continuation;
+		}
+		
+	}
+	
+}
@@ -0,0 +1,72 @@
+package com.nattguld.tasker.benchmarks;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.nattguld.tasker.TaskManager;
+import com.nattguld.tasker.benchmarks.BenchmarkTasks.NoopTask;
+
+/**
+ * Measures the cost per task when a burst overflows the queue and the supervisor promotes the delayed tasks.
+ * 
+ * @author randqm
+ *
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DelayedPromotionBenchmark {
+	
+	/**
+	 * The amount of tasks submitted per invocation.
+	 */
+	private static final int BURST = 1024;
+	
+	/**
+	 * The maximum queue size.
+	 */
+	@Param({"8", "64"})
+	public int maxQueueSize;
+	
+	
+	@Setup
+	public void setup() {
+		BenchmarkTasks.configure(4, maxQueueSize);
+		BenchmarkTasks.silenceErrors();
+	}
+	
+	@TearDown
+	public void tearDown() {
+		BenchmarkTasks.dispose();
+	}
+	
+	@Benchmark
+	@OperationsPerInvocation(BURST)
+	public void burst() {
+		CompletableFuture<?>[] futures = new CompletableFuture<?>[BURST];
+		
+		for (int i = 0; i < BURST; i++) {
+			futures[i] = TaskManager.submit(new NoopTask());
+		}
+		CompletableFuture.allOf(futures).join();
+	}
+	
+}
@@ -0,0 +1,58 @@
+package com.nattguld.tasker.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.nattguld.tasker.TaskManager;
+import com.nattguld.tasker.benchmarks.BenchmarkTasks.EchoTask;
+import com.nattguld.tasker.benchmarks.BenchmarkTasks.NoopTask;
+import com.nattguld.tasker.tasks.TaskState;
+
+/**
+ * Measures the latency from submitting a task until its caller gets woken with the result.
+ * 
+ * @author randqm
+ *
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RoundTripBenchmark {
+	
+	
+	@Setup
+	public void setup() {
+		BenchmarkTasks.configure(4, 100);
+	}
+	
+	@TearDown
+	public void tearDown() {
+		BenchmarkTasks.dispose();
+	}
+	
+	@Benchmark
+	public TaskState sync() {
+		return TaskManager.sync(new NoopTask());
+	}
+	
+	@Benchmark
+	public Object callback() {
+		return TaskManager.callback(new EchoTask(1));
+	}
+	
+}
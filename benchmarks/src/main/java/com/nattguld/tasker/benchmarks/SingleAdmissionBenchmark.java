@@ -0,0 +1,91 @@
+package com.nattguld.tasker.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.nattguld.tasker.TaskManager;
+import com.nattguld.tasker.benchmarks.BenchmarkTasks.BlockingTask;
+import com.nattguld.tasker.benchmarks.BenchmarkTasks.SingleTask;
+import com.nattguld.tasker.tasks.Task;
+
+/**
+ * Measures admitting a SINGLE policy task while an instance of its class and many other tasks are active.
+ * 
+ * @author randqm
+ *
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SingleAdmissionBenchmark {
+	
+	/**
+	 * The amount of other active tasks.
+	 */
+	@Param({"0", "100", "1000"})
+	public int activeTasks;
+	
+	/**
+	 * The latch releasing the active tasks.
+	 */
+	private final CountDownLatch release = new CountDownLatch(1);
+	
+	/**
+	 * Holds the active tasks.
+	 */
+	private final List<Task> active = new ArrayList<>();
+	
+	
+	@Setup
+	public void setup() {
+		BenchmarkTasks.configure(4, 100);
+		
+		for (int i = 0; i < activeTasks; i++) {
+			active.add(new BlockingTask(release));
+		}
+		active.add(new SingleTask(release));
+		
+		for (Task task : active) {
+			TaskManager.executeAlternatively(task);
+		}
+	}
+	
+	@TearDown
+	public void tearDown() {
+		release.countDown();
+		
+		for (Task task : active) {
+			task.getCompletion().join();
+		}
+		BenchmarkTasks.dispose();
+	}
+	
+	@Benchmark
+	public Task admit() {
+		Task task = new SingleTask(release);
+		
+		TaskManager.async(task);
+		TaskManager.remove(task);
+		return task;
+	}
+	
+}
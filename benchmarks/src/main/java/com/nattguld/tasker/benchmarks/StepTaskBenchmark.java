@@ -0,0 +1,65 @@
+package com.nattguld.tasker.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.nattguld.tasker.TaskManager;
+import com.nattguld.tasker.benchmarks.BenchmarkTasks.FlowTask;
+import com.nattguld.tasker.tasks.TaskState;
+
+/**
+ * Measures running step flows of different lengths, the per step overhead is the slope between the step counts.
+ * 
+ * @author randqm
+ *
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StepTaskBenchmark {
+	
+	/**
+	 * The amount of steps in the flow.
+	 */
+	@Param({"1", "10", "100"})
+	public int steps;
+	
+	/**
+	 * Whether the flow is executed one step transition at a time or not.
+	 */
+	@Param({"false", "true"})
+	public boolean continuation;
+	
+	
+	@Setup
+	public void setup() {
+		BenchmarkTasks.configure(4, 100);
+	}
+	
+	@TearDown
+	public void tearDown() {
+		BenchmarkTasks.dispose();
+	}
+	
+	@Benchmark
+	public TaskState flow() {
+		return TaskManager.sync(new FlowTask(steps, continuation));
+	}
+	
+}
@@ -0,0 +1,78 @@
+package com.nattguld.tasker.benchmarks;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.nattguld.tasker.TaskManager;
+import com.nattguld.tasker.benchmarks.BenchmarkTasks.NoopTask;
+import com.nattguld.tasker.tasks.ExecutorBackend;
+
+/**
+ * Measures how many tasks go through submission, execution and completion per second.
+ * 
+ * @author randqm
+ *
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SubmitBenchmark {
+	
+	/**
+	 * The amount of tasks submitted per invocation, the queue fits them all.
+	 */
+	private static final int BATCH = 256;
+	
+	/**
+	 * The maximum amount of parallel tasks.
+	 */
+	@Param({"1", "4", "16", "64"})
+	public int maxParallel;
+	
+	/**
+	 * The executor backend running the tasks.
+	 */
+	@Param({"THREAD_POOL", "WORK_STEALING"})
+	public ExecutorBackend backend;
+	
+	
+	@Setup
+	public void setup() {
+		BenchmarkTasks.configure(backend, maxParallel, BATCH);
+	}
+	
+	@TearDown
+	public void tearDown() {
+		BenchmarkTasks.dispose();
+	}
+	
+	@Benchmark
+	@OperationsPerInvocation(BATCH)
+	public void submit() {
+		CompletableFuture<?>[] futures = new CompletableFuture<?>[BATCH];
+		
+		for (int i = 0; i < BATCH; i++) {
+			futures[i] = TaskManager.submit(new NoopTask());
+		}
+		CompletableFuture.allOf(futures).join();
+	}
+	
+}
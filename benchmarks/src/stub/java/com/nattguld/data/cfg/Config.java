@@ -0,0 +1,36 @@
+package com.nattguld.data.cfg;
+
+import com.nattguld.data.json.JsonReader;
+import com.nattguld.data.json.JsonWriter;
+
+/**
+ * 
+ * @author randqm
+ *
+ */
+
+public abstract class Config {
+	
+	
+	/**
+	 * Reads the config.
+	 * 
+	 * @param reader The json reader.
+	 */
+	protected abstract void read(JsonReader reader);
+	
+	/**
+	 * Writes the config.
+	 * 
+	 * @param writer The json writer.
+	 */
+	protected abstract void write(JsonWriter writer);
+	
+	/**
+	 * Retrieves the save file name.
+	 * 
+	 * @return The save file name.
+	 */
+	protected abstract String getSaveFileName();
+	
+}
@@ -0,0 +1,37 @@
+package com.nattguld.data.cfg;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.nattguld.data.json.JsonReader;
+
+/**
+ * Stand-in for the nattguld-data config manager, configs are kept in memory with their defaults.
+ * 
+ * @author randqm
+ *
+ */
+
+public class ConfigManager {
+	
+	/**
+	 * Holds the loaded configs by class.
+	 */
+	private static final Map<Class<?>, Config> configs = new ConcurrentHashMap<>();
+	
+	
+	/**
+	 * Retrieves the loaded instance of a config.
+	 * 
+	 * @param config A new instance of the config.
+	 * 
+	 * @return The loaded instance.
+	 */
+	public static Config getConfig(Config config) {
+		return configs.computeIfAbsent(config.getClass(), c -> {
+			config.read(new JsonReader());
+			return config;
+		});
+	}
+	
+}
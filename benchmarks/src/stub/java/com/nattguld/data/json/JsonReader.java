@@ -0,0 +1,52 @@
+package com.nattguld.data.json;
+
+/**
+ * Stand-in for the nattguld-data json reader, every lookup falls back to its default.
+ * 
+ * @author randqm
+ *
+ */
+
+public class JsonReader {
+	
+	
+	/**
+	 * Retrieves a boolean.
+	 * 
+	 * @param key The key.
+	 * 
+	 * @param defaultValue The default value.
+	 * 
+	 * @return The value.
+	 */
+	public boolean getAsBoolean(String key, boolean defaultValue) {
+		return defaultValue;
+	}
+	
+	/**
+	 * Retrieves an integer.
+	 * 
+	 * @param key The key.
+	 * 
+	 * @param defaultValue The default value.
+	 * 
+	 * @return The value.
+	 */
+	public int getAsInt(String key, int defaultValue) {
+		return defaultValue;
+	}
+	
+	/**
+	 * Retrieves a string.
+	 * 
+	 * @param key The key.
+	 * 
+	 * @param defaultValue The default value.
+	 * 
+	 * @return The value.
+	 */
+	public String getAsString(String key, String defaultValue) {
+		return defaultValue;
+	}
+	
+}
@@ -0,0 +1,24 @@
+package com.nattguld.data.json;
+
+/**
+ * Stand-in for the nattguld-data json writer, values are discarded.
+ * 
+ * @author randqm
+ *
+ */
+
+public class JsonWriter {
+	
+	
+	/**
+	 * Writes a value.
+	 * 
+	 * @param key The key.
+	 * 
+	 * @param value The value.
+	 */
+	public void write(String key, Object value) {
+		//Nothing is persisted by the stand-in
+	}
+	
+}
@@ -0,0 +1,62 @@
+package com.nattguld.tasker;
+
+/**
+ * 
+ * @author randqm
+ *
+ */
+
+public enum AdmissionResult {
+	
+	ACCEPTED("Accepted", true),
+	FORCED("Forced on the alternate executor", true),
+	REJECTED("Rejected", false);
+	
+	
+	/**
+	 * The name.
+	 */
+	private final String name;
+	
+	/**
+	 * Whether the task got admitted or not.
+	 */
+	private final boolean admitted;
+	
+	
+	/**
+	 * Creates a new admission result.
+	 * 
+	 * @param name The name.
+	 * 
+	 * @param admitted Whether the task got admitted or not.
+	 */
+	private AdmissionResult(String name, boolean admitted) {
+		this.name = name;
+		this.admitted = admitted;
+	}
+	
+	/**
+	 * Retrieves the name.
+	 * 
+	 * @return The name.
+	 */
+	public String getName() {
+		return name;
+	}
+	
+	/**
+	 * Retrieves whether the task got admitted or not.
+	 * 
+	 * @return The result.
+	 */
+	public boolean isAdmitted() {
+		return admitted;
+	}
+	
+	@Override
+	public String toString() {
+		return getName();
+	}
+	
+}
@@ -46,6 +46,8 @@ public class TaskChain extends Task {
 		super.setProperty(TaskProperty.REPEAT, true)
 			.setProperty(TaskProperty.IGNORE_CRITICAL, true)
 			.setProperty(TaskProperty.DAEMON, true);
+		
+		super.setRepeatDelay(0);
 	}
 	
 	/**
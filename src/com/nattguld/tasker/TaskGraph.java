@@ -0,0 +1,342 @@
+package com.nattguld.tasker;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.nattguld.tasker.tasks.Task;
+import com.nattguld.tasker.tasks.TaskState;
+
+/**
+ * 
+ * @author randqm
+ *
+ */
+
+public class TaskGraph extends Task {
+	
+	/**
+	 * Holds the graph nodes by task in the order they got added.
+	 */
+	private final Map<Task, Node> nodes = Collections.synchronizedMap(new LinkedHashMap<>());
+	
+	/**
+	 * The amount of tasks that finished successfully.
+	 */
+	private final AtomicInteger finished = new AtomicInteger();
+	
+	/**
+	 * The amount of tasks that failed.
+	 */
+	private final AtomicInteger failed = new AtomicInteger();
+	
+	/**
+	 * The amount of tasks skipped due a failed dependency.
+	 */
+	private final AtomicInteger skipped = new AtomicInteger();
+	
+	/**
+	 * Whether the tasks of the current run have been submitted or not.
+	 */
+	private volatile boolean started;
+	
+	/**
+	 * Completes once all tasks of the current run settled.
+	 */
+	private volatile CompletableFuture<Void> settledAll = new CompletableFuture<>();
+	
+	
+	/**
+	 * Creates a new task graph.
+	 * 
+	 * @param name The task name.
+	 */
+	public TaskGraph(String name) {
+		super(name);
+	}
+	
+	/**
+	 * Adds a new task to the graph.
+	 * 
+	 * @param task The task to add.
+	 * 
+	 * @param dependencies The tasks that have to finish successfully before the task gets submitted.
+	 * 
+	 * @return The task graph instance.
+	 */
+	public TaskGraph addTask(Task task, Task... dependencies) {
+		Objects.requireNonNull(task);
+		
+		synchronized (nodes) {
+			if (nodes.containsKey(task)) {
+				throw new IllegalArgumentException(task.getName() + " has already been added to " + getName());
+			}
+			Node node = new Node(task, dependencies.length);
+			
+			for (Task dependency : dependencies) {
+				Node predecessor = nodes.get(dependency);
+				
+				if (Objects.isNull(predecessor)) {
+					throw new IllegalArgumentException("Dependency " + (Objects.isNull(dependency) ? "null" : dependency.getName())
+							+ " has to be added to " + getName() + " before " + task.getName());
+				}
+				predecessor.dependents.add(node);
+			}
+			nodes.put(task, node);
+		}
+		return this;
+	}
+	
+	@Override
+	protected void onStart() {
+		super.onStart();
+		
+		started = false;
+	}
+	
+	@Override
+	protected TaskState executeTask() throws Exception {
+		if (!started) {
+			start();
+		}
+		if (!settledAll.isDone()) {
+			return continueAfter(settledAll);
+		}
+		return getFailedCount() > 0 ? TaskState.ERROR : TaskState.FINISHED;
+	}
+	
+	/**
+	 * Submits the tasks without dependencies.
+	 */
+	private void start() {
+		List<Node> roots = new ArrayList<>();
+		
+		synchronized (nodes) {
+			finished.set(0);
+			failed.set(0);
+			skipped.set(0);
+			settledAll = new CompletableFuture<>();
+			
+			for (Node node : nodes.values()) {
+				node.pending.set(node.dependencies);
+				node.skipped.set(false);
+				node.settled = false;
+				
+				if (node.dependencies == 0) {
+					roots.add(node);
+				}
+			}
+			started = true;
+		}
+		for (Node node : roots) {
+			submit(node);
+		}
+		updateProgress();
+	}
+	
+	/**
+	 * Updates the status with the progress of the current run, completing the run once all tasks settled.
+	 */
+	private void updateProgress() {
+		setStatus("%s/%s tasks settled [Finished: %s, Failed: %s, Skipped: %s]", getSettledCount(), getTaskCount()
+				, getFinishedCount(), getFailedCount(), getSkippedCount());
+		
+		if (getSettledCount() >= getTaskCount()) {
+			settledAll.complete(null);
+		}
+	}
+	
+	/**
+	 * Submits the task of a node.
+	 * 
+	 * @param node The node.
+	 */
+	private void submit(Node node) {
+		if (getState() == TaskState.CANCEL) {
+			skip(node);
+			return;
+		}
+		TaskManager.submit(node.task).thenAccept(state -> settle(node, state));
+	}
+	
+	/**
+	 * Handles a task that settled, submitting its dependents once ready or skipping them when it failed.
+	 * 
+	 * @param node The node of the task.
+	 * 
+	 * @param state The final state of the task.
+	 */
+	private void settle(Node node, TaskState state) {
+		node.settled = true;
+		
+		if (state != TaskState.FINISHED) {
+			failed.incrementAndGet();
+			
+			for (Node dependent : node.dependents) {
+				skip(dependent);
+			}
+			updateProgress();
+			return;
+		}
+		finished.incrementAndGet();
+		
+		for (Node dependent : node.dependents) {
+			if (dependent.pending.decrementAndGet() == 0) {
+				submit(dependent);
+			}
+		}
+		updateProgress();
+	}
+	
+	/**
+	 * Skips a task and its dependents as one of its dependencies failed.
+	 * 
+	 * @param node The node of the task.
+	 */
+	private void skip(Node node) {
+		if (!node.skipped.compareAndSet(false, true)) {
+			return;
+		}
+		node.settled = true;
+		node.task.cancel();
+		node.task.getCompletion().complete(node.task.getState());
+		skipped.incrementAndGet();
+		
+		for (Node dependent : node.dependents) {
+			skip(dependent);
+		}
+	}
+	
+	@Override
+	protected void onFinish() {
+		if (getState() == TaskState.CANCEL) {
+			synchronized (nodes) {
+				for (Node node : nodes.values()) {
+					if (node.settled) {
+						continue;
+					}
+					if (node.pending.get() > 0) {
+						skip(node);
+						
+					} else {
+						node.task.cancel();
+					}
+				}
+			}
+		}
+		super.onFinish();
+	}
+	
+	/**
+	 * Retrieves the amount of tasks in the graph.
+	 * 
+	 * @return The amount.
+	 */
+	public int getTaskCount() {
+		return nodes.size();
+	}
+	
+	/**
+	 * Retrieves the amount of tasks that finished successfully during the current run.
+	 * 
+	 * @return The amount.
+	 */
+	public int getFinishedCount() {
+		return finished.get();
+	}
+	
+	/**
+	 * Retrieves the amount of tasks that failed during the current run.
+	 * 
+	 * @return The amount.
+	 */
+	public int getFailedCount() {
+		return failed.get();
+	}
+	
+	/**
+	 * Retrieves the amount of tasks skipped due a failed dependency during the current run.
+	 * 
+	 * @return The amount.
+	 */
+	public int getSkippedCount() {
+		return skipped.get();
+	}
+	
+	/**
+	 * Retrieves the amount of tasks that finished, failed or got skipped during the current run.
+	 * 
+	 * @return The amount.
+	 */
+	public int getSettledCount() {
+		return getFinishedCount() + getFailedCount() + getSkippedCount();
+	}
+	
+	/**
+	 * Retrieves the progress of the current run.
+	 * 
+	 * @return The progress between 0 and 1.
+	 */
+	public double getProgress() {
+		int total = getTaskCount();
+		return total == 0 ? 1D : (double)getSettledCount() / total;
+	}
+	
+	
+	/**
+	 * A task in the graph with its dependents.
+	 */
+	private static final class Node {
+		
+		/**
+		 * The task.
+		 */
+		private final Task task;
+		
+		/**
+		 * The amount of dependencies.
+		 */
+		private final int dependencies;
+		
+		/**
+		 * Holds the tasks depending on this task.
+		 */
+		private final List<Node> dependents = new ArrayList<>();
+		
+		/**
+		 * The amount of dependencies that didn't finish yet.
+		 */
+		private final AtomicInteger pending = new AtomicInteger();
+		
+		/**
+		 * Whether the task got skipped during the current run or not.
+		 */
+		private final AtomicBoolean skipped = new AtomicBoolean();
+		
+		/**
+		 * Whether the task settled during the current run or not.
+		 */
+		private volatile boolean settled;
+		
+		
+		/**
+		 * Creates a new node.
+		 * 
+		 * @param task The task.
+		 * 
+		 * @param dependencies The amount of dependencies.
+		 */
+		private Node(Task task, int dependencies) {
+			this.task = task;
+			this.dependencies = dependencies;
+		}
+		
+	}
+	
+}
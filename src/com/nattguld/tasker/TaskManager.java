@@ -1,26 +1,53 @@
 package com.nattguld.tasker;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.PriorityQueue;
 import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.Executor;
 import java.util.concurrent.Future;
-import java.util.concurrent.RejectedExecutionHandler;
-import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import com.nattguld.tasker.callbacks.ICallback;
 import com.nattguld.tasker.cfg.TaskConfig;
+import com.nattguld.tasker.jmx.TaskManagerMonitor;
+import com.nattguld.tasker.limit.AdaptiveLimiter;
+import com.nattguld.tasker.limit.DemandSubscription;
+import com.nattguld.tasker.limit.IDemandListener;
+import com.nattguld.tasker.limit.RateLimit;
+import com.nattguld.tasker.limit.TokenBucket;
+import com.nattguld.tasker.metrics.ExecutionMetricsSnapshot;
+import com.nattguld.tasker.metrics.Metrics;
+import com.nattguld.tasker.status.StatusLog;
+import com.nattguld.tasker.tasks.ExecutorBackend;
+import com.nattguld.tasker.tasks.IExecutionListener;
+import com.nattguld.tasker.tasks.ITaskListener;
+import com.nattguld.tasker.tasks.ITaskExecutor;
 import com.nattguld.tasker.tasks.Task;
 import com.nattguld.tasker.tasks.TaskFuture;
-import com.nattguld.tasker.tasks.TaskPoolExecutor;
 import com.nattguld.tasker.tasks.TaskProperty;
 import com.nattguld.tasker.tasks.TaskState;
-import com.nattguld.tasker.util.Misc;
+import com.nattguld.tasker.tasks.TaskSubscription;
+import com.nattguld.tasker.tasks.TimeoutWheel;
+import com.nattguld.tasker.util.ConcurrentLinkedSet;
 
 /**
  * 
@@ -31,49 +58,162 @@ import com.nattguld.tasker.util.Misc;
 public class TaskManager {
 	
 	/**
-	 * The pending tasks update cycle delay.
+	 * Holds the tasks that require the attention of the supervisor.
 	 */
-	private static final int PENDING_UPDATE_DELAY = 10000;
+	private static final BlockingQueue<Task> signals = new LinkedBlockingQueue<>();
+	
+	/**
+	 * The timeout wheel signalling tasks that passed their deadline.
+	 */
+	private static final TimeoutWheel timeoutWheel = new TimeoutWheel(TaskManager::signal);
+	
+	/**
+	 * Orders tasks by their scheduling rank.
+	 */
+	private static final Comparator<Task> RANK_ORDER = Comparator.comparingLong(Task::getRank);
 	
 	/**
 	 * Holds tasks delayed tasks before becoming active.
 	 */
-	private static List<Task> delayed = new CopyOnWriteArrayList<>();
+	private static ConcurrentLinkedSet<Task> delayed = new ConcurrentLinkedSet<>();
 	
 	/**
 	 * Holds the currently active tasks.
 	 */
     private static Map<Task, Future<?>> active = new ConcurrentHashMap<>();
     
+	/**
+	 * Holds the amount of active tasks by class.
+	 */
+	private static final Map<Class<?>, Integer> activeByClass = new ConcurrentHashMap<>();
+	
 	/**
 	 * Holds the tasks that turned inactive.
 	 */
-	private static List<Task> inactive = new CopyOnWriteArrayList<>();
+	private static ConcurrentLinkedSet<Task> inactive = new ConcurrentLinkedSet<>();
+	
+	/**
+	 * Holds the delay of active tasks releasing their worker between iterations.
+	 */
+	private static final Map<Task, Long> suspensions = new ConcurrentHashMap<>();
+	
+	/**
+	 * Holds the scheduled resumptions of suspended tasks.
+	 */
+	private static final Map<Task, ScheduledFuture<?>> resumptions = new ConcurrentHashMap<>();
 	
+	/**
+	 * Holds the subscriptions following all tasks.
+	 */
+	private static final List<TaskSubscription> subscriptions = new CopyOnWriteArrayList<>();
+	
+	/**
+	 * Holds the subscriptions following the room for more tasks.
+	 */
+	private static final List<DemandSubscription> demandSubscriptions = new CopyOnWriteArrayList<>();
+	
+	/**
+	 * Whether the current thread submits through trySubmit, rejected tasks are then handed back rather than delayed or ignored.
+	 */
+	private static final ThreadLocal<boolean[]> trying = ThreadLocal.withInitial(() -> new boolean[1]);
+	
+	/**
+	 * The monitor producers wait on for room in the executor.
+	 */
+	private static final Object admission = new Object();
+	
+	/**
+	 * The amount of producers waiting for room in the executor.
+	 */
+	private static final AtomicInteger admissionWaiters = new AtomicInteger();
+	
+	/**
+	 * Counts the signals for waiting producers, so a producer notices room freed between its attempt and its wait.
+	 */
+	private static final AtomicLong admissionGeneration = new AtomicLong();
+	
+	/**
+	 * Holds the token buckets by rate limit key.
+	 */
+	private static final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+	
+	/**
+	 * Holds the amount of rejected submissions by task policy.
+	 */
+	private static final Map<TaskPolicy, LongAdder> rejections = new EnumMap<>(TaskPolicy.class);
+	
+	/**
+	 * The interval in milliseconds between adaptations of the parallel limit.
+	 */
+	private static final long ADAPT_INTERVAL = 500L;
+	
+	/**
+	 * Adapts the amount of parallel tasks to the observed run times.
+	 */
+	private static final AdaptiveLimiter limiter = new AdaptiveLimiter(TaskConfig.getConfig().getMaxParallel()
+			, TaskConfig.getConfig().getMinParallel(), TaskConfig.getConfig().getMaxParallel());
+	
+	/**
+	 * Holds the time in nanoseconds the current run of a worker started.
+	 */
+	private static final ThreadLocal<long[]> runStart = ThreadLocal.withInitial(() -> new long[1]);
+	
+	/**
+	 * Whether the parallel limit is being adapted or not.
+	 */
+	private static volatile boolean adapting;
+	
+	/**
+	 * The timer running delayed actions.
+	 */
+	private static final ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+		@Override
+		public Thread newThread(Runnable runnable) {
+			Thread thread = new Thread(runnable, "Task Timer");
+			thread.setDaemon(true);
+			return thread;
+		}
+	});
+    
     /**
      * The executor service for threading.
      */
-    private static TaskPoolExecutor executorService;
+    private static ITaskExecutor executorService;
     
     /**
      * The executor service for threading.
      */
-    private static ExecutorService alternateExecutorService = Executors.newCachedThreadPool();
+    private static ITaskExecutor alternateExecutorService;
 
     
     static {
-    	RejectedExecutionHandler rejectionHandler = new RejectedExecutionHandler() {
+    	for (TaskPolicy policy : TaskPolicy.values()) {
+    		rejections.put(policy, new LongAdder());
+    	}
+    	Consumer<Runnable> rejectionHandler = new Consumer<Runnable>() {
 			@Override
-			public void rejectedExecution(Runnable runnable, ThreadPoolExecutor executor) {
+			public void accept(Runnable runnable) {
 				try {
 					TaskFuture<?> tf = (TaskFuture<?>)runnable;
 					Task task = tf.getTask();
-
+					
+					tf.reject();
+					
+					if (trying.get()[0]) {
+						//Handed back to the producer, not a policy rejection
+						return;
+					}
+					if (task.isSuspended()) {
+						//Admitted before releasing its worker, waits for room regardless of its policy
+						delay(task);
+						return;
+					}
+					rejections.get(task.getPolicy()).increment();
+					
 					switch (task.getPolicy()) {
 					case DEFAULT:
 					case SINGLE:
-						if (!delayed.contains(task)) {
-							delayed.add(task);
+						if (delay(task)) {
 							System.err.println(task.getName() + " has been delayed [Policy: " + task.getPolicy().getName() + "]");
 						}
 						return;
@@ -83,6 +223,8 @@ public class TaskManager {
 						break;
 						
 					case OPTIONAL:
+						task.cancel();
+						tf.cancel(false);
 						System.err.println(task.getName() + " has been rejected and ignored [Policy: " + task.getPolicy().getName() + "]");
 						return;
 					}
@@ -91,13 +233,69 @@ public class TaskManager {
 				}
 			}
 		};
+		IExecutionListener executionListener = new IExecutionListener() {
+			@Override
+			public void onStart(Task task) {
+				if (!delayed.isEmpty()) {
+					signal(task);
+				}
+				//A queued task starting frees its queue slot
+				signalAdmission();
+			}
+			
+			@Override
+			public void onCompletion(Task task) {
+				Long delay = suspensions.get(task);
+				
+				if (Objects.nonNull(delay)) {
+					try {
+						resumptions.put(task, timer.schedule(() -> resume(task), delay, TimeUnit.MILLISECONDS));
+						
+					} catch (RejectedExecutionException ex) {
+						//Timer has been disposed
+					}
+					if (task.isAwaitDone()) {
+						//The awaited future completed before the resumption got scheduled
+						wake(task);
+					}
+				}
+				signal(task);
+				signalAdmission();
+			}
+		};
+		IExecutionListener boundedListener = new IExecutionListener() {
+			@Override
+			public void onStart(Task task) {
+				if (adapting) {
+					runStart.get()[0] = System.nanoTime();
+				}
+				executionListener.onStart(task);
+			}
+			
+			@Override
+			public void onCompletion(Task task) {
+				if (adapting) {
+					long start = runStart.get()[0];
+					
+					if (start != 0L) {
+						limiter.record(System.nanoTime() - start);
+					}
+				}
+				executionListener.onCompletion(task);
+			}
+		};
     	/*executorService = new ThreadPoolExecutor(TaskConfig.getConfig().getMaxParallel(), TaskConfig.getConfig().getMaxParallel(), 60L, TimeUnit.SECONDS
     			, new LinkedBlockingQueue<Runnable>(), rejectedExecutionHandler);*/
-		executorService = new TaskPoolExecutor(TaskConfig.getConfig().getMaxParallel(), TaskConfig.getConfig().getMaxParallel(), TaskConfig.getConfig().getMaxQueueSize(), rejectionHandler);
+		ExecutorBackend backend = TaskConfig.getConfig().getExecutorBackend();
+		executorService = backend.create(TaskConfig.getConfig().getMaxParallel(), TaskConfig.getConfig().getMaxQueueSize(), rejectionHandler, boundedListener);
     	//executorService = new TaskPoolExecutor(1, 2, 1, rejectionHandler);
-    	executorService.allowCoreThreadTimeOut(true);
+    	alternateExecutorService = backend.createUnbounded(executionListener);
+    	
+    	timer.setRemoveOnCancelPolicy(true);
+    	timer.scheduleWithFixedDelay(TaskManager::adaptParallel, ADAPT_INTERVAL, ADAPT_INTERVAL, TimeUnit.MILLISECONDS);
     	
     	processTasks();
+    	TaskManagerMonitor.register(timer);
     }
 	
     /**
@@ -109,54 +307,409 @@ public class TaskManager {
 			public void run() {
 				while (true) {
 					try {
-						if (active.isEmpty() && delayed.isEmpty()) {
-							Misc.sleep(PENDING_UPDATE_DELAY);
-							continue;
-						}
-						for (Task task : active.keySet()) {
-							boolean timedOut = task.isTimedOut();
-							
-							if (task.isActive() && !timedOut) {
-								continue;
-							}
-							if (timedOut) {
-								System.err.println(task.getName() + " timed out.");
-							}
-							remove(task);
-							
-							if (task.hasProperty(TaskProperty.KEEP_ALIVE)) {
-								executeAlternatively(task);
-							}
-						}
-						if (executorService.getQueue().size() < executorService.getMaxQueueSize()) {
-							for (Task delayedTask : delayed) {
-								if (delayedTask.getPolicy() == TaskPolicy.SINGLE 
-										&& !taskByClassIsActive(delayedTask.getClass().getSimpleName()).isEmpty()) {
-									continue;
-								}
-								async(delayedTask);
-								
-								if (executorService.getQueue().size() >= executorService.getMaxQueueSize()) {
-									break;
-								}
-							}
-						}
+						Task signalled = signals.take();
+						
+						do {
+							supervise(signalled);
+						} while (Objects.nonNull(signalled = signals.poll()));
+						
+						promoteDelayed();
+						
+					} catch (InterruptedException ex) {
+						return;
+						
 					} catch (Exception ex) {
 						ex.printStackTrace();
 					}
-					Misc.sleep(100);
 				}
 			}
     	});
     }
     
+    /**
+     * Removes a task from the active tasks when it's no longer running or timed out.
+     * 
+     * @param task The task.
+     */
+    private static void supervise(Task task) {
+    	Future<?> future = active.get(task);
+    	
+    	if (Objects.isNull(future)) {
+    		return;
+    	}
+    	boolean timedOut = task.isTimedOut();
+    	
+    	if (suspensions.containsKey(task)) {
+    		if (!timedOut) {
+    			if (!task.isActive()) {
+    				//Lets a task cancelled while suspended finish right away
+    				wake(task);
+    			}
+    			return;
+    		}
+    	} else if (task.isActive() && !timedOut && !future.isDone()) {
+    		return;
+    	}
+    	if (timedOut) {
+    		System.err.println(task.getName() + " timed out.");
+    	}
+    	remove(task);
+    	
+    	if (task.hasProperty(TaskProperty.KEEP_ALIVE)) {
+    		executeAlternatively(task);
+    	}
+    }
+    
+    /**
+     * Promotes delayed tasks by rank while the executor has room in its queue.
+     */
+    private static void promoteDelayed() {
+    	if (delayed.isEmpty() || executorService.getQueuedCount() >= executorService.getMaxQueueSize()) {
+    		return;
+    	}
+    	//Snapshot, so tasks delayed again during promotion aren't visited twice
+    	PriorityQueue<Task> byRank = new PriorityQueue<>(Math.max(1, delayed.size()), RANK_ORDER);
+    	byRank.addAll(delayed);
+    	
+    	for (Task delayedTask = byRank.poll(); Objects.nonNull(delayedTask); delayedTask = byRank.poll()) {
+    		if (executorService.getQueuedCount() >= executorService.getMaxQueueSize()) {
+    			break;
+    		}
+    		if (delayedTask.getPolicy() == TaskPolicy.SINGLE 
+    				&& getActiveCount(delayedTask.getClass()) > 0) {
+    			continue;
+    		}
+    		async(delayedTask);
+    	}
+    }
+    
+    /**
+     * Delays a task until the executor has room for it.
+     * Cancels the task instead when the delayed tasks reached their maximum, unless it's resuming after releasing its worker.
+     * 
+     * @param task The task.
+     * 
+     * @return Whether the task got delayed or not.
+     */
+    private static boolean delay(Task task) {
+    	if (delayed.contains(task)) {
+    		return false;
+    	}
+    	if (!task.isSuspended() && delayed.size() >= TaskConfig.getConfig().getMaxDelayedSize()) {
+    		task.cancel();
+    		task.getCompletion().complete(task.getState());
+    		System.err.println(task.getName() + " has been rejected as the delayed tasks are full [Policy: " + task.getPolicy().getName() + "]");
+    		return false;
+    	}
+    	if (!delayed.add(task)) {
+    		return false;
+    	}
+    	signal(task);
+    	return true;
+    }
+    
+    /**
+     * Adapts the amount of parallel tasks when enabled, restores the configured amount when disabled.
+     */
+    private static void adaptParallel() {
+    	try {
+    		TaskConfig config = TaskConfig.getConfig();
+    		
+    		if (!config.isAdaptiveParallel()) {
+    			if (adapting) {
+    				adapting = false;
+    				executorService.setMaximumPoolSize(config.getMaxParallel());
+    			}
+    			return;
+    		}
+    		limiter.setBounds(config.getMinParallel(), config.getMaxParallel());
+    		
+    		if (!adapting) {
+    			//Starts low so the run time without load gets observed before growing
+    			limiter.reset(config.getMinParallel());
+    			executorService.setMaximumPoolSize(limiter.getLimit());
+    			adapting = true;
+    			return;
+    		}
+    		int limit = limiter.update(executorService.getActiveCount(), executorService.getQueuedCount() + delayed.size());
+    		
+    		if (limit != executorService.getMaximumPoolSize()) {
+    			executorService.setMaximumPoolSize(limit);
+    			
+    			//Lets the supervisor promote delayed tasks when the limit grew
+    			signal(delayed.peek());
+    			signalAdmission();
+    		}
+    	} catch (Exception ex) {
+    		ex.printStackTrace();
+    	}
+    }
+    
+    /**
+     * Suspends an active task which releases its worker until a given delay passed.
+     * Executed by the task itself before returning from its run.
+     * 
+     * @param task The task.
+     * 
+     * @param delay The delay in milliseconds.
+     * 
+     * @return Whether the task got suspended or should wait on its worker instead.
+     */
+    public static boolean suspend(Task task, long delay) {
+    	if (!active.containsKey(task) || timer.isShutdown()) {
+    		return false;
+    	}
+    	suspensions.put(task, delay);
+    	return true;
+    }
+    
+    /**
+     * Draws a permit of a rate limit for an attempt that is about to start.
+     * 
+     * @param rateLimit The rate limit.
+     * 
+     * @return The time in nanoseconds until the caller should try again, 0 when the permit got drawn.
+     */
+    public static long acquirePermit(RateLimit rateLimit) {
+    	TokenBucket bucket = buckets.get(rateLimit.getKey());
+    	
+    	if (Objects.isNull(bucket)) {
+    		bucket = buckets.computeIfAbsent(rateLimit.getKey(), k -> new TokenBucket(rateLimit));
+    	}
+    	return bucket.tryAcquire(rateLimit);
+    }
+    
+    /**
+     * Resumes a suspended task by submitting it again.
+     * 
+     * @param task The task.
+     */
+    private static void resume(Task task) {
+    	resumptions.remove(task);
+    	
+    	if (Objects.isNull(suspensions.remove(task)) || !deactivate(task)) {
+    		return;
+    	}
+    	async(task);
+    }
+    
+    /**
+     * Resumes a suspended task without waiting for its delay to pass.
+     * 
+     * @param task The task.
+     */
+    public static void wake(Task task) {
+    	ScheduledFuture<?> resumption = resumptions.get(task);
+    	
+    	if (Objects.nonNull(resumption) && resumption.cancel(false)) {
+    		resume(task);
+    	}
+    }
+    
+    /**
+     * Stops tracking a suspended task.
+     * 
+     * @param task The task.
+     * 
+     * @return Whether the task was suspended or not.
+     */
+    private static boolean unsuspend(Task task) {
+    	if (Objects.isNull(suspensions.remove(task))) {
+    		return false;
+    	}
+    	ScheduledFuture<?> resumption = resumptions.remove(task);
+    	
+    	if (Objects.nonNull(resumption)) {
+    		resumption.cancel(false);
+    	}
+    	return true;
+    }
+    
+    /**
+     * Signals the supervisor that a task requires attention.
+     * 
+     * @param task The task.
+     */
+    public static void signal(Task task) {
+    	if (Objects.nonNull(task)) {
+    		signals.offer(task);
+    	}
+    }
+    
+    /**
+     * Notifies the subscriptions following all tasks about a change of a task.
+     * 
+     * @param task The task.
+     */
+    public static void notifyListeners(Task task) {
+    	if (!subscriptions.isEmpty()) {
+    		for (TaskSubscription subscription : subscriptions) {
+    			subscription.signal(task);
+    		}
+    	}
+    }
+    
+    /**
+     * Subscribes a listener to the state and status changes of all tasks.
+     * 
+     * @param listener The listener.
+     * 
+     * @return The subscription.
+     */
+    public static TaskSubscription subscribe(ITaskListener listener) {
+    	return subscribe(listener, null);
+    }
+    
+    /**
+     * Subscribes a listener to the state and status changes of all tasks.
+     * 
+     * @param listener The listener.
+     * 
+     * @param executor The executor notifying the listener, null for the default executor.
+     * 
+     * @return The subscription.
+     */
+    public static TaskSubscription subscribe(ITaskListener listener, Executor executor) {
+    	return new TaskSubscription(listener, executor, subscriptions);
+    }
+    
+    /**
+     * Wakes the producers waiting for room and notifies the subscriptions following the demand.
+     */
+    private static void signalAdmission() {
+    	if (admissionWaiters.get() > 0) {
+    		admissionGeneration.incrementAndGet();
+    		
+    		synchronized (admission) {
+    			admission.notifyAll();
+    		}
+    	}
+    	if (!demandSubscriptions.isEmpty()) {
+    		for (DemandSubscription subscription : demandSubscriptions) {
+    			subscription.signal();
+    		}
+    	}
+    }
+    
+    /**
+     * Subscribes a listener to the room for more tasks, so a producer only submits what can be executed or queued.
+     * 
+     * @param listener The listener.
+     * 
+     * @return The subscription.
+     */
+    public static DemandSubscription onDemand(IDemandListener listener) {
+    	return onDemand(listener, null);
+    }
+    
+    /**
+     * Subscribes a listener to the room for more tasks, so a producer only submits what can be executed or queued.
+     * 
+     * @param listener The listener.
+     * 
+     * @param executor The executor notifying the listener, null for the default executor.
+     * 
+     * @return The subscription.
+     */
+    public static DemandSubscription onDemand(IDemandListener listener, Executor executor) {
+    	return new DemandSubscription(listener, executor, demandSubscriptions, TaskManager::getDemand);
+    }
+    
+    /**
+     * Retrieves the timeout wheel.
+     * 
+     * @return The timeout wheel.
+     */
+    public static TimeoutWheel getTimeoutWheel() {
+    	return timeoutWheel;
+    }
+    
     /**
      * Updates the max parallel threads count.
+     * While the adaptive limit is active the count only bounds the limit, the next adaptation applies it to the executor.
      * 
      * @param maxParallel The new count.
      */
 	public static void updateMaxParallel(int maxParallel) {
+		if (adapting) {
+			limiter.setBounds(TaskConfig.getConfig().getMinParallel(), maxParallel);
+			return;
+		}
 		executorService.setMaximumPoolSize(maxParallel);
+		signalAdmission();
+	}
+    
+    /**
+     * Updates the maximum queue size.
+     * 
+     * @param maxQueueSize The new maximum queue size.
+     */
+	public static void updateMaxQueueSize(int maxQueueSize) {
+		executorService.setMaxQueueSize(maxQueueSize);
+		
+		//Lets the supervisor promote delayed tasks into the added room
+		signal(delayed.peek());
+		signalAdmission();
+	}
+	
+	/**
+	 * Pauses the active and delayed tasks of a given class.
+	 * 
+	 * @param className The fully qualified class name.
+	 * 
+	 * @return The amount of paused tasks.
+	 */
+	public static int pause(String className) {
+		int count = 0;
+		
+		for (Task task : getTasksByClassName(className)) {
+			if (task.getState() != TaskState.PAUSED && task.pause().getState() == TaskState.PAUSED) {
+				count++;
+			}
+		}
+		return count;
+	}
+	
+	/**
+	 * Unpauses the paused active and delayed tasks of a given class.
+	 * 
+	 * @param className The fully qualified class name.
+	 * 
+	 * @return The amount of unpaused tasks.
+	 */
+	public static int unpause(String className) {
+		int count = 0;
+		
+		for (Task task : getTasksByClassName(className)) {
+			if (task.getState() == TaskState.PAUSED) {
+				task.unpause();
+				count++;
+			}
+		}
+		return count;
+	}
+	
+	/**
+	 * Retrieves the active and delayed tasks of a given class.
+	 * 
+	 * @param className The fully qualified class name.
+	 * 
+	 * @return The tasks.
+	 */
+	private static List<Task> getTasksByClassName(String className) {
+		List<Task> tasks = new ArrayList<>();
+		
+		for (Task task : active.keySet()) {
+			if (task.getClass().getName().equals(className)) {
+				tasks.add(task);
+			}
+		}
+		for (Task task : delayed) {
+			if (task.getClass().getName().equals(className) && !tasks.contains(task)) {
+				tasks.add(task);
+			}
+		}
+		return tasks;
 	}
     
 	/**
@@ -165,15 +718,16 @@ public class TaskManager {
 	 * @param task The task to remove.
 	 */
 	public static void remove(Task task) {
+		if (unsuspend(task)) {
+			task.getCompletion().complete(task.getState());
+		}
 		if (active.containsKey(task)) {
 			stop(task);
 		}
-		if (delayed.contains(task)) {
-			delayed.remove(task);
-		}
-		if (inactive.contains(task)) {
-			inactive.remove(task);
+		if (delayed.remove(task)) {
+			task.getCompletion().complete(task.getState());
 		}
+		inactive.remove(task);
 	}
 	
 	/**
@@ -182,11 +736,14 @@ public class TaskManager {
 	 * @param task The task to stop.
 	 */
 	private static void stop(Task task) {
-		if (active.containsKey(task)) {
-			stop(active.get(task));
-			
-			active.remove(task);
+		Future<?> future = active.get(task);
+		
+		if (Objects.nonNull(future)) {
+			stop(future);
 			
+			if (!deactivate(task)) {
+				return;
+			}
 			if (!task.hasProperty(TaskProperty.DAEMON) 
 					&& task.getState() != TaskState.FINISHED
 					&& task.getState() != TaskState.CANCEL) {
@@ -195,6 +752,34 @@ public class TaskManager {
 		}
 	}
 	
+	/**
+	 * Marks a task as active.
+	 * 
+	 * @param task The task.
+	 * 
+	 * @param future The future of the task.
+	 */
+	private static void activate(Task task, Future<?> future) {
+		if (Objects.isNull(active.put(task, future))) {
+			activeByClass.merge(task.getClass(), 1, Integer::sum);
+		}
+	}
+	
+	/**
+	 * Marks a task as no longer active.
+	 * 
+	 * @param task The task.
+	 * 
+	 * @return Whether the task was active or not.
+	 */
+	private static boolean deactivate(Task task) {
+		if (Objects.isNull(active.remove(task))) {
+			return false;
+		}
+		activeByClass.computeIfPresent(task.getClass(), (c, count) -> count > 1 ? count - 1 : null);
+		return true;
+	}
+	
 	/**
 	 * Stops a future.
 	 * 
@@ -212,10 +797,27 @@ public class TaskManager {
      * @param task The task to execute.
      */
     public static void executeAlternatively(Task task) {
+    	task.prepareSubmission();
+    	
     	Future<?> sf = alternateExecutorService.submit(task);
-    	active.put(task, sf);
+    	activate(task, sf);
+    	
+    	if (sf.isDone()) {
+    		signal(task);
+    	}
     }
 
+    /**
+     * Runs a runnable on the alternate executor ignoring defaults.
+     * 
+     * @param runnable The runnable.
+     * 
+     * @return The future completing once the runnable finished.
+     */
+    public static CompletableFuture<Void> runAlternatively(Runnable runnable) {
+    	return CompletableFuture.runAsync(runnable, alternateExecutorService);
+    }
+    
     /**
      * Submits a task in an asynchronous matter.
      * 
@@ -226,22 +828,147 @@ public class TaskManager {
 			System.err.println("Received nulled task");
     		return;
     	}
+		task.prepareSubmission();
+		
 		if (task.getPolicy() == TaskPolicy.FORCE || task.hasProperty(TaskProperty.KEEP_ALIVE)) {
 			executeAlternatively(task);
 			return;
 		}
 		if (task.getPolicy() == TaskPolicy.SINGLE
-				&& !taskByClassIsActive(task.getClass().getSimpleName()).isEmpty()) {
-			if (!delayed.contains(task)) {
-				delayed.add(task);
-			}
+				&& getActiveCount(task.getClass()) > 0) {
+			delay(task);
 			return;
 		}
-		if (delayed.contains(task)) {
-			delayed.remove(task);
-		}
+		execute(task);
+	}
+	
+	/**
+	 * Submits a task to the executor.
+	 * 
+	 * @param task The task.
+	 * 
+	 * @return Whether the executor admitted the task or not.
+	 */
+	private static boolean execute(Task task) {
+		delayed.remove(task);
+		
 		Future<?> sf = executorService.submit(task);
-    	active.put(task, sf);
+		
+		if (((TaskFuture<?>)sf).isRejected()) {
+			//Delayed, ignored, handed to the alternate executor or back to the producer by the rejection handler
+			return false;
+		}
+    	activate(task, sf);
+    	
+    	if (sf.isDone()) {
+    		signal(task);
+    	}
+    	return true;
+	}
+	
+	/**
+	 * Submits a task when the executor has room for it without delaying or ignoring it otherwise.
+	 * A rejected task is handed back untouched, so it can be submitted again later.
+	 * 
+	 * @param task The task.
+	 * 
+	 * @return The admission result.
+	 */
+	public static AdmissionResult trySubmit(Task task) {
+		Objects.requireNonNull(task);
+		task.prepareSubmission();
+		
+		if (task.getPolicy() == TaskPolicy.FORCE || task.hasProperty(TaskProperty.KEEP_ALIVE)) {
+			executeAlternatively(task);
+			return AdmissionResult.FORCED;
+		}
+		if (task.getPolicy() == TaskPolicy.SINGLE
+				&& getActiveCount(task.getClass()) > 0) {
+			return AdmissionResult.REJECTED;
+		}
+		boolean wasDelayed = delayed.contains(task);
+		boolean[] flag = trying.get();
+		flag[0] = true;
+		
+		try {
+			if (execute(task)) {
+				return AdmissionResult.ACCEPTED;
+			}
+		} finally {
+			flag[0] = false;
+		}
+		if (wasDelayed) {
+			delay(task);
+		}
+		return AdmissionResult.REJECTED;
+	}
+	
+	/**
+	 * Submits a task once the executor has room for it, waiting up to a given timeout.
+	 * 
+	 * @param task The task.
+	 * 
+	 * @param timeout The maximum time to wait.
+	 * 
+	 * @param unit The unit of the timeout.
+	 * 
+	 * @return The future completing with the final state.
+	 * 
+	 * @throws InterruptedException When interrupted while waiting.
+	 * 
+	 * @throws RejectedExecutionException When the executor had no room before the timeout passed.
+	 */
+	public static CompletableFuture<TaskState> submit(Task task, long timeout, TimeUnit unit) throws InterruptedException {
+		long deadline = System.nanoTime() + unit.toNanos(timeout);
+		admissionWaiters.incrementAndGet();
+		
+		try {
+			while (true) {
+				//Read before the attempt, room freed after it bumps the generation
+				long generation = admissionGeneration.get();
+				
+				if (trySubmit(task).isAdmitted()) {
+					break;
+				}
+				synchronized (admission) {
+					while (admissionGeneration.get() == generation) {
+						long remaining = deadline - System.nanoTime();
+						
+						if (remaining <= 0L) {
+							throw new RejectedExecutionException(task.getName() + " has not been admitted within " + timeout + " " + unit.name().toLowerCase());
+						}
+						TimeUnit.NANOSECONDS.timedWait(admission, remaining);
+					}
+				}
+			}
+		} finally {
+			admissionWaiters.decrementAndGet();
+		}
+		return task.getCompletion().thenApply(state -> state);
+	}
+	
+	/**
+	 * Submits a task and retrieves a future completing with its final state.
+	 * 
+	 * @param task The task.
+	 * 
+	 * @return The future.
+	 */
+	public static CompletableFuture<TaskState> submit(Task task) {
+		async(task);
+		
+		return task.getCompletion().thenApply(state -> state);
+	}
+	
+	/**
+	 * Submits a callback task and retrieves a future completing with its callback response.
+	 * 
+	 * @param task The task.
+	 * 
+	 * @return The future.
+	 */
+	public static <T, C extends Task & ICallback<T>> CompletableFuture<T> submitCallback(C task) {
+		return submit(task).thenApply(state -> task.getCallbackResponse().getResponse());
 	}
 	
 	/**
@@ -254,10 +981,7 @@ public class TaskManager {
 	public static TaskState sync(Task task) {
 		async(task);
 		
-		while (task.isActive()) {
-			Misc.sleep(Task.DEFAULT_REPEAT_DELAY);
-		}
-		return task.getState();
+		return task.getCompletion().join();
 	}
 	
 	/**
@@ -295,14 +1019,40 @@ public class TaskManager {
 	 */
 	public static void dispose() {
 		inactive.clear();
+		timer.shutdownNow();
+		
+		for (Task task : suspensions.keySet()) {
+			if (unsuspend(task)) {
+				task.getCompletion().complete(task.getState());
+			}
+		}
+		
+		for (Task task : delayed) {
+			task.getCompletion().complete(task.getState());
+		}
 		delayed.clear();
 		
 		for (Task task : active.keySet()) {
 			stop(task);
 		}
 		active.clear();
+		activeByClass.clear();
 		executorService.shutdownNow();
 		alternateExecutorService.shutdownNow();
+		timeoutWheel.dispose();
+		TaskManagerMonitor.unregister();
+		StatusLog.flush(1000L);
+	}
+	
+	/**
+	 * Retrieves the amount of active tasks of a given class.
+	 * 
+	 * @param taskClass The task class.
+	 * 
+	 * @return The amount.
+	 */
+	public static int getActiveCount(Class<? extends Task> taskClass) {
+		return activeByClass.getOrDefault(taskClass, 0);
 	}
 	
 	/**
@@ -311,7 +1061,10 @@ public class TaskManager {
 	 * @param className The class name.
 	 * 
 	 * @return The name.
+	 * 
+	 * @deprecated Simple names are ambiguous, use {@link #getActiveCount(Class)} instead.
 	 */
+	@Deprecated
 	public static List<Task> taskByClassIsActive(String className) {
 		return getActiveTasks().stream()
 				.filter(t -> t.getClass().getSimpleName().equals(className))
@@ -324,16 +1077,16 @@ public class TaskManager {
 	 * @return The pending tasks.
 	 */
 	public static int getQueueSize() {
-		return executorService.getQueue().size() + delayed.size();
+		return executorService.getQueuedCount() + delayed.size();
 	}
 	
 	/**
-	 * Retrieves the delayed tasks.
+	 * Retrieves a snapshot of the delayed tasks in the order they got delayed.
 	 * 
 	 * @return The delayed tasks.
 	 */
 	public static List<Task> getDelayedTasks() {
-		return delayed;
+		return new ArrayList<>(delayed);
 	}
 	
 	/**
@@ -346,12 +1099,12 @@ public class TaskManager {
 	}
 	
 	/**
-	 * Retrieves the inactive tasks.
+	 * Retrieves a snapshot of the inactive tasks in the order they turned inactive.
 	 * 
 	 * @return The inactive tasks.
 	 */
 	public static List<Task> getInactiveTasks() {
-		return inactive;
+		return new ArrayList<>(inactive);
 	}
 	
 	/**
@@ -374,6 +1127,22 @@ public class TaskManager {
 		return delayed.size();
 	}
 	
+	/**
+	 * Retrieves the amount of tasks that released their worker to wait for a permit of their rate limit.
+	 * 
+	 * @return The result.
+	 */
+	public static int getThrottledCount() {
+		int count = 0;
+		
+		for (Task task : suspensions.keySet()) {
+			if (task.isThrottled()) {
+				count++;
+			}
+		}
+		return count;
+	}
+	
 	/**
 	 * Retrieves whether a task is queued or not.
 	 * 
@@ -382,7 +1151,8 @@ public class TaskManager {
 	 * @return The result.
 	 */
 	public static boolean isInQueue(Task task) {
-		return executorService.getQueue().contains(task);
+		Future<?> future = active.get(task);
+		return Objects.nonNull(future) && executorService.isQueued(future);
 	}
 	
 	/**
@@ -391,7 +1161,19 @@ public class TaskManager {
 	 * @return The result.
 	 */
 	public static int getQueuedCount() {
-		return executorService.getQueue().size();
+		return executorService.getQueuedCount();
+	}
+	
+	/**
+	 * Retrieves the amount of tasks that can be submitted without being delayed.
+	 * Free workers and queue room are first taken by the delayed tasks.
+	 * 
+	 * @return The result.
+	 */
+	public static int getDemand() {
+		long room = (long)executorService.getMaximumPoolSize() - executorService.getActiveCount()
+				+ executorService.getMaxQueueSize() - executorService.getQueuedCount() - delayed.size();
+		return (int)Math.max(0L, Math.min(Integer.MAX_VALUE, room));
 	}
 	
 	/**
@@ -411,5 +1193,104 @@ public class TaskManager {
 	public static long getCompleted() {
 		return executorService.getCompletedTaskCount();
 	}
-
+	
+	/**
+	 * Retrieves the amount of executions completed by the alternate executor.
+	 * 
+	 * @return The result.
+	 */
+	public static long getAlternateCompleted() {
+		return alternateExecutorService.getCompletedTaskCount();
+	}
+	
+	/**
+	 * Retrieves the amount of tasks being executed.
+	 * 
+	 * @return The result.
+	 */
+	public static int getExecutingCount() {
+		return executorService.getActiveCount();
+	}
+	
+	/**
+	 * Retrieves the maximum amount of tasks executed in parallel.
+	 * 
+	 * @return The result.
+	 */
+	public static int getMaxParallel() {
+		return executorService.getMaximumPoolSize();
+	}
+	
+	/**
+	 * Retrieves the maximum queue size.
+	 * 
+	 * @return The result.
+	 */
+	public static int getMaxQueueSize() {
+		return executorService.getMaxQueueSize();
+	}
+	
+	/**
+	 * Retrieves the limiter adapting the amount of parallel tasks.
+	 * 
+	 * @return The limiter.
+	 */
+	public static AdaptiveLimiter getLimiter() {
+		return limiter;
+	}
+	
+	/**
+	 * Retrieves the amount of suspended tasks.
+	 * 
+	 * @return The result.
+	 */
+	public static int getSuspendedCount() {
+		return suspensions.size();
+	}
+	
+	/**
+	 * Retrieves the amount of inactive tasks.
+	 * 
+	 * @return The result.
+	 */
+	public static int getInactiveCount() {
+		return inactive.size();
+	}
+	
+	/**
+	 * Retrieves the amount of rejected submissions of a given task policy.
+	 * 
+	 * @param policy The task policy.
+	 * 
+	 * @return The result.
+	 */
+	public static long getRejectedCount(TaskPolicy policy) {
+		return rejections.get(policy).sum();
+	}
+	
+	/**
+	 * Retrieves snapshots of the queue wait, run time, attempts and outcomes by task class name.
+	 * 
+	 * @return The snapshots.
+	 */
+	public static Map<String, ExecutionMetricsSnapshot> getTaskMetrics() {
+		return Metrics.snapshotTasks();
+	}
+	
+	/**
+	 * Retrieves snapshots of the run time, attempts and outcomes by step name.
+	 * 
+	 * @return The snapshots.
+	 */
+	public static Map<String, ExecutionMetricsSnapshot> getStepMetrics() {
+		return Metrics.snapshotSteps();
+	}
+	
+	/**
+	 * Clears the recorded task and step metrics.
+	 */
+	public static void resetMetrics() {
+		Metrics.reset();
+	}
+	
 }
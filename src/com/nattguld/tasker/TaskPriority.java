@@ -0,0 +1,63 @@
+package com.nattguld.tasker;
+
+/**
+ * 
+ * @author randqm
+ *
+ */
+
+public enum TaskPriority {
+	
+	LOW("Low", 0),
+	NORMAL("Normal", 1),
+	HIGH("High", 2),
+	URGENT("Urgent", 3);
+	
+	
+	/**
+	 * The name.
+	 */
+	private final String name;
+	
+	/**
+	 * The priority level, higher levels run first.
+	 */
+	private final int level;
+	
+	
+	/**
+	 * Creates a new task priority.
+	 * 
+	 * @param name The name.
+	 * 
+	 * @param level The priority level.
+	 */
+	private TaskPriority(String name, int level) {
+		this.name = name;
+		this.level = level;
+	}
+	
+	/**
+	 * Retrieves the name.
+	 * 
+	 * @return The name.
+	 */
+	public String getName() {
+		return name;
+	}
+	
+	/**
+	 * Retrieves the priority level.
+	 * 
+	 * @return The priority level.
+	 */
+	public int getLevel() {
+		return level;
+	}
+	
+	@Override
+	public String toString() {
+		return getName();
+	}
+	
+}
@@ -5,6 +5,8 @@ import com.nattguld.data.cfg.ConfigManager;
 import com.nattguld.data.json.JsonReader;
 import com.nattguld.data.json.JsonWriter;
 import com.nattguld.tasker.TaskManager;
+import com.nattguld.tasker.steps.impl.CachableStep;
+import com.nattguld.tasker.tasks.ExecutorBackend;
 
 /**
  * 
@@ -33,7 +35,47 @@ public class TaskConfig extends Config {
 	 * The maximum queue size.
 	 */
 	private int maxQueueSize = 100;
-
+	
+	/**
+	 * The executor backend running the tasks.
+	 */
+	private ExecutorBackend executorBackend = ExecutorBackend.THREAD_POOL;
+	
+	/**
+	 * The waiting time in milliseconds a priority level is worth.
+	 */
+	private int priorityAging = 5000;
+	
+	/**
+	 * Whether tasks release their worker while waiting between iterations or not.
+	 */
+	private boolean releaseWorkers = true;
+	
+	/**
+	 * The maximum total weight of the values cached by cachable steps.
+	 */
+	private int stepCacheWeight = 10000;
+	
+	/**
+	 * The amount of status events buffered for the status writer.
+	 */
+	private int statusBufferSize = 8192;
+	
+	/**
+	 * Whether the amount of parallel tasks adapts to the observed run times or not.
+	 */
+	private boolean adaptiveParallel;
+	
+	/**
+	 * The minimum amount of parallel tasks the adaptive limit shrinks to.
+	 */
+	private int minParallel = Runtime.getRuntime().availableProcessors();
+	
+	/**
+	 * The maximum amount of delayed tasks, further delayed tasks are rejected.
+	 */
+	private int maxDelayedSize = 10000;
+	
 
 	@Override
 	protected void read(JsonReader reader) {
@@ -41,6 +83,14 @@ public class TaskConfig extends Config {
 		this.removeFailed = reader.getAsBoolean("remove_failed", true);
 		this.maxParallel = reader.getAsInt("max_parallel", 20 * Runtime.getRuntime().availableProcessors());
 		this.maxQueueSize = reader.getAsInt("max_queue_size", 100);
+		this.executorBackend = ExecutorBackend.parse(reader.getAsString("executor_backend", ExecutorBackend.THREAD_POOL.name()));
+		this.priorityAging = reader.getAsInt("priority_aging", 5000);
+		this.releaseWorkers = reader.getAsBoolean("release_workers", true);
+		this.stepCacheWeight = reader.getAsInt("step_cache_weight", 10000);
+		this.statusBufferSize = reader.getAsInt("status_buffer_size", 8192);
+		this.adaptiveParallel = reader.getAsBoolean("adaptive_parallel", false);
+		this.minParallel = reader.getAsInt("min_parallel", Runtime.getRuntime().availableProcessors());
+		this.maxDelayedSize = reader.getAsInt("max_delayed_size", 10000);
 	}
 
 	@Override
@@ -49,6 +99,14 @@ public class TaskConfig extends Config {
 		writer.write("remove_failed", removeFailed);
 		writer.write("max_parallel", maxParallel);
 		writer.write("max_queue_size", maxQueueSize);
+		writer.write("executor_backend", executorBackend.name());
+		writer.write("priority_aging", priorityAging);
+		writer.write("release_workers", releaseWorkers);
+		writer.write("step_cache_weight", stepCacheWeight);
+		writer.write("status_buffer_size", statusBufferSize);
+		writer.write("adaptive_parallel", adaptiveParallel);
+		writer.write("min_parallel", minParallel);
+		writer.write("max_delayed_size", maxDelayedSize);
 	}
 	
 	@Override
@@ -129,6 +187,7 @@ public class TaskConfig extends Config {
 	 */
 	public TaskConfig setMaxQueueSize(int maxQueueSize) {
 		this.maxQueueSize = maxQueueSize;
+		TaskManager.updateMaxQueueSize(maxQueueSize);
 		return this;
 	}
 	
@@ -141,6 +200,183 @@ public class TaskConfig extends Config {
 		return maxQueueSize;
 	}
 	
+	/**
+	 * Modifies the executor backend running the tasks.
+	 * Takes effect the next time the task manager is started.
+	 * 
+	 * @param executorBackend The new executor backend.
+	 * 
+	 * @return The config.
+	 */
+	public TaskConfig setExecutorBackend(ExecutorBackend executorBackend) {
+		this.executorBackend = executorBackend;
+		return this;
+	}
+	
+	/**
+	 * Retrieves the executor backend running the tasks.
+	 * 
+	 * @return The executor backend.
+	 */
+	public ExecutorBackend getExecutorBackend() {
+		return executorBackend;
+	}
+	
+	/**
+	 * Modifies the waiting time in milliseconds a priority level is worth.
+	 * A task waiting this long is scheduled alongside newer tasks of one priority level higher.
+	 * 
+	 * @param priorityAging The new waiting time.
+	 * 
+	 * @return The config.
+	 */
+	public TaskConfig setPriorityAging(int priorityAging) {
+		this.priorityAging = priorityAging;
+		return this;
+	}
+	
+	/**
+	 * Retrieves the waiting time in milliseconds a priority level is worth.
+	 * 
+	 * @return The waiting time.
+	 */
+	public int getPriorityAging() {
+		return priorityAging;
+	}
+	
+	/**
+	 * Modifies whether tasks release their worker while waiting between iterations or not.
+	 * When disabled repeating and paused tasks sleep on their worker instead.
+	 * 
+	 * @param releaseWorkers The new state.
+	 * 
+	 * @return The config.
+	 */
+	public TaskConfig setReleaseWorkers(boolean releaseWorkers) {
+		this.releaseWorkers = releaseWorkers;
+		return this;
+	}
+	
+	/**
+	 * Retrieves whether tasks release their worker while waiting between iterations or not.
+	 * 
+	 * @return The result.
+	 */
+	public boolean isReleaseWorkers() {
+		return releaseWorkers;
+	}
+	
+	/**
+	 * Modifies the maximum total weight of the values cached by cachable steps.
+	 * 
+	 * @param stepCacheWeight The new maximum weight.
+	 * 
+	 * @return The config.
+	 */
+	public TaskConfig setStepCacheWeight(int stepCacheWeight) {
+		this.stepCacheWeight = stepCacheWeight;
+		CachableStep.getCache().setMaxWeight(stepCacheWeight);
+		return this;
+	}
+	
+	/**
+	 * Retrieves the maximum total weight of the values cached by cachable steps.
+	 * 
+	 * @return The maximum weight.
+	 */
+	public int getStepCacheWeight() {
+		return stepCacheWeight;
+	}
+	
+	/**
+	 * Modifies the amount of status events buffered for the status writer.
+	 * Status events published while the buffer is full are dropped. Takes effect on restart.
+	 * 
+	 * @param statusBufferSize The new amount.
+	 * 
+	 * @return The config.
+	 */
+	public TaskConfig setStatusBufferSize(int statusBufferSize) {
+		this.statusBufferSize = statusBufferSize;
+		return this;
+	}
+	
+	/**
+	 * Retrieves the amount of status events buffered for the status writer.
+	 * 
+	 * @return The amount.
+	 */
+	public int getStatusBufferSize() {
+		return statusBufferSize;
+	}
+	
+	/**
+	 * Modifies whether the amount of parallel tasks adapts to the observed run times or not.
+	 * The adaptive limit stays between the minimum and maximum amount of parallel tasks.
+	 * With the work stealing backend on runtimes older than Java 19 the pool keeps its size, the adaptive limit then only applies to admission.
+	 * 
+	 * @param adaptiveParallel The new state.
+	 * 
+	 * @return The config.
+	 */
+	public TaskConfig setAdaptiveParallel(boolean adaptiveParallel) {
+		this.adaptiveParallel = adaptiveParallel;
+		return this;
+	}
+	
+	/**
+	 * Retrieves whether the amount of parallel tasks adapts to the observed run times or not.
+	 * 
+	 * @return The result.
+	 */
+	public boolean isAdaptiveParallel() {
+		return adaptiveParallel;
+	}
+	
+	/**
+	 * Modifies the minimum amount of parallel tasks the adaptive limit shrinks to.
+	 * 
+	 * @param minParallel The new amount.
+	 * 
+	 * @return The config.
+	 */
+	public TaskConfig setMinParallel(int minParallel) {
+		this.minParallel = minParallel;
+		return this;
+	}
+	
+	/**
+	 * Retrieves the minimum amount of parallel tasks the adaptive limit shrinks to.
+	 * 
+	 * @return The amount.
+	 */
+	public int getMinParallel() {
+		return minParallel;
+	}
+	
+	/**
+	 * Modifies the maximum amount of delayed tasks.
+	 * Tasks delayed beyond this amount are cancelled rather than kept in memory.
+	 * Tasks resuming after releasing their worker were admitted before and are never cancelled.
+	 * 
+	 * @param maxDelayedSize The new amount.
+	 * 
+	 * @return The config.
+	 */
+	public TaskConfig setMaxDelayedSize(int maxDelayedSize) {
+		this.maxDelayedSize = maxDelayedSize;
+		return this;
+	}
+	
+	/**
+	 * Retrieves the maximum amount of delayed tasks.
+	 * 
+	 * @return The amount.
+	 */
+	public int getMaxDelayedSize() {
+		return maxDelayedSize;
+	}
+	
 	/**
 	 * Retrieves the config.
 	 * 
@@ -0,0 +1,191 @@
+package com.nattguld.tasker.jmx;
+
+import java.util.Map;
+
+/**
+ * 
+ * @author randqm
+ *
+ */
+
+public interface ITaskManagerMXBean {
+	
+	
+	/**
+	 * Retrieves the maximum amount of tasks executed in parallel.
+	 * 
+	 * @return The amount.
+	 */
+	public int getMaxParallel();
+	
+	/**
+	 * Retrieves the maximum queue size.
+	 * 
+	 * @return The maximum queue size.
+	 */
+	public int getMaxQueueSize();
+	
+	/**
+	 * Retrieves the amount of tasks being executed.
+	 * 
+	 * @return The amount.
+	 */
+	public int getActiveCount();
+	
+	/**
+	 * Retrieves the amount of tasks tracked as active, including queued and suspended tasks.
+	 * 
+	 * @return The amount.
+	 */
+	public int getTrackedCount();
+	
+	/**
+	 * Retrieves the amount of queued tasks.
+	 * 
+	 * @return The amount.
+	 */
+	public int getQueuedCount();
+	
+	/**
+	 * Retrieves the amount of delayed tasks.
+	 * 
+	 * @return The amount.
+	 */
+	public int getDelayedCount();
+	
+	/**
+	 * Retrieves the amount of tasks waiting for a permit of their rate limit.
+	 * 
+	 * @return The amount.
+	 */
+	public int getThrottledCount();
+	
+	/**
+	 * Retrieves the amount of suspended tasks.
+	 * 
+	 * @return The amount.
+	 */
+	public int getSuspendedCount();
+	
+	/**
+	 * Retrieves the amount of inactive tasks.
+	 * 
+	 * @return The amount.
+	 */
+	public int getInactiveCount();
+	
+	/**
+	 * Retrieves whether the amount of parallel tasks adapts to the observed run times or not.
+	 * 
+	 * @return The result.
+	 */
+	public boolean isAdaptiveParallel();
+	
+	/**
+	 * Modifies whether the amount of parallel tasks adapts to the observed run times or not.
+	 * 
+	 * @param adaptiveParallel The new state.
+	 */
+	public void setAdaptiveParallel(boolean adaptiveParallel);
+	
+	/**
+	 * Retrieves the average run time in milliseconds observed by the adaptive limiter in its last window.
+	 * 
+	 * @return The run time.
+	 */
+	public double getAdaptiveRunTime();
+	
+	/**
+	 * Retrieves the amount of rejected submissions.
+	 * 
+	 * @return The amount.
+	 */
+	public long getRejectedCount();
+	
+	/**
+	 * Retrieves the amount of rejected submissions by task policy.
+	 * 
+	 * @return The amounts.
+	 */
+	public Map<String, Long> getRejectedCounts();
+	
+	/**
+	 * Retrieves the amount of executions completed by the bounded executor.
+	 * 
+	 * @return The amount.
+	 */
+	public long getCompletedCount();
+	
+	/**
+	 * Retrieves the amount of executions completed by the alternate executor.
+	 * 
+	 * @return The amount.
+	 */
+	public long getAlternateCompletedCount();
+	
+	/**
+	 * Retrieves the completed executions per second averaged over the last minute.
+	 * 
+	 * @return The rate.
+	 */
+	public double getThroughputOneMinuteRate();
+	
+	/**
+	 * Retrieves the completed executions per second averaged over the last 5 minutes.
+	 * 
+	 * @return The rate.
+	 */
+	public double getThroughputFiveMinuteRate();
+	
+	/**
+	 * Retrieves the completed executions per second averaged over the last 15 minutes.
+	 * 
+	 * @return The rate.
+	 */
+	public double getThroughputFifteenMinuteRate();
+	
+	/**
+	 * Retrieves a summary of the metrics by task class name.
+	 * 
+	 * @return The summaries.
+	 */
+	public Map<String, String> getTaskMetrics();
+	
+	/**
+	 * Modifies the maximum amount of tasks executed in parallel.
+	 * 
+	 * @param maxParallel The new amount.
+	 */
+	public void updateMaxParallel(int maxParallel);
+	
+	/**
+	 * Modifies the maximum queue size.
+	 * 
+	 * @param maxQueueSize The new maximum queue size.
+	 */
+	public void updateMaxQueueSize(int maxQueueSize);
+	
+	/**
+	 * Pauses the active and delayed tasks of a given class.
+	 * 
+	 * @param className The fully qualified class name.
+	 * 
+	 * @return The amount of paused tasks.
+	 */
+	public int pauseTasks(String className);
+	
+	/**
+	 * Unpauses the active and delayed tasks of a given class.
+	 * 
+	 * @param className The fully qualified class name.
+	 * 
+	 * @return The amount of unpaused tasks.
+	 */
+	public int unpauseTasks(String className);
+	
+	/**
+	 * Clears the recorded task and step metrics.
+	 */
+	public void resetMetrics();
+	
+}
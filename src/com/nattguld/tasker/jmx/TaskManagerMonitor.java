@@ -0,0 +1,264 @@
+package com.nattguld.tasker.jmx;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import com.nattguld.tasker.TaskManager;
+import com.nattguld.tasker.TaskPolicy;
+import com.nattguld.tasker.cfg.TaskConfig;
+import com.nattguld.tasker.metrics.ExecutionMetricsSnapshot;
+
+/**
+ * 
+ * @author randqm
+ *
+ */
+
+public class TaskManagerMonitor implements ITaskManagerMXBean {
+	
+	/**
+	 * The name the monitor is registered under.
+	 */
+	public static final String OBJECT_NAME = "com.nattguld.tasker:type=TaskManager";
+	
+	/**
+	 * The interval in seconds between throughput samples.
+	 */
+	private static final int SAMPLE_INTERVAL = 5;
+	
+	/**
+	 * The smoothing factors of the 1, 5 and 15 minute throughput averages.
+	 */
+	private static final double[] ALPHAS = {
+			1D - Math.exp(-SAMPLE_INTERVAL / 60D),
+			1D - Math.exp(-SAMPLE_INTERVAL / 300D),
+			1D - Math.exp(-SAMPLE_INTERVAL / 900D)
+	};
+	
+	/**
+	 * Holds the 1, 5 and 15 minute throughput averages.
+	 */
+	private final double[] rates = new double[ALPHAS.length];
+	
+	/**
+	 * The amount of completed executions at the last sample, negative before the first sample.
+	 */
+	private long lastCompleted = -1L;
+	
+	
+	/**
+	 * Registers a monitor with the platform MBean server.
+	 * 
+	 * @param scheduler The scheduler sampling the throughput.
+	 * 
+	 * @return The monitor, null when it couldn't be registered.
+	 */
+	public static TaskManagerMonitor register(ScheduledExecutorService scheduler) {
+		TaskManagerMonitor monitor = new TaskManagerMonitor();
+		
+		try {
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			ObjectName name = new ObjectName(OBJECT_NAME);
+			
+			if (server.isRegistered(name)) {
+				server.unregisterMBean(name);
+			}
+			server.registerMBean(monitor, name);
+			
+		} catch (JMException | SecurityException ex) {
+			System.err.println("Failed to register the task manager MXBean: " + ex.getMessage());
+			return null;
+		}
+		scheduler.scheduleAtFixedRate(monitor::sample, SAMPLE_INTERVAL, SAMPLE_INTERVAL, TimeUnit.SECONDS);
+		return monitor;
+	}
+	
+	/**
+	 * Unregisters the monitor from the platform MBean server.
+	 */
+	public static void unregister() {
+		try {
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			ObjectName name = new ObjectName(OBJECT_NAME);
+			
+			if (server.isRegistered(name)) {
+				server.unregisterMBean(name);
+			}
+		} catch (JMException | SecurityException ex) {
+			//Nothing to clean up
+		}
+	}
+	
+	/**
+	 * Samples the amount of completed executions and updates the throughput averages.
+	 */
+	private synchronized void sample() {
+		long completed = getCompletedCount() + getAlternateCompletedCount();
+		
+		if (lastCompleted < 0L) {
+			lastCompleted = completed;
+			return;
+		}
+		double rate = (double)(completed - lastCompleted) / SAMPLE_INTERVAL;
+		lastCompleted = completed;
+		
+		for (int i = 0; i < rates.length; i++) {
+			rates[i] += ALPHAS[i] * (rate - rates[i]);
+		}
+	}
+	
+	@Override
+	public int getMaxParallel() {
+		return TaskManager.getMaxParallel();
+	}
+	
+	@Override
+	public int getMaxQueueSize() {
+		return TaskManager.getMaxQueueSize();
+	}
+	
+	@Override
+	public int getActiveCount() {
+		return TaskManager.getExecutingCount();
+	}
+	
+	@Override
+	public int getTrackedCount() {
+		return TaskManager.getActiveTasks().size();
+	}
+	
+	@Override
+	public int getQueuedCount() {
+		return TaskManager.getQueuedCount();
+	}
+	
+	@Override
+	public int getDelayedCount() {
+		return TaskManager.getDelayedCount();
+	}
+	
+	@Override
+	public int getThrottledCount() {
+		return TaskManager.getThrottledCount();
+	}
+	
+	@Override
+	public int getSuspendedCount() {
+		return TaskManager.getSuspendedCount();
+	}
+	
+	@Override
+	public int getInactiveCount() {
+		return TaskManager.getInactiveCount();
+	}
+	
+	@Override
+	public boolean isAdaptiveParallel() {
+		return TaskConfig.getConfig().isAdaptiveParallel();
+	}
+	
+	@Override
+	public void setAdaptiveParallel(boolean adaptiveParallel) {
+		TaskConfig.getConfig().setAdaptiveParallel(adaptiveParallel);
+	}
+	
+	@Override
+	public double getAdaptiveRunTime() {
+		return TaskManager.getLimiter().getShortRunTime();
+	}
+	
+	@Override
+	public long getRejectedCount() {
+		long total = 0L;
+		
+		for (TaskPolicy policy : TaskPolicy.values()) {
+			total += TaskManager.getRejectedCount(policy);
+		}
+		return total;
+	}
+	
+	@Override
+	public Map<String, Long> getRejectedCounts() {
+		Map<String, Long> counts = new LinkedHashMap<>();
+		
+		for (TaskPolicy policy : TaskPolicy.values()) {
+			counts.put(policy.name(), TaskManager.getRejectedCount(policy));
+		}
+		return counts;
+	}
+	
+	@Override
+	public long getCompletedCount() {
+		return TaskManager.getCompleted();
+	}
+	
+	@Override
+	public long getAlternateCompletedCount() {
+		return TaskManager.getAlternateCompleted();
+	}
+	
+	@Override
+	public synchronized double getThroughputOneMinuteRate() {
+		return rates[0];
+	}
+	
+	@Override
+	public synchronized double getThroughputFiveMinuteRate() {
+		return rates[1];
+	}
+	
+	@Override
+	public synchronized double getThroughputFifteenMinuteRate() {
+		return rates[2];
+	}
+	
+	@Override
+	public Map<String, String> getTaskMetrics() {
+		Map<String, String> summaries = new LinkedHashMap<>();
+		
+		for (ExecutionMetricsSnapshot snapshot : TaskManager.getTaskMetrics().values()) {
+			summaries.put(snapshot.getName(), snapshot.toString());
+		}
+		return summaries;
+	}
+	
+	@Override
+	public void updateMaxParallel(int maxParallel) {
+		if (maxParallel <= 0) {
+			throw new IllegalArgumentException("The maximum amount of parallel tasks must be positive");
+		}
+		TaskConfig.getConfig().setMaxParallel(maxParallel);
+	}
+	
+	@Override
+	public void updateMaxQueueSize(int maxQueueSize) {
+		if (maxQueueSize <= 0) {
+			throw new IllegalArgumentException("The maximum queue size must be positive");
+		}
+		TaskConfig.getConfig().setMaxQueueSize(maxQueueSize);
+	}
+	
+	@Override
+	public int pauseTasks(String className) {
+		return TaskManager.pause(Objects.requireNonNull(className));
+	}
+	
+	@Override
+	public int unpauseTasks(String className) {
+		return TaskManager.unpause(Objects.requireNonNull(className));
+	}
+	
+	@Override
+	public void resetMetrics() {
+		TaskManager.resetMetrics();
+	}
+	
+}
@@ -0,0 +1,242 @@
+package com.nattguld.tasker.limit;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Adapts a concurrency limit to the observed run times, gradient based like TCP Vegas.
+ * The limit shrinks when run times rise above their long term average and grows while tasks wait for a worker.
+ * When growing the limit stops paying off in throughput the limit backs off multiplicatively.
+ * 
+ * @author randqm
+ *
+ */
+
+public class AdaptiveLimiter {
+	
+	/**
+	 * The minimum amount of samples required to adapt the limit.
+	 */
+	private static final int MIN_SAMPLES = 8;
+	
+	/**
+	 * The factor by which run times may exceed the long term average run time before the limit shrinks.
+	 */
+	private static final double TOLERANCE = 1.5D;
+	
+	/**
+	 * The amount of windows the long term average run time is averaged over, so a lasting change in run times gets accepted.
+	 */
+	private static final int LONG_WINDOW = 60;
+	
+	/**
+	 * The factor the long term average run time decays by per window while it's far above the current run time.
+	 */
+	private static final double DECAY = 0.95D;
+	
+	/**
+	 * The weight of a new limit against the current limit.
+	 */
+	private static final double SMOOTHING = 0.5D;
+	
+	/**
+	 * The factor applied to the limit when growing it didn't improve throughput.
+	 */
+	private static final double BACKOFF = 0.9D;
+	
+	/**
+	 * The amount of run time samples in the current window.
+	 */
+	private final LongAdder samples = new LongAdder();
+	
+	/**
+	 * The sum of the run times in nanoseconds in the current window.
+	 */
+	private final LongAdder totalNanos = new LongAdder();
+	
+	/**
+	 * The lower bound of the limit.
+	 */
+	private int minLimit;
+	
+	/**
+	 * The upper bound of the limit.
+	 */
+	private int maxLimit;
+	
+	/**
+	 * The current limit.
+	 */
+	private double limit;
+	
+	/**
+	 * The average run time in nanoseconds of the last window.
+	 */
+	private double shortRtt;
+	
+	/**
+	 * The exponential average of the window run times in nanoseconds, the baseline the current run time is compared to.
+	 */
+	private double longRtt;
+	
+	/**
+	 * The completed runs per second of the last window.
+	 */
+	private double throughput;
+	
+	/**
+	 * Whether the last update grew the limit or not.
+	 */
+	private boolean grew;
+	
+	/**
+	 * The time in nanoseconds the current window started.
+	 */
+	private long windowStart = System.nanoTime();
+	
+	
+	/**
+	 * Creates a new adaptive limiter.
+	 * 
+	 * @param initialLimit The initial limit.
+	 * 
+	 * @param minLimit The lower bound of the limit.
+	 * 
+	 * @param maxLimit The upper bound of the limit.
+	 */
+	public AdaptiveLimiter(int initialLimit, int minLimit, int maxLimit) {
+		setBounds(minLimit, maxLimit);
+		reset(initialLimit);
+	}
+	
+	/**
+	 * Records the run time of a completed run.
+	 * 
+	 * @param nanos The run time in nanoseconds.
+	 */
+	public void record(long nanos) {
+		totalNanos.add(nanos);
+		samples.increment();
+	}
+	
+	/**
+	 * Closes the current window and adapts the limit.
+	 * 
+	 * @param inFlight The amount of runs in progress.
+	 * 
+	 * @param waiting The amount of runs waiting for a worker.
+	 * 
+	 * @return The new limit.
+	 */
+	public synchronized int update(int inFlight, int waiting) {
+		long now = System.nanoTime();
+		long count = samples.sumThenReset();
+		long total = totalNanos.sumThenReset();
+		long elapsed = Math.max(1L, now - windowStart);
+		windowStart = now;
+		
+		if (count < MIN_SAMPLES) {
+			return getLimit();
+		}
+		double lastThroughput = throughput;
+		shortRtt = (double)total / count;
+		throughput = count * 1000000000D / elapsed;
+		
+		if (longRtt <= 0D) {
+			longRtt = shortRtt;
+			
+		} else {
+			longRtt += (shortRtt - longRtt) / LONG_WINDOW;
+			
+			if (longRtt > shortRtt * 2D) {
+				//Load dropped, don't wait a full window for the baseline to follow
+				longRtt *= DECAY;
+			}
+		}
+		double gradient = Math.max(0.5D, Math.min(1D, TOLERANCE * longRtt / shortRtt));
+		boolean saturated = waiting > 0 || inFlight >= limit * 0.9D;
+		
+		if (!saturated && gradient >= 1D) {
+			//Nothing to gain from a higher limit while workers are idle
+			grew = false;
+			return getLimit();
+		}
+		double newLimit = limit * gradient + (saturated ? Math.sqrt(limit) : 0D);
+		
+		if (grew && saturated && throughput < lastThroughput * 0.95D) {
+			//Passed the knee, more parallel runs only add contention
+			newLimit = Math.min(newLimit, limit * BACKOFF);
+		}
+		newLimit = limit * (1D - SMOOTHING) + newLimit * SMOOTHING;
+		newLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+		
+		grew = newLimit > limit;
+		limit = newLimit;
+		return getLimit();
+	}
+	
+	/**
+	 * Resets the limiter to a given limit discarding the observed run times.
+	 * 
+	 * @param initialLimit The limit.
+	 */
+	public synchronized void reset(int initialLimit) {
+		samples.reset();
+		totalNanos.reset();
+		limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+		shortRtt = 0D;
+		longRtt = 0D;
+		throughput = 0D;
+		grew = false;
+		windowStart = System.nanoTime();
+	}
+	
+	/**
+	 * Modifies the bounds of the limit.
+	 * 
+	 * @param minLimit The lower bound.
+	 * 
+	 * @param maxLimit The upper bound.
+	 */
+	public synchronized void setBounds(int minLimit, int maxLimit) {
+		this.minLimit = Math.max(1, Math.min(minLimit, maxLimit));
+		this.maxLimit = Math.max(1, maxLimit);
+		this.limit = Math.max(this.minLimit, Math.min(this.maxLimit, limit));
+	}
+	
+	/**
+	 * Retrieves the current limit.
+	 * 
+	 * @return The limit.
+	 */
+	public synchronized int getLimit() {
+		return (int)Math.round(limit);
+	}
+	
+	/**
+	 * Retrieves the average run time in milliseconds of the last window.
+	 * 
+	 * @return The run time.
+	 */
+	public synchronized double getShortRunTime() {
+		return shortRtt / 1000000D;
+	}
+	
+	/**
+	 * Retrieves the long term average run time in milliseconds.
+	 * 
+	 * @return The run time.
+	 */
+	public synchronized double getLongRunTime() {
+		return longRtt / 1000000D;
+	}
+	
+	/**
+	 * Retrieves the completed runs per second of the last window.
+	 * 
+	 * @return The throughput.
+	 */
+	public synchronized double getThroughput() {
+		return throughput;
+	}
+	
+}
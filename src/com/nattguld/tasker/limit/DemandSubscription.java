@@ -0,0 +1,155 @@
+package com.nattguld.tasker.limit;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.IntSupplier;
+
+/**
+ * Pulls tasks from a producer by signalling the room the task manager has for them, like a flow subscription requests items.
+ * 
+ * @author randqm
+ *
+ */
+
+public class DemandSubscription {
+	
+	/**
+	 * The executor notifying listeners by default.
+	 */
+	private static final ExecutorService DEFAULT_EXECUTOR = Executors.newCachedThreadPool(new ThreadFactory() {
+		@Override
+		public Thread newThread(Runnable runnable) {
+			Thread thread = new Thread(runnable, "Demand Listener");
+			thread.setDaemon(true);
+			return thread;
+		}
+	});
+	
+	/**
+	 * The listener.
+	 */
+	private final IDemandListener listener;
+	
+	/**
+	 * The executor notifying the listener.
+	 */
+	private final Executor executor;
+	
+	/**
+	 * The subscriptions this subscription belongs to.
+	 */
+	private final Collection<DemandSubscription> owner;
+	
+	/**
+	 * Retrieves the current demand.
+	 */
+	private final IntSupplier demand;
+	
+	/**
+	 * Whether room got freed since the listener got notified or not.
+	 */
+	private final AtomicBoolean pending = new AtomicBoolean();
+	
+	/**
+	 * Whether a notification run is scheduled or not.
+	 */
+	private final AtomicBoolean scheduled = new AtomicBoolean();
+	
+	/**
+	 * Whether the subscription got cancelled or not.
+	 */
+	private volatile boolean cancelled;
+	
+	
+	/**
+	 * Creates a new subscription, adds it to its owner and signals the initial demand.
+	 * 
+	 * @param listener The listener.
+	 * 
+	 * @param executor The executor notifying the listener, null for the default executor.
+	 * 
+	 * @param owner The subscriptions this subscription belongs to.
+	 * 
+	 * @param demand Retrieves the current demand.
+	 */
+	public DemandSubscription(IDemandListener listener, Executor executor, Collection<DemandSubscription> owner, IntSupplier demand) {
+		this.listener = Objects.requireNonNull(listener);
+		this.executor = Objects.isNull(executor) ? DEFAULT_EXECUTOR : executor;
+		this.owner = owner;
+		this.demand = demand;
+		
+		owner.add(this);
+		signal();
+	}
+	
+	/**
+	 * Marks room as freed and schedules a notification run when none is scheduled yet.
+	 * Never blocks the calling thread unless the executor runs the notifications directly.
+	 */
+	public void signal() {
+		if (cancelled || pending.getAndSet(true) || !scheduled.compareAndSet(false, true)) {
+			return;
+		}
+		try {
+			executor.execute(this::notifyListener);
+			
+		} catch (RejectedExecutionException ex) {
+			pending.set(false);
+			scheduled.set(false);
+		}
+	}
+	
+	/**
+	 * Notifies the listener about the current demand.
+	 */
+	private void notifyListener() {
+		do {
+			while (!cancelled && pending.getAndSet(false)) {
+				try {
+					int current = demand.getAsInt();
+					
+					if (current > 0) {
+						listener.onDemand(current);
+					}
+				} catch (Exception ex) {
+					ex.printStackTrace();
+				}
+			}
+			scheduled.set(false);
+			
+		} while (!cancelled && pending.get() && scheduled.compareAndSet(false, true));
+	}
+	
+	/**
+	 * Cancels the subscription.
+	 */
+	public void cancel() {
+		cancelled = true;
+		owner.remove(this);
+	}
+	
+	/**
+	 * Retrieves whether the subscription got cancelled or not.
+	 * 
+	 * @return The result.
+	 */
+	public boolean isCancelled() {
+		return cancelled;
+	}
+	
+	/**
+	 * Retrieves the listener.
+	 * 
+	 * @return The listener.
+	 */
+	public IDemandListener getListener() {
+		return listener;
+	}
+	
+}
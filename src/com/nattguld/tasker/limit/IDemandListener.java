@@ -0,0 +1,20 @@
+package com.nattguld.tasker.limit;
+
+/**
+ * 
+ * @author randqm
+ *
+ */
+
+public interface IDemandListener {
+	
+	
+	/**
+	 * Executed when the task manager has room for more tasks.
+	 * Room freed while the listener is busy is coalesced, only the latest demand is passed.
+	 * 
+	 * @param demand The amount of tasks that can be submitted without being delayed.
+	 */
+	public void onDemand(int demand);
+	
+}
@@ -0,0 +1,110 @@
+package com.nattguld.tasker.limit;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limits the rate at which tasks sharing a key are dispatched, like a token bucket.
+ * The bucket refills the given amount of permits every period and holds at most the burst size.
+ * 
+ * @author randqm
+ *
+ */
+
+public class RateLimit {
+	
+	/**
+	 * The key shared by the tasks drawing from the same bucket.
+	 */
+	private final String key;
+	
+	/**
+	 * The amount of permits refilled per nanosecond.
+	 */
+	private final double permitsPerNano;
+	
+	/**
+	 * The maximum amount of permits the bucket holds.
+	 */
+	private final int burst;
+	
+	
+	/**
+	 * Creates a new rate limit with a burst size of the permits per period.
+	 * 
+	 * @param key The key shared by the tasks drawing from the same bucket.
+	 * 
+	 * @param permits The amount of permits per period.
+	 * 
+	 * @param period The period.
+	 * 
+	 * @param unit The unit of the period.
+	 */
+	public RateLimit(String key, int permits, long period, TimeUnit unit) {
+		this(key, permits, period, unit, permits);
+	}
+	
+	/**
+	 * Creates a new rate limit.
+	 * 
+	 * @param key The key shared by the tasks drawing from the same bucket.
+	 * 
+	 * @param permits The amount of permits per period.
+	 * 
+	 * @param period The period.
+	 * 
+	 * @param unit The unit of the period.
+	 * 
+	 * @param burst The maximum amount of permits the bucket holds.
+	 */
+	public RateLimit(String key, int permits, long period, TimeUnit unit, int burst) {
+		if (permits <= 0 || period <= 0L || burst <= 0) {
+			throw new IllegalArgumentException("Permits, period and burst must be positive");
+		}
+		this.key = Objects.requireNonNull(key);
+		this.permitsPerNano = (double)permits / unit.toNanos(period);
+		this.burst = burst;
+	}
+	
+	/**
+	 * Retrieves the key shared by the tasks drawing from the same bucket.
+	 * 
+	 * @return The key.
+	 */
+	public String getKey() {
+		return key;
+	}
+	
+	/**
+	 * Retrieves the amount of permits refilled per nanosecond.
+	 * 
+	 * @return The amount.
+	 */
+	public double getPermitsPerNano() {
+		return permitsPerNano;
+	}
+	
+	/**
+	 * Retrieves the amount of permits refilled per second.
+	 * 
+	 * @return The amount.
+	 */
+	public double getPermitsPerSecond() {
+		return permitsPerNano * 1000000000D;
+	}
+	
+	/**
+	 * Retrieves the maximum amount of permits the bucket holds.
+	 * 
+	 * @return The amount.
+	 */
+	public int getBurst() {
+		return burst;
+	}
+	
+	@Override
+	public String toString() {
+		return key + " (" + String.format("%.2f", getPermitsPerSecond()) + "/s, burst " + burst + ")";
+	}
+	
+}
@@ -0,0 +1,100 @@
+package com.nattguld.tasker.limit;
+
+/**
+ * Hands out permits at the rate of a rate limit.
+ * Permits are only drawn when an attempt starts, callers finding the bucket empty get a slot of their own to try again,
+ * so waiting callers wake up spread out at the rate rather than all at once.
+ * 
+ * @author randqm
+ *
+ */
+
+public class TokenBucket {
+	
+	/**
+	 * The amount of available permits.
+	 */
+	private double permits;
+	
+	/**
+	 * The time in nanoseconds the permits got refilled.
+	 */
+	private long lastRefill;
+	
+	/**
+	 * The time in nanoseconds from which the next waiting caller should try again.
+	 */
+	private long nextSlot;
+	
+	/**
+	 * The amount of permits refilled per nanosecond.
+	 */
+	private double permitsPerNano;
+	
+	/**
+	 * The maximum amount of permits.
+	 */
+	private int burst;
+	
+	
+	/**
+	 * Creates a new full token bucket.
+	 * 
+	 * @param rateLimit The rate limit.
+	 */
+	public TokenBucket(RateLimit rateLimit) {
+		this.permitsPerNano = rateLimit.getPermitsPerNano();
+		this.burst = rateLimit.getBurst();
+		this.permits = burst;
+		this.lastRefill = System.nanoTime();
+		this.nextSlot = lastRefill;
+	}
+	
+	/**
+	 * Draws a permit when available.
+	 * 
+	 * @param rateLimit The rate limit, a changed rate applies from now on.
+	 * 
+	 * @return The time in nanoseconds until the caller should try again, 0 when the permit got drawn.
+	 */
+	public synchronized long tryAcquire(RateLimit rateLimit) {
+		long now = System.nanoTime();
+		refill(now);
+		permitsPerNano = rateLimit.getPermitsPerNano();
+		burst = rateLimit.getBurst();
+		
+		if (permits >= 1D) {
+			permits -= 1D;
+			return 0L;
+		}
+		long available = now + (long)Math.ceil((1D - permits) / permitsPerNano);
+		long slot = nextSlot - now > 0L ? nextSlot : available;
+		
+		if (slot - available < 0L) {
+			slot = available;
+		}
+		nextSlot = slot + (long)Math.ceil(1D / permitsPerNano);
+		return slot - now;
+	}
+	
+	/**
+	 * Refills the permits for the time passed since the last refill.
+	 * 
+	 * @param now The current time in nanoseconds.
+	 */
+	private void refill(long now) {
+		permits = Math.min(burst, permits + (now - lastRefill) * permitsPerNano);
+		lastRefill = now;
+	}
+	
+	/**
+	 * Retrieves the amount of available permits.
+	 * 
+	 * @return The amount.
+	 */
+	public synchronized double getPermits() {
+		refill(System.nanoTime());
+		return permits;
+	}
+	
+}
@@ -0,0 +1,165 @@
+package com.nattguld.tasker.metrics;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 
+ * @author randqm
+ *
+ */
+
+public class ExecutionMetrics {
+	
+	/**
+	 * The name of the measured task class or step.
+	 */
+	private final String name;
+	
+	/**
+	 * The time in microseconds between each dispatch and the start of its run, null when not queued.
+	 */
+	private final Histogram queueWait;
+	
+	/**
+	 * The time in microseconds spent running, per run on a worker.
+	 */
+	private final Histogram runTime = new Histogram();
+	
+	/**
+	 * The amount of executions.
+	 */
+	private final LongAdder executions = new LongAdder();
+	
+	/**
+	 * The amount of attempts.
+	 */
+	private final LongAdder attempts = new LongAdder();
+	
+	/**
+	 * The amount of retries.
+	 */
+	private final LongAdder retries = new LongAdder();
+	
+	/**
+	 * Holds the amount of executions by outcome.
+	 */
+	private final Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+	
+	
+	/**
+	 * Creates new execution metrics.
+	 * 
+	 * @param name The name of the measured task class or step.
+	 * 
+	 * @param queued Whether executions wait in a queue before starting or not.
+	 */
+	public ExecutionMetrics(String name, boolean queued) {
+		this.name = name;
+		this.queueWait = queued ? new Histogram() : null;
+	}
+	
+	/**
+	 * Records the time an execution waited before starting.
+	 * 
+	 * @param nanos The time in nanoseconds.
+	 */
+	public void recordQueueWait(long nanos) {
+		if (Objects.nonNull(queueWait)) {
+			queueWait.record(nanos / 1000L);
+		}
+	}
+	
+	/**
+	 * Records an attempt.
+	 */
+	public void recordAttempt() {
+		attempts.increment();
+	}
+	
+	/**
+	 * Records a retry.
+	 */
+	public void recordRetry() {
+		retries.increment();
+	}
+	
+	/**
+	 * Records a finished execution that ran once.
+	 * 
+	 * @param nanos The run time in nanoseconds.
+	 * 
+	 * @param outcome The outcome.
+	 */
+	public void recordExecution(long nanos, Enum<?> outcome) {
+		recordRun(nanos);
+		recordCompletion(outcome);
+	}
+	
+	/**
+	 * Records the time a worker spent on a single run of an execution.
+	 * 
+	 * @param nanos The run time in nanoseconds.
+	 */
+	public void recordRun(long nanos) {
+		runTime.record(nanos / 1000L);
+	}
+	
+	/**
+	 * Records a finished execution, its runs are recorded separately.
+	 * 
+	 * @param outcome The outcome.
+	 */
+	public void recordCompletion(Enum<?> outcome) {
+		executions.increment();
+		
+		LongAdder counter = outcomes.get(outcome.name());
+		
+		if (Objects.isNull(counter)) {
+			counter = outcomes.computeIfAbsent(outcome.name(), k -> new LongAdder());
+		}
+		counter.increment();
+	}
+	
+	/**
+	 * Retrieves a snapshot of the metrics.
+	 * 
+	 * @return The snapshot.
+	 */
+	public ExecutionMetricsSnapshot snapshot() {
+		Map<String, Long> outcomeCounts = new HashMap<>();
+		
+		for (Map.Entry<String, LongAdder> entry : outcomes.entrySet()) {
+			outcomeCounts.put(entry.getKey(), entry.getValue().sum());
+		}
+		return new ExecutionMetricsSnapshot(name, executions.sum(), attempts.sum(), retries.sum(), outcomeCounts
+				, Objects.isNull(queueWait) ? null : queueWait.snapshot(), runTime.snapshot());
+	}
+	
+	/**
+	 * Clears the metrics.
+	 */
+	public void reset() {
+		if (Objects.nonNull(queueWait)) {
+			queueWait.reset();
+		}
+		runTime.reset();
+		executions.reset();
+		attempts.reset();
+		retries.reset();
+		outcomes.clear();
+	}
+	
+	/**
+	 * Retrieves the name of the measured task class or step.
+	 * 
+	 * @return The name.
+	 */
+	public String getName() {
+		return name;
+	}
+	
+}
@@ -0,0 +1,149 @@
+package com.nattguld.tasker.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 
+ * @author randqm
+ *
+ */
+
+public class ExecutionMetricsSnapshot {
+	
+	/**
+	 * The name of the measured task class or step.
+	 */
+	private final String name;
+	
+	/**
+	 * The amount of executions.
+	 */
+	private final long executions;
+	
+	/**
+	 * The amount of attempts.
+	 */
+	private final long attempts;
+	
+	/**
+	 * The amount of retries.
+	 */
+	private final long retries;
+	
+	/**
+	 * Holds the amount of executions by outcome.
+	 */
+	private final Map<String, Long> outcomes;
+	
+	/**
+	 * The time in microseconds between each dispatch and the start of its run, null when not queued.
+	 */
+	private final HistogramSnapshot queueWait;
+	
+	/**
+	 * The time in microseconds spent running, per run on a worker.
+	 */
+	private final HistogramSnapshot runTime;
+	
+	
+	/**
+	 * Creates a new execution metrics snapshot.
+	 * 
+	 * @param name The name of the measured task class or step.
+	 * 
+	 * @param executions The amount of executions.
+	 * 
+	 * @param attempts The amount of attempts.
+	 * 
+	 * @param retries The amount of retries.
+	 * 
+	 * @param outcomes The amount of executions by outcome.
+	 * 
+	 * @param queueWait The time in microseconds between each dispatch and the start of its run, null when not queued.
+	 * 
+	 * @param runTime The time in microseconds spent running, per run on a worker.
+	 */
+	public ExecutionMetricsSnapshot(String name, long executions, long attempts, long retries
+			, Map<String, Long> outcomes, HistogramSnapshot queueWait, HistogramSnapshot runTime) {
+		this.name = name;
+		this.executions = executions;
+		this.attempts = attempts;
+		this.retries = retries;
+		this.outcomes = Collections.unmodifiableMap(outcomes);
+		this.queueWait = queueWait;
+		this.runTime = runTime;
+	}
+	
+	/**
+	 * Retrieves the name of the measured task class or step.
+	 * 
+	 * @return The name.
+	 */
+	public String getName() {
+		return name;
+	}
+	
+	/**
+	 * Retrieves the amount of executions.
+	 * 
+	 * @return The amount.
+	 */
+	public long getExecutions() {
+		return executions;
+	}
+	
+	/**
+	 * Retrieves the amount of attempts.
+	 * 
+	 * @return The amount.
+	 */
+	public long getAttempts() {
+		return attempts;
+	}
+	
+	/**
+	 * Retrieves the amount of retries.
+	 * 
+	 * @return The amount.
+	 */
+	public long getRetries() {
+		return retries;
+	}
+	
+	/**
+	 * Retrieves the amount of executions by outcome.
+	 * 
+	 * @return The amounts.
+	 */
+	public Map<String, Long> getOutcomes() {
+		return outcomes;
+	}
+	
+	/**
+	 * Retrieves the time in microseconds between each dispatch and the start of its run.
+	 * 
+	 * @return The queue wait, null for steps.
+	 */
+	public HistogramSnapshot getQueueWait() {
+		return queueWait;
+	}
+	
+	/**
+	 * Retrieves the time in microseconds spent running, per run on a worker.
+	 * 
+	 * @return The run time.
+	 */
+	public HistogramSnapshot getRunTime() {
+		return runTime;
+	}
+	
+	@Override
+	public String toString() {
+		return name + " [Executions: " + executions + ", Attempts: " + attempts + ", Retries: " + retries
+				+ ", Outcomes: " + outcomes + (Objects.isNull(queueWait) ? "" : ", Queue wait (us): {" + queueWait + "}")
+				+ ", Run time (us): {" + runTime + "}]";
+	}
+	
+}
@@ -0,0 +1,143 @@
+package com.nattguld.tasker.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 
+ * @author randqm
+ *
+ */
+
+public class Histogram {
+	
+	/**
+	 * The amount of bits used for the buckets within a power of two, 16 buckets keep the error below 6.25%.
+	 */
+	private static final int SUB_BUCKET_BITS = 4;
+	
+	/**
+	 * The amount of buckets within a power of two.
+	 */
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	
+	/**
+	 * The highest power of two tracked, larger values are counted in the last bucket.
+	 */
+	private static final int MAX_EXPONENT = 36;
+	
+	/**
+	 * The amount of buckets.
+	 */
+	static final int BUCKETS = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+	
+	/**
+	 * The amount of stripes spreading concurrent recordings, the power of two covering the processors up to 16.
+	 */
+	private static final int STRIPES = Integer.highestOneBit(Math.min(16, Runtime.getRuntime().availableProcessors()) * 2 - 1);
+	
+	/**
+	 * Holds the bucket counts per stripe.
+	 */
+	private final AtomicLongArray[] stripes = new AtomicLongArray[STRIPES];
+	
+	/**
+	 * The sum of the recorded values.
+	 */
+	private final LongAdder sum = new LongAdder();
+	
+	/**
+	 * The highest recorded value.
+	 */
+	private final LongAccumulator max = new LongAccumulator(Math::max, 0L);
+	
+	
+	/**
+	 * Creates a new histogram with a fixed memory footprint.
+	 */
+	public Histogram() {
+		for (int i = 0; i < STRIPES; i++) {
+			stripes[i] = new AtomicLongArray(BUCKETS);
+		}
+	}
+	
+	/**
+	 * Records a value.
+	 * 
+	 * @param value The value, negative values are recorded as 0.
+	 */
+	public void record(long value) {
+		long v = Math.max(0L, value);
+		
+		stripes[(int)Thread.currentThread().getId() & (STRIPES - 1)].incrementAndGet(indexOf(v));
+		sum.add(v);
+		max.accumulate(v);
+	}
+	
+	/**
+	 * Retrieves the bucket of a value.
+	 * 
+	 * @param value The value.
+	 * 
+	 * @return The bucket index.
+	 */
+	static int indexOf(long value) {
+		if (value < SUB_BUCKETS) {
+			return (int)value;
+		}
+		int exponent = Math.min(MAX_EXPONENT, 63 - Long.numberOfLeadingZeros(value));
+		
+		if (exponent == MAX_EXPONENT && value >= (1L << (MAX_EXPONENT + 1))) {
+			return BUCKETS - 1;
+		}
+		int sub = (int)(value >>> (exponent - SUB_BUCKET_BITS)) - SUB_BUCKETS;
+		return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + sub;
+	}
+	
+	/**
+	 * Retrieves the highest value counted in a bucket.
+	 * 
+	 * @param index The bucket index.
+	 * 
+	 * @return The value.
+	 */
+	static long highestValueOf(int index) {
+		if (index < SUB_BUCKETS) {
+			return index;
+		}
+		int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+		long sub = index % SUB_BUCKETS + SUB_BUCKETS;
+		return ((sub + 1) << (exponent - SUB_BUCKET_BITS)) - 1;
+	}
+	
+	/**
+	 * Retrieves a snapshot of the recorded values.
+	 * 
+	 * @return The snapshot.
+	 */
+	public HistogramSnapshot snapshot() {
+		long[] counts = new long[BUCKETS];
+		
+		for (AtomicLongArray stripe : stripes) {
+			for (int i = 0; i < BUCKETS; i++) {
+				counts[i] += stripe.get(i);
+			}
+		}
+		return new HistogramSnapshot(counts, sum.sum(), max.get());
+	}
+	
+	/**
+	 * Clears the recorded values.
+	 */
+	public void reset() {
+		for (AtomicLongArray stripe : stripes) {
+			for (int i = 0; i < BUCKETS; i++) {
+				stripe.set(i, 0L);
+			}
+		}
+		sum.reset();
+		max.reset();
+	}
+	
+}
@@ -0,0 +1,110 @@
+package com.nattguld.tasker.metrics;
+
+/**
+ * 
+ * @author randqm
+ *
+ */
+
+public class HistogramSnapshot {
+	
+	/**
+	 * Holds the counts by bucket.
+	 */
+	private final long[] counts;
+	
+	/**
+	 * The amount of recorded values.
+	 */
+	private final long count;
+	
+	/**
+	 * The sum of the recorded values.
+	 */
+	private final long sum;
+	
+	/**
+	 * The highest recorded value.
+	 */
+	private final long max;
+	
+	
+	/**
+	 * Creates a new histogram snapshot.
+	 * 
+	 * @param counts The counts by bucket.
+	 * 
+	 * @param sum The sum of the recorded values.
+	 * 
+	 * @param max The highest recorded value.
+	 */
+	public HistogramSnapshot(long[] counts, long sum, long max) {
+		long total = 0L;
+		
+		for (long c : counts) {
+			total += c;
+		}
+		this.counts = counts;
+		this.count = total;
+		this.sum = sum;
+		this.max = max;
+	}
+	
+	/**
+	 * Retrieves the value below which a given percentage of the recorded values falls.
+	 * 
+	 * @param percentile The percentile between 0 and 100.
+	 * 
+	 * @return The value, 0 when nothing got recorded.
+	 */
+	public long getPercentile(double percentile) {
+		if (count == 0L) {
+			return 0L;
+		}
+		long rank = Math.max(1L, (long)Math.ceil(Math.min(100D, Math.max(0D, percentile)) / 100D * count));
+		long seen = 0L;
+		
+		for (int i = 0; i < counts.length; i++) {
+			seen += counts[i];
+			
+			if (seen >= rank) {
+				return i == counts.length - 1 ? max : Math.min(max, Histogram.highestValueOf(i));
+			}
+		}
+		return max;
+	}
+	
+	/**
+	 * Retrieves the amount of recorded values.
+	 * 
+	 * @return The amount.
+	 */
+	public long getCount() {
+		return count;
+	}
+	
+	/**
+	 * Retrieves the average of the recorded values.
+	 * 
+	 * @return The average.
+	 */
+	public double getMean() {
+		return count == 0L ? 0D : (double)sum / count;
+	}
+	
+	/**
+	 * Retrieves the highest recorded value.
+	 * 
+	 * @return The value.
+	 */
+	public long getMax() {
+		return max;
+	}
+	
+	@Override
+	public String toString() {
+		return "count=" + count + ", mean=" + Math.round(getMean()) + ", p50=" + getPercentile(50D)
+				+ ", p90=" + getPercentile(90D) + ", p99=" + getPercentile(99D) + ", max=" + max;
+	}
+	
+}
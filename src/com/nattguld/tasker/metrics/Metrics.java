@@ -0,0 +1,91 @@
+package com.nattguld.tasker.metrics;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 
+ * @author randqm
+ *
+ */
+
+public class Metrics {
+	
+	/**
+	 * Holds the metrics by task class.
+	 */
+	private static final Map<Class<?>, ExecutionMetrics> tasks = new ConcurrentHashMap<>();
+	
+	/**
+	 * Holds the metrics by step name.
+	 */
+	private static final Map<String, ExecutionMetrics> steps = new ConcurrentHashMap<>();
+	
+	
+	/**
+	 * Retrieves the metrics of a task class.
+	 * 
+	 * @param taskClass The task class.
+	 * 
+	 * @return The metrics.
+	 */
+	public static ExecutionMetrics forTask(Class<?> taskClass) {
+		ExecutionMetrics metrics = tasks.get(taskClass);
+		return Objects.nonNull(metrics) ? metrics : tasks.computeIfAbsent(taskClass, c -> new ExecutionMetrics(c.getName(), true));
+	}
+	
+	/**
+	 * Retrieves the metrics of a step.
+	 * 
+	 * @param stepName The step name.
+	 * 
+	 * @return The metrics.
+	 */
+	public static ExecutionMetrics forStep(String stepName) {
+		ExecutionMetrics metrics = steps.get(stepName);
+		return Objects.nonNull(metrics) ? metrics : steps.computeIfAbsent(stepName, n -> new ExecutionMetrics(n, false));
+	}
+	
+	/**
+	 * Retrieves snapshots of the metrics by task class name.
+	 * 
+	 * @return The snapshots.
+	 */
+	public static Map<String, ExecutionMetricsSnapshot> snapshotTasks() {
+		Map<String, ExecutionMetricsSnapshot> snapshots = new TreeMap<>();
+		
+		for (ExecutionMetrics metrics : tasks.values()) {
+			snapshots.put(metrics.getName(), metrics.snapshot());
+		}
+		return snapshots;
+	}
+	
+	/**
+	 * Retrieves snapshots of the metrics by step name.
+	 * 
+	 * @return The snapshots.
+	 */
+	public static Map<String, ExecutionMetricsSnapshot> snapshotSteps() {
+		Map<String, ExecutionMetricsSnapshot> snapshots = new TreeMap<>();
+		
+		for (ExecutionMetrics metrics : steps.values()) {
+			snapshots.put(metrics.getName(), metrics.snapshot());
+		}
+		return snapshots;
+	}
+	
+	/**
+	 * Clears all metrics.
+	 */
+	public static void reset() {
+		for (ExecutionMetrics metrics : tasks.values()) {
+			metrics.reset();
+		}
+		for (ExecutionMetrics metrics : steps.values()) {
+			metrics.reset();
+		}
+	}
+	
+}
@@ -0,0 +1,30 @@
+package com.nattguld.tasker.status;
+
+import java.util.List;
+
+/**
+ * 
+ * @author randqm
+ *
+ */
+
+public class ConsoleStatusSink implements IStatusSink {
+	
+	/**
+	 * The builder reused to print a batch at once.
+	 */
+	private final StringBuilder sb = new StringBuilder();
+	
+	
+	@Override
+	public void write(List<StatusEvent> events) {
+		sb.setLength(0);
+		
+		for (StatusEvent event : events) {
+			sb.append(event.format()).append(System.lineSeparator());
+		}
+		System.out.print(sb);
+		System.out.flush();
+	}
+	
+}
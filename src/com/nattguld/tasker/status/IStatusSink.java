@@ -0,0 +1,21 @@
+package com.nattguld.tasker.status;
+
+import java.util.List;
+
+/**
+ * 
+ * @author randqm
+ *
+ */
+
+public interface IStatusSink {
+	
+	
+	/**
+	 * Writes a batch of status events, called from the status writer thread only.
+	 * 
+	 * @param events The events in the order they got published.
+	 */
+	public void write(List<StatusEvent> events);
+	
+}
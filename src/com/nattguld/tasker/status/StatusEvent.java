@@ -0,0 +1,100 @@
+package com.nattguld.tasker.status;
+
+import com.nattguld.tasker.tasks.TaskState;
+
+/**
+ * 
+ * @author randqm
+ *
+ */
+
+public class StatusEvent {
+	
+	/**
+	 * The name of the task.
+	 */
+	private final String taskName;
+	
+	/**
+	 * The task state at the time of the status change.
+	 */
+	private final TaskState state;
+	
+	/**
+	 * The new status, a string or a status message formatted once it's read.
+	 */
+	private final Object status;
+	
+	/**
+	 * The time of the status change.
+	 */
+	private final long time;
+	
+	
+	/**
+	 * Creates a new status event.
+	 * 
+	 * @param taskName The name of the task.
+	 * 
+	 * @param state The task state at the time of the status change.
+	 * 
+	 * @param status The new status, a string or a status message formatted once it's read.
+	 */
+	public StatusEvent(String taskName, TaskState state, Object status) {
+		this.taskName = taskName;
+		this.state = state;
+		this.status = status;
+		this.time = System.currentTimeMillis();
+	}
+	
+	/**
+	 * Formats the event into a log line, only done once a sink writes it.
+	 * 
+	 * @return The log line.
+	 */
+	public String format() {
+		return "[" + taskName + "][" + state.getName() + "]: " + status;
+	}
+	
+	/**
+	 * Retrieves the name of the task.
+	 * 
+	 * @return The name.
+	 */
+	public String getTaskName() {
+		return taskName;
+	}
+	
+	/**
+	 * Retrieves the task state at the time of the status change.
+	 * 
+	 * @return The state.
+	 */
+	public TaskState getState() {
+		return state;
+	}
+	
+	/**
+	 * Retrieves the new status.
+	 * 
+	 * @return The status.
+	 */
+	public String getStatus() {
+		return String.valueOf(status);
+	}
+	
+	/**
+	 * Retrieves the time of the status change.
+	 * 
+	 * @return The time.
+	 */
+	public long getTime() {
+		return time;
+	}
+	
+	@Override
+	public String toString() {
+		return format();
+	}
+	
+}
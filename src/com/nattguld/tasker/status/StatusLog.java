@@ -0,0 +1,169 @@
+package com.nattguld.tasker.status;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+import com.nattguld.tasker.cfg.TaskConfig;
+import com.nattguld.tasker.tasks.TaskState;
+import com.nattguld.tasker.util.RingBuffer;
+
+/**
+ * 
+ * @author randqm
+ *
+ */
+
+public class StatusLog {
+	
+	/**
+	 * The maximum amount of events written per batch.
+	 */
+	private static final int BATCH_SIZE = 256;
+	
+	/**
+	 * The time in nanoseconds the writer waits for events before checking again.
+	 */
+	private static final long IDLE_WAIT = TimeUnit.MILLISECONDS.toNanos(100);
+	
+	/**
+	 * Holds the published events until the writer drains them.
+	 */
+	private static final RingBuffer<StatusEvent> buffer = new RingBuffer<>(TaskConfig.getConfig().getStatusBufferSize());
+	
+	/**
+	 * The thread writing the events to the sink.
+	 */
+	private static final Thread writer = new Thread(StatusLog::write, "Status Writer");
+	
+	/**
+	 * The sink the events are written to.
+	 */
+	private static volatile IStatusSink sink = new ConsoleStatusSink();
+	
+	/**
+	 * Whether the writer is waiting for events or not.
+	 */
+	private static volatile boolean idle;
+	
+	/**
+	 * Whether the writer is draining or writing a batch or not.
+	 */
+	private static volatile boolean busy;
+	
+	
+	static {
+		writer.setDaemon(true);
+		writer.start();
+		
+		Runtime.getRuntime().addShutdownHook(new Thread(() -> flush(1000L), "Status Flush"));
+	}
+	
+	/**
+	 * Publishes a status change without blocking, the event is dropped when the buffer is full.
+	 * 
+	 * @param taskName The name of the task.
+	 * 
+	 * @param state The task state.
+	 * 
+	 * @param status The new status, a string or a status message formatted once a sink writes it.
+	 */
+	public static void publish(String taskName, TaskState state, Object status) {
+		if (!buffer.offer(new StatusEvent(taskName, state, status))) {
+			return;
+		}
+		if (idle) {
+			LockSupport.unpark(writer);
+		}
+	}
+	
+	/**
+	 * Drains the buffer in batches and writes them to the sink.
+	 */
+	private static void write() {
+		List<StatusEvent> batch = new ArrayList<>(BATCH_SIZE);
+		Consumer<StatusEvent> collector = batch::add;
+		
+		while (true) {
+			busy = true;
+			
+			if (buffer.drain(collector, BATCH_SIZE) == 0) {
+				busy = false;
+				idle = true;
+				
+				if (buffer.isEmpty()) {
+					LockSupport.parkNanos(IDLE_WAIT);
+				}
+				idle = false;
+				continue;
+			}
+			try {
+				sink.write(batch);
+				
+			} catch (Exception ex) {
+				ex.printStackTrace();
+			}
+			batch.clear();
+		}
+	}
+	
+	/**
+	 * Waits until the published events have been written.
+	 * 
+	 * @param timeout The maximum time to wait in milliseconds.
+	 * 
+	 * @return Whether all events have been written or not.
+	 */
+	public static boolean flush(long timeout) {
+		long deadline = System.currentTimeMillis() + timeout;
+		
+		while (!buffer.isEmpty() || busy) {
+			if (System.currentTimeMillis() >= deadline) {
+				return false;
+			}
+			LockSupport.unpark(writer);
+			LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+		}
+		return true;
+	}
+	
+	/**
+	 * Modifies the sink the events are written to.
+	 * 
+	 * @param sink The new sink.
+	 */
+	public static void setSink(IStatusSink sink) {
+		StatusLog.sink = Objects.requireNonNull(sink);
+	}
+	
+	/**
+	 * Retrieves the sink the events are written to.
+	 * 
+	 * @return The sink.
+	 */
+	public static IStatusSink getSink() {
+		return sink;
+	}
+	
+	/**
+	 * Retrieves the amount of events waiting to be written.
+	 * 
+	 * @return The amount.
+	 */
+	public static int getPendingCount() {
+		return buffer.size();
+	}
+	
+	/**
+	 * Retrieves the amount of events dropped because the buffer was full.
+	 * 
+	 * @return The amount.
+	 */
+	public static long getDroppedCount() {
+		return buffer.getDroppedCount();
+	}
+	
+}
@@ -0,0 +1,79 @@
+package com.nattguld.tasker.status;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * 
+ * @author randqm
+ *
+ */
+
+public final class StatusMessage {
+	
+	/**
+	 * The template, using %s as placeholder for the arguments.
+	 */
+	private final String template;
+	
+	/**
+	 * The arguments.
+	 */
+	private final Object[] args;
+	
+	/**
+	 * The formatted message, only built once it's read.
+	 */
+	private volatile String text;
+	
+	
+	/**
+	 * Creates a new status message.
+	 * 
+	 * @param template The template, using %s as placeholder for the arguments.
+	 * 
+	 * @param args The arguments.
+	 */
+	public StatusMessage(String template, Object... args) {
+		this.template = Objects.requireNonNull(template);
+		this.args = args;
+	}
+	
+	/**
+	 * Retrieves the template.
+	 * 
+	 * @return The template.
+	 */
+	public String getTemplate() {
+		return template;
+	}
+	
+	@Override
+	public boolean equals(Object other) {
+		if (this == other) {
+			return true;
+		}
+		if (!(other instanceof StatusMessage)) {
+			return false;
+		}
+		StatusMessage message = (StatusMessage)other;
+		return template.equals(message.template) && Arrays.equals(args, message.args);
+	}
+	
+	@Override
+	public int hashCode() {
+		return 31 * template.hashCode() + Arrays.hashCode(args);
+	}
+	
+	@Override
+	public String toString() {
+		String text = this.text;
+		
+		if (Objects.isNull(text)) {
+			text = Objects.isNull(args) || args.length == 0 ? template : String.format(template, args);
+			this.text = text;
+		}
+		return text;
+	}
+	
+}
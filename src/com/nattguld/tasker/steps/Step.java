@@ -1,9 +1,12 @@
 package com.nattguld.tasker.steps;
 
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+
 import com.nattguld.tasker.TaskManager;
 import com.nattguld.tasker.tasks.Task;
 import com.nattguld.tasker.tasks.TaskState;
-import com.nattguld.tasker.util.Misc;
+import com.nattguld.tasker.tasks.TaskSubscription;
 
 /**
  * 
@@ -33,6 +36,11 @@ public abstract class Step {
 	 */
 	private String status;
 	
+	/**
+	 * The task executing the step, null when executed outside a step task.
+	 */
+	private volatile Task owner;
+	
 	
 	/**
 	 * Creates a new step.
@@ -89,12 +97,22 @@ public abstract class Step {
 	 * @return The finish task state.
 	 */
 	protected TaskState runExternalTask(Task external) {
-		TaskManager.executeAlternatively(external);
+		TaskSubscription subscription = external.subscribe((task, state, status) -> setStatus(task.getStatus()), Runnable::run);
 		
-		while (external.isActive()) {
-			setStatus(external.getStatus());
-			Misc.sleep(200);
+		try {
+			TaskManager.executeAlternatively(external);
+			external.getCompletion().get();
+			
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			
+		} catch (ExecutionException ex) {
+			ex.printStackTrace();
+			
+		} finally {
+			subscription.cancel();
 		}
+		setStatus(external.getStatus());
 		return external.getState();
 	}
 	
@@ -158,6 +176,37 @@ public abstract class Step {
 		return getName() + ": " + status;
 	}
 	
+	/**
+	 * Modifies the task executing the step.
+	 * 
+	 * @param owner The task.
+	 * 
+	 * @return The step.
+	 */
+	public Step setOwner(Task owner) {
+		this.owner = owner;
+		return this;
+	}
+	
+	/**
+	 * Retrieves the task executing the step.
+	 * 
+	 * @return The task, null when executed outside a step task.
+	 */
+	public Task getOwner() {
+		return owner;
+	}
+	
+	/**
+	 * Retrieves whether the task executing the step got cancelled or timed out, so the step should stop or not.
+	 * 
+	 * @return The result.
+	 */
+	public boolean isFlowStopped() {
+		Task owner = this.owner;
+		return Objects.nonNull(owner) && (owner.getState() == TaskState.CANCEL || owner.isTimedOut());
+	}
+	
 	@Override
 	public String toString() {
 		return getName();
@@ -1,6 +1,12 @@
 package com.nattguld.tasker.steps.impl;
 
+import java.util.Arrays;
+import java.util.List;
+
+import com.nattguld.tasker.cfg.TaskConfig;
 import com.nattguld.tasker.steps.Step;
+import com.nattguld.tasker.steps.StepState;
+import com.nattguld.tasker.util.BoundedCache;
 
 /**
  * 
@@ -8,7 +14,126 @@ import com.nattguld.tasker.steps.Step;
  *
  */
 
-public abstract class CachableStep extends Step {
+public abstract class CachableStep<T extends Object> extends Step {
 
+	/**
+	 * The cache shared by all cachable steps.
+	 */
+	private static final BoundedCache<Object, Object> CACHE = new BoundedCache<>(TaskConfig.getConfig().getStepCacheWeight());
+	
+	
+	/**
+	 * Creates a new cachable step.
+	 * 
+	 * @param name The step name.
+	 */
+	public CachableStep(String name) {
+		this(name, true);
+	}
+	
+	/**
+	 * Creates a new cachable step.
+	 * 
+	 * @param name The step name.
+	 * 
+	 * @param critical Whether the step is critical or not.
+	 */
+	public CachableStep(String name, boolean critical) {
+		super(name, critical);
+	}
+	
+	/**
+	 * Retrieves the key the loaded value is cached by.
+	 * Steps of the same class with an equal key share the loaded value.
+	 * 
+	 * @return The key.
+	 */
+	protected abstract Object getCacheKey();
+	
+	/**
+	 * Loads the value when it's not cached yet.
+	 * Only executed once for concurrent steps requesting the same key.
+	 * 
+	 * @return The value, null to not cache it.
+	 */
+	protected abstract T load();
+	
+	/**
+	 * Handles the loaded or cached value.
+	 * 
+	 * @param value The value.
+	 * 
+	 * @return The step execution response.
+	 */
+	protected abstract StepState handle(T value);
+	
+	
+	@SuppressWarnings("unchecked")
+	@Override
+	public StepState execute() {
+		T value;
+		
+		try {
+			value = (T)CACHE.get(getKey(), this::load, getCacheTime(), v -> getCacheWeight((T)v));
+			
+		} catch (RuntimeException ex) {
+			throw ex;
+			
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			setStatus("Interrupted while waiting for the value");
+			return StepState.INTERRUPT;
+			
+		} catch (Exception ex) {
+			throw new IllegalStateException(ex);
+		}
+		return handle(value);
+	}
+	
+	/**
+	 * Removes the cached value of this step.
+	 */
+	public void invalidate() {
+		CACHE.invalidate(getKey());
+	}
+	
+	/**
+	 * Retrieves the key within the shared cache.
+	 * 
+	 * @return The key.
+	 */
+	private List<Object> getKey() {
+		return Arrays.asList(getClass(), getCacheKey());
+	}
+	
+	/**
+	 * Retrieves the time in milliseconds the loaded value stays cached.
+	 * 
+	 * @return The time, 0 or less to keep it until evicted.
+	 */
+	protected long getCacheTime() {
+		return 300000L;
+	}
+	
+	/**
+	 * Retrieves the weight of a loaded value, the cache evicts the least recently used values
+	 * once their total weight exceeds the configured maximum.
+	 * 
+	 * @param value The value.
+	 * 
+	 * @return The weight.
+	 */
+	protected int getCacheWeight(T value) {
+		return 1;
+	}
+	
+	/**
+	 * Retrieves the cache shared by all cachable steps.
+	 * 
+	 * @return The cache.
+	 */
+	public static BoundedCache<Object, Object> getCache() {
+		return CACHE;
+	}
 	
 }
@@ -0,0 +1,269 @@
+package com.nattguld.tasker.steps.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import com.nattguld.tasker.TaskManager;
+import com.nattguld.tasker.steps.Step;
+import com.nattguld.tasker.steps.StepState;
+
+/**
+ * 
+ * @author randqm
+ *
+ */
+
+public class ParallelStep extends Step {
+	
+	/**
+	 * The steps executed in parallel.
+	 */
+	private final List<Step> steps;
+	
+	/**
+	 * Holds the exceptions thrown by the steps.
+	 */
+	private final Map<Step, Exception> exceptions = new ConcurrentHashMap<>();
+	
+	/**
+	 * The completion of the current round, every step in progress executes once per round.
+	 */
+	private volatile CompletableFuture<Void> execution;
+	
+	/**
+	 * The time in nanoseconds the current round started.
+	 */
+	private long roundStart;
+	
+	/**
+	 * Whether the steps are being executed or not.
+	 */
+	private boolean started;
+	
+	/**
+	 * Whether a step ended the flow and the other steps should stop or not.
+	 * The steps stop as well once the task executing the group got cancelled or timed out.
+	 */
+	private volatile boolean aborted;
+	
+	
+	/**
+	 * Creates a new parallel step.
+	 * 
+	 * @param steps The steps to execute in parallel.
+	 */
+	public ParallelStep(Step... steps) {
+		this("parallel", steps);
+	}
+	
+	/**
+	 * Creates a new parallel step.
+	 * 
+	 * @param name The step name.
+	 * 
+	 * @param steps The steps to execute in parallel.
+	 */
+	public ParallelStep(String name, Step... steps) {
+		super(name, true);
+		
+		this.steps = Collections.unmodifiableList(new ArrayList<>(Arrays.asList(steps)));
+	}
+	
+	/**
+	 * Executes the steps in rounds, every poll starts a round once the previous one completed and the poll delay passed.
+	 * No thread is held between the executions of a step in progress.
+	 */
+	@Override
+	public StepState execute() {
+		if (!started) {
+			start();
+			
+		} else if (Objects.isNull(execution) || execution.isDone()) {
+			execution = null;
+			
+			if (getFinishedCount() < steps.size() && System.nanoTime() - roundStart >= TimeUnit.MILLISECONDS.toNanos(getPollDelay())) {
+				startRound();
+			}
+		}
+		if (Objects.isNull(execution) && getFinishedCount() == steps.size()) {
+			started = false;
+			return aggregate();
+		}
+		setStatus(getFinishedCount() + "/" + steps.size() + " steps finished");
+		return StepState.IN_PROGRESS;
+	}
+	
+	/**
+	 * Starts executing the steps in parallel.
+	 */
+	private void start() {
+		exceptions.clear();
+		aborted = false;
+		started = true;
+		
+		for (Step step : steps) {
+			step.setOwner(getOwner());
+			step.setState(StepState.IN_PROGRESS);
+		}
+		startRound();
+	}
+	
+	/**
+	 * Starts a round executing every step in progress once on the alternate executor.
+	 * The steps are interrupted rather than executed once the flow got ended.
+	 */
+	private void startRound() {
+		List<CompletableFuture<Void>> futures = new ArrayList<>(steps.size());
+		
+		for (Step step : steps) {
+			if (step.getState() != StepState.IN_PROGRESS) {
+				continue;
+			}
+			if (aborted || isFlowStopped()) {
+				step.setState(StepState.INTERRUPT);
+				continue;
+			}
+			futures.add(TaskManager.runAlternatively(() -> poll(step)));
+		}
+		roundStart = System.nanoTime();
+		execution = futures.isEmpty() ? null : CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[futures.size()]));
+	}
+	
+	/**
+	 * Executes a step once.
+	 * 
+	 * @param step The step.
+	 */
+	private void poll(Step step) {
+		try {
+			step.setState(step.execute());
+			
+		} catch (Exception ex) {
+			ex.printStackTrace();
+			exceptions.put(step, ex);
+			step.setState(StepState.EXCEPTION);
+		}
+		if (endsFlow(step)) {
+			aborted = true;
+		}
+	}
+	
+	/**
+	 * Retrieves the completion of the current round.
+	 * 
+	 * @return The completion, null when no round is in progress.
+	 */
+	public CompletableFuture<Void> getExecution() {
+		return execution;
+	}
+	
+	/**
+	 * Retrieves whether a step's outcome ends the flow or not.
+	 * 
+	 * @param step The step.
+	 * 
+	 * @return The result.
+	 */
+	private static boolean endsFlow(Step step) {
+		switch (step.getState()) {
+		case CANCEL:
+		case RETRY:
+		case INTERRUPT:
+			return true;
+		
+		case EXCEPTION:
+		case FAILED:
+			return step.isCritical();
+		
+		default:
+			return false;
+		}
+	}
+	
+	/**
+	 * Combines the outcomes of the steps into the outcome of the group.
+	 * A cancel outweighs a retry, which outweighs a critical failure, which outweighs an interrupt.
+	 * Failures of non-critical steps don't affect the group.
+	 * 
+	 * @return The outcome.
+	 */
+	private StepState aggregate() {
+		StepState state = StepState.SUCCESS;
+		
+		for (Step step : steps) {
+			if (step.getState() == StepState.CANCEL) {
+				return StepState.CANCEL;
+			}
+			if (step.getState() == StepState.RETRY) {
+				state = StepState.RETRY;
+				continue;
+			}
+			if (state == StepState.RETRY || !endsFlow(step)) {
+				continue;
+			}
+			if (step.getState() == StepState.EXCEPTION) {
+				state = StepState.EXCEPTION;
+				
+			} else if (step.getState() == StepState.FAILED && state != StepState.EXCEPTION) {
+				state = StepState.FAILED;
+				
+			} else if (step.getState() == StepState.INTERRUPT && state == StepState.SUCCESS) {
+				state = StepState.INTERRUPT;
+			}
+		}
+		return state;
+	}
+	
+	/**
+	 * Retrieves the amount of steps that finished executing.
+	 * 
+	 * @return The amount.
+	 */
+	private int getFinishedCount() {
+		int finished = 0;
+		
+		for (Step step : steps) {
+			if (step.getState() != StepState.IN_PROGRESS) {
+				finished++;
+			}
+		}
+		return finished;
+	}
+	
+	/**
+	 * Retrieves the minimum delay in milliseconds between the rounds executing the steps in progress.
+	 * 
+	 * @return The delay.
+	 */
+	protected int getPollDelay() {
+		return 100;
+	}
+	
+	/**
+	 * Retrieves the exception a step threw during its last execution.
+	 * 
+	 * @param step The step.
+	 * 
+	 * @return The exception, null when none was thrown.
+	 */
+	public Exception getException(Step step) {
+		return exceptions.get(step);
+	}
+	
+	/**
+	 * Retrieves the steps executed in parallel.
+	 * 
+	 * @return The steps.
+	 */
+	public List<Step> getSteps() {
+		return steps;
+	}
+	
+}
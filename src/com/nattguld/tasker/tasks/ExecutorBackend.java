@@ -0,0 +1,120 @@
+package com.nattguld.tasker.tasks;
+
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.function.Consumer;
+
+/**
+ * 
+ * @author randqm
+ *
+ */
+
+public enum ExecutorBackend {
+	
+	THREAD_POOL("Thread pool"),
+	VIRTUAL_THREADS("Virtual threads"),
+	WORK_STEALING("Work stealing");
+	
+	
+	/**
+	 * The name.
+	 */
+	private final String name;
+	
+	
+	/**
+	 * Creates a new executor backend.
+	 * 
+	 * @param name The name.
+	 */
+	private ExecutorBackend(String name) {
+		this.name = name;
+	}
+	
+	/**
+	 * Creates an executor limited to a maximum amount of parallel tasks.
+	 * The virtual threads backend falls back to the thread pool on runtimes older than Java 21.
+	 * 
+	 * @param maxParallel The maximum amount of tasks executed in parallel.
+	 * 
+	 * @param maxQueueSize The maximum queue size.
+	 * 
+	 * @param rejectionHandler The task rejection handler.
+	 * 
+	 * @param executionListener The execution listener.
+	 * 
+	 * @return The executor.
+	 */
+	public ITaskExecutor create(int maxParallel, int maxQueueSize, Consumer<Runnable> rejectionHandler, IExecutionListener executionListener) {
+		switch (this) {
+		case VIRTUAL_THREADS:
+			if (VirtualTaskExecutor.isSupported()) {
+				return new VirtualTaskExecutor(maxParallel, maxQueueSize, rejectionHandler, executionListener);
+			}
+			System.err.println("Virtual threads require Java 21 or newer, falling back to the thread pool");
+			return THREAD_POOL.create(maxParallel, maxQueueSize, rejectionHandler, executionListener);
+		
+		case WORK_STEALING:
+			return new WorkStealingTaskExecutor(maxParallel, maxQueueSize, rejectionHandler, executionListener);
+		
+		default:
+			TaskPoolExecutor executor = new TaskPoolExecutor(maxParallel, maxParallel, maxQueueSize
+					, (runnable, e) -> rejectionHandler.accept(runnable), executionListener);
+			executor.allowCoreThreadTimeOut(true);
+			return executor;
+		}
+	}
+	
+	/**
+	 * Creates an executor without a limit on parallel tasks.
+	 * 
+	 * @param executionListener The execution listener.
+	 * 
+	 * @return The executor.
+	 */
+	public ITaskExecutor createUnbounded(IExecutionListener executionListener) {
+		switch (this) {
+		case VIRTUAL_THREADS:
+			if (VirtualTaskExecutor.isSupported()) {
+				return new VirtualTaskExecutor(executionListener);
+			}
+			return THREAD_POOL.createUnbounded(executionListener);
+		
+		default:
+			return new TaskPoolExecutor(0, Integer.MAX_VALUE, new SynchronousQueue<Runnable>()
+					, new ThreadPoolExecutor.AbortPolicy(), executionListener);
+		}
+	}
+	
+	/**
+	 * Retrieves the name.
+	 * 
+	 * @return The name.
+	 */
+	public String getName() {
+		return name;
+	}
+	
+	/**
+	 * Retrieves an executor backend by its constant name.
+	 * 
+	 * @param name The constant name.
+	 * 
+	 * @return The executor backend, the thread pool when unknown.
+	 */
+	public static ExecutorBackend parse(String name) {
+		for (ExecutorBackend backend : values()) {
+			if (backend.name().equalsIgnoreCase(name)) {
+				return backend;
+			}
+		}
+		return THREAD_POOL;
+	}
+	
+	@Override
+	public String toString() {
+		return getName();
+	}
+	
+}
@@ -0,0 +1,26 @@
+package com.nattguld.tasker.tasks;
+
+/**
+ * 
+ * @author randqm
+ *
+ */
+
+public interface IExecutionListener {
+	
+	
+	/**
+	 * Executed when an executor starts running a task.
+	 * 
+	 * @param task The task.
+	 */
+	public void onStart(Task task);
+	
+	/**
+	 * Executed when an executor finished running a task.
+	 * 
+	 * @param task The task.
+	 */
+	public void onCompletion(Task task);
+	
+}
@@ -0,0 +1,73 @@
+package com.nattguld.tasker.tasks;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * 
+ * @author randqm
+ *
+ */
+
+public interface ITaskExecutor extends ExecutorService {
+	
+	
+	/**
+	 * Retrieves the amount of queued tasks.
+	 * 
+	 * @return The amount.
+	 */
+	public int getQueuedCount();
+	
+	/**
+	 * Retrieves whether a submitted task waits for a worker or not.
+	 * 
+	 * @param future The future of the submitted task.
+	 * 
+	 * @return The result.
+	 */
+	public boolean isQueued(Future<?> future);
+	
+	/**
+	 * Retrieves the maximum queue size.
+	 * 
+	 * @return The maximum queue size.
+	 */
+	public int getMaxQueueSize();
+	
+	/**
+	 * Modifies the maximum queue size.
+	 * 
+	 * @param maxQueueSize The new maximum queue size.
+	 */
+	public void setMaxQueueSize(int maxQueueSize);
+	
+	/**
+	 * Retrieves the amount of tasks being executed.
+	 * 
+	 * @return The amount.
+	 */
+	public int getActiveCount();
+	
+	/**
+	 * Retrieves the maximum amount of tasks executed in parallel.
+	 * 
+	 * @return The amount.
+	 */
+	public int getMaximumPoolSize();
+	
+	/**
+	 * Modifies the maximum amount of tasks executed in parallel.
+	 * 
+	 * @param maxPoolSize The new amount.
+	 */
+	public void setMaximumPoolSize(int maxPoolSize);
+	
+	/**
+	 * Retrieves the amount of tasks that finished execution.
+	 * 
+	 * @return The amount.
+	 */
+	public long getCompletedTaskCount();
+	
+}
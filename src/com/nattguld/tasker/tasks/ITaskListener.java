@@ -0,0 +1,24 @@
+package com.nattguld.tasker.tasks;
+
+/**
+ * 
+ * @author randqm
+ *
+ */
+
+public interface ITaskListener {
+	
+	
+	/**
+	 * Executed when the state or status of a task changed.
+	 * Changes made while the listener is busy are coalesced, only the latest state and status are passed.
+	 * 
+	 * @param task The task.
+	 * 
+	 * @param state The current state.
+	 * 
+	 * @param status The current status.
+	 */
+	public void onChange(Task task, TaskState state, String status);
+	
+}
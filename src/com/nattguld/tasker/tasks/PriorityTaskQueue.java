@@ -0,0 +1,414 @@
+package com.nattguld.tasker.tasks;
+
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 
+ * @author randqm
+ *
+ */
+
+public class PriorityTaskQueue extends AbstractQueue<Runnable> implements BlockingQueue<Runnable> {
+	
+	/**
+	 * The maximum amount of queued runnables.
+	 */
+	private volatile int capacity;
+	
+	/**
+	 * The lock guarding the queue.
+	 */
+	private final ReentrantLock lock = new ReentrantLock();
+	
+	/**
+	 * Signalled when a runnable got queued.
+	 */
+	private final Condition notEmpty = lock.newCondition();
+	
+	/**
+	 * Signalled when a runnable got dequeued.
+	 */
+	private final Condition notFull = lock.newCondition();
+	
+	/**
+	 * Holds the queued runnables ordered by rank and insertion order.
+	 */
+	private final PriorityQueue<Entry> heap = new PriorityQueue<>(Comparator.comparingLong((Entry e) -> e.rank).thenComparingLong(e -> e.sequence));
+	
+	/**
+	 * The insertion counter.
+	 */
+	private long sequence;
+	
+	
+	/**
+	 * Creates a new priority task queue.
+	 * 
+	 * @param capacity The maximum amount of queued runnables.
+	 */
+	public PriorityTaskQueue(int capacity) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("Capacity must be positive");
+		}
+		this.capacity = capacity;
+	}
+	
+	/**
+	 * Modifies the maximum amount of queued runnables.
+	 * Runnables queued beyond a lowered capacity remain queued.
+	 * 
+	 * @param capacity The new maximum amount.
+	 */
+	public void setCapacity(int capacity) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("Capacity must be positive");
+		}
+		lock.lock();
+		
+		try {
+			this.capacity = capacity;
+			notFull.signalAll();
+			
+		} finally {
+			lock.unlock();
+		}
+	}
+	
+	/**
+	 * Retrieves the maximum amount of queued runnables.
+	 * 
+	 * @return The maximum amount.
+	 */
+	public int getCapacity() {
+		return capacity;
+	}
+	
+	/**
+	 * Retrieves the rank of a runnable, lower ranks run first.
+	 * 
+	 * @param runnable The runnable.
+	 * 
+	 * @return The rank.
+	 */
+	private static long rankOf(Runnable runnable) {
+		if (runnable instanceof TaskFuture) {
+			long rank = ((TaskFuture<?>)runnable).getTask().getRank();
+			
+			if (rank != 0L) {
+				return rank;
+			}
+		}
+		return System.currentTimeMillis();
+	}
+	
+	/**
+	 * Queues a runnable while holding the lock.
+	 * 
+	 * @param runnable The runnable.
+	 */
+	private void enqueue(Runnable runnable) {
+		heap.offer(new Entry(runnable, rankOf(runnable), sequence++));
+		notEmpty.signal();
+	}
+	
+	/**
+	 * Dequeues the runnable with the lowest rank while holding the lock.
+	 * 
+	 * @return The runnable.
+	 */
+	private Runnable dequeue() {
+		Entry entry = heap.poll();
+		
+		if (Objects.isNull(entry)) {
+			return null;
+		}
+		notFull.signal();
+		return entry.runnable;
+	}
+	
+	@Override
+	public boolean offer(Runnable runnable) {
+		Objects.requireNonNull(runnable);
+		lock.lock();
+		
+		try {
+			if (heap.size() >= capacity) {
+				return false;
+			}
+			enqueue(runnable);
+			return true;
+			
+		} finally {
+			lock.unlock();
+		}
+	}
+	
+	@Override
+	public boolean offer(Runnable runnable, long timeout, TimeUnit unit) throws InterruptedException {
+		Objects.requireNonNull(runnable);
+		long nanos = unit.toNanos(timeout);
+		lock.lockInterruptibly();
+		
+		try {
+			while (heap.size() >= capacity) {
+				if (nanos <= 0L) {
+					return false;
+				}
+				nanos = notFull.awaitNanos(nanos);
+			}
+			enqueue(runnable);
+			return true;
+			
+		} finally {
+			lock.unlock();
+		}
+	}
+	
+	@Override
+	public void put(Runnable runnable) throws InterruptedException {
+		Objects.requireNonNull(runnable);
+		lock.lockInterruptibly();
+		
+		try {
+			while (heap.size() >= capacity) {
+				notFull.await();
+			}
+			enqueue(runnable);
+			
+		} finally {
+			lock.unlock();
+		}
+	}
+	
+	@Override
+	public Runnable poll() {
+		lock.lock();
+		
+		try {
+			return dequeue();
+			
+		} finally {
+			lock.unlock();
+		}
+	}
+	
+	@Override
+	public Runnable poll(long timeout, TimeUnit unit) throws InterruptedException {
+		long nanos = unit.toNanos(timeout);
+		lock.lockInterruptibly();
+		
+		try {
+			while (heap.isEmpty()) {
+				if (nanos <= 0L) {
+					return null;
+				}
+				nanos = notEmpty.awaitNanos(nanos);
+			}
+			return dequeue();
+			
+		} finally {
+			lock.unlock();
+		}
+	}
+	
+	@Override
+	public Runnable take() throws InterruptedException {
+		lock.lockInterruptibly();
+		
+		try {
+			while (heap.isEmpty()) {
+				notEmpty.await();
+			}
+			return dequeue();
+			
+		} finally {
+			lock.unlock();
+		}
+	}
+	
+	@Override
+	public Runnable peek() {
+		lock.lock();
+		
+		try {
+			Entry entry = heap.peek();
+			return Objects.isNull(entry) ? null : entry.runnable;
+			
+		} finally {
+			lock.unlock();
+		}
+	}
+	
+	@Override
+	public boolean remove(Object o) {
+		lock.lock();
+		
+		try {
+			for (Iterator<Entry> it = heap.iterator(); it.hasNext();) {
+				if (it.next().runnable.equals(o)) {
+					it.remove();
+					notFull.signal();
+					return true;
+				}
+			}
+			return false;
+			
+		} finally {
+			lock.unlock();
+		}
+	}
+	
+	@Override
+	public int size() {
+		lock.lock();
+		
+		try {
+			return heap.size();
+			
+		} finally {
+			lock.unlock();
+		}
+	}
+	
+	@Override
+	public int remainingCapacity() {
+		lock.lock();
+		
+		try {
+			return Math.max(0, capacity - heap.size());
+			
+		} finally {
+			lock.unlock();
+		}
+	}
+	
+	@Override
+	public int drainTo(Collection<? super Runnable> c) {
+		return drainTo(c, Integer.MAX_VALUE);
+	}
+	
+	@Override
+	public int drainTo(Collection<? super Runnable> c, int maxElements) {
+		Objects.requireNonNull(c);
+		
+		if (c == this) {
+			throw new IllegalArgumentException();
+		}
+		lock.lock();
+		
+		try {
+			int drained = 0;
+			
+			while (drained < maxElements && !heap.isEmpty()) {
+				c.add(heap.poll().runnable);
+				drained++;
+			}
+			if (drained > 0) {
+				notFull.signalAll();
+			}
+			return drained;
+			
+		} finally {
+			lock.unlock();
+		}
+	}
+	
+	/**
+	 * Retrieves an iterator over a snapshot of the queued runnables in no particular order.
+	 */
+	@Override
+	public Iterator<Runnable> iterator() {
+		List<Runnable> snapshot;
+		lock.lock();
+		
+		try {
+			snapshot = new ArrayList<>(heap.size());
+			
+			for (Entry entry : heap) {
+				snapshot.add(entry.runnable);
+			}
+		} finally {
+			lock.unlock();
+		}
+		Iterator<Runnable> it = snapshot.iterator();
+		
+		return new Iterator<Runnable>() {
+			
+			/**
+			 * The last returned runnable.
+			 */
+			private Runnable last;
+			
+			
+			@Override
+			public boolean hasNext() {
+				return it.hasNext();
+			}
+			
+			@Override
+			public Runnable next() {
+				return last = it.next();
+			}
+			
+			@Override
+			public void remove() {
+				if (Objects.isNull(last)) {
+					throw new IllegalStateException();
+				}
+				PriorityTaskQueue.this.remove(last);
+				last = null;
+			}
+		};
+	}
+	
+	
+	/**
+	 * A queued runnable with its rank.
+	 */
+	private static final class Entry {
+		
+		/**
+		 * The runnable.
+		 */
+		private final Runnable runnable;
+		
+		/**
+		 * The rank.
+		 */
+		private final long rank;
+		
+		/**
+		 * The insertion order.
+		 */
+		private final long sequence;
+		
+		
+		/**
+		 * Creates a new entry.
+		 * 
+		 * @param runnable The runnable.
+		 * 
+		 * @param rank The rank.
+		 * 
+		 * @param sequence The insertion order.
+		 */
+		private Entry(Runnable runnable, long rank, long sequence) {
+			this.runnable = runnable;
+			this.rank = rank;
+			this.sequence = sequence;
+		}
+		
+	}
+	
+}
@@ -3,10 +3,26 @@ package com.nattguld.tasker.tasks;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
+import com.nattguld.tasker.TaskManager;
 import com.nattguld.tasker.TaskPolicy;
+import com.nattguld.tasker.TaskPriority;
 import com.nattguld.tasker.cfg.TaskConfig;
-import com.nattguld.tasker.util.Attributes;
+import com.nattguld.tasker.limit.RateLimit;
+import com.nattguld.tasker.metrics.ExecutionMetrics;
+import com.nattguld.tasker.metrics.Metrics;
+import com.nattguld.tasker.status.StatusLog;
+import com.nattguld.tasker.status.StatusMessage;
+import com.nattguld.tasker.util.ConcurrentAttributes;
+import com.nattguld.tasker.util.IAttributes;
 import com.nattguld.tasker.util.Misc;
 
 /**
@@ -27,6 +43,16 @@ public abstract class Task implements Runnable {
 	 */
 	public static final int DEFAULT_REPEAT_DELAY = 1000;
 	
+	/**
+	 * The delay in milliseconds between checks whether a paused task got unpaused.
+	 */
+	private static final int PAUSE_CHECK_DELAY = 2000;
+	
+	/**
+	 * The delay in milliseconds between checks whether a task waiting on its worker for a future got cancelled.
+	 */
+	private static final int AWAIT_CHECK_DELAY = 100;
+	
 	/**
 	 * The task properties.
 	 */
@@ -35,7 +61,7 @@ public abstract class Task implements Runnable {
 	/**
 	 * The task attributes.
 	 */
-	private final Attributes attributes;
+	private final IAttributes attributes;
 	
 	/**
 	 * The name of the task.
@@ -45,22 +71,22 @@ public abstract class Task implements Runnable {
 	/**
 	 * The task start time.
 	 */
-	private long startTime;
+	private volatile long startTime;
 	
 	/**
 	 * The task timeout time.
 	 */
-	private long timeout;
+	private volatile long timeout;
 	
 	/**
 	 * The current state of the task.
 	 */
-	private TaskState state;
+	private volatile TaskState state;
 	
 	/**
-	 * The current status of the task.
+	 * The current status of the task, a string or a status message formatted once it's read.
 	 */
-	private String status;
+	private volatile Object status;
 	
 	/**
 	 * The repeat delay.
@@ -72,6 +98,66 @@ public abstract class Task implements Runnable {
 	 */
 	private int attempts;
 	
+	/**
+	 * The task's position on the timeout wheel.
+	 */
+	TimeoutWheel.Entry timeoutEntry;
+	
+	/**
+	 * The completion of the current run.
+	 */
+	private volatile CompletableFuture<TaskState> completion;
+	
+	/**
+	 * Whether the task is being run or not.
+	 */
+	private volatile boolean running;
+	
+	/**
+	 * The scheduling rank of the current submission, lower ranks run first.
+	 */
+	private volatile long rank;
+	
+	/**
+	 * Whether the task released its worker between iterations and resumes on its next run or not.
+	 */
+	private volatile boolean suspended;
+	
+	/**
+	 * Whether the task released its worker to wait for a permit of its rate limit or not.
+	 */
+	private volatile boolean throttled;
+	
+	/**
+	 * Whether the task continues the attempt it started on its previous execution or not.
+	 */
+	private boolean continuing;
+	
+	/**
+	 * The future the current attempt continues after, null when continuing after the continue delay.
+	 */
+	private volatile CompletableFuture<?> awaiting;
+	
+	/**
+	 * The maximum time in milliseconds the current attempt waits for the awaited future.
+	 */
+	private volatile long awaitTimeout;
+	
+	/**
+	 * Holds the subscriptions following the task's state and status.
+	 */
+	private final List<TaskSubscription> subscriptions = new CopyOnWriteArrayList<>();
+	
+	/**
+	 * The metrics of the task class.
+	 */
+	private final ExecutionMetrics metrics;
+	
+	/**
+	 * The time in nanoseconds the task got last dispatched to the executor, 0 once its run started.
+	 */
+	private volatile long submitTime;
+	
 	
 	/**
 	 * Creates a new task.
@@ -90,10 +176,12 @@ public abstract class Task implements Runnable {
 		this.state = TaskState.IN_QUEUE;
 		this.status = "In queue";
 		this.repeatDelay = DEFAULT_REPEAT_DELAY;
-		this.attributes = new Attributes();
+		this.attributes = new ConcurrentAttributes();
 		this.props = new ArrayList<>();
 		this.startTime = 0L;
 		this.timeout = DEFAULT_TASK_TIMEOUT;
+		this.completion = new CompletableFuture<>();
+		this.metrics = Metrics.forTask(getClass());
 	}
 	
 	/**
@@ -114,21 +202,152 @@ public abstract class Task implements Runnable {
 	
 	@Override
 	public void run() {
-		if (!preConditionsMet()) {
-			setState(TaskState.ERROR);
-			return;
-		}
-		onStart();
+		running = true;
+		
+		long runStart = System.nanoTime();
+		long dispatchTime = submitTime;
 		
+		if (dispatchTime > 0L) {
+			submitTime = 0L;
+			metrics.recordQueueWait(runStart - dispatchTime);
+		}
 		try {
-			while (!handleTask()) {
-				refreshStartTime();
-				Misc.sleep(getRepeatDelay());
+			if (suspended) {
+				suspended = false;
+				
+			} else {
+				continuing = false;
+				
+				if (!preConditionsMet()) {
+					setState(TaskState.ERROR);
+					return;
+				}
+				onStart();
+			}
+			throttled = false;
+			
+			try {
+				while (true) {
+					long permitDelay = awaitPermit();
+					
+					if (permitDelay > 0L) {
+						refreshStartTime();
+						
+						if (release(permitDelay)) {
+							throttled = true;
+							return;
+						}
+						Misc.sleep(permitDelay);
+						continue;
+					}
+					if (handleTask()) {
+						break;
+					}
+					refreshStartTime();
+					
+					CompletableFuture<?> future = continuing ? awaiting : null;
+					
+					if (Objects.nonNull(future)) {
+						if (future.isDone()) {
+							continue;
+						}
+						if (release(awaitTimeout)) {
+							//Resumed by the future, or by the timer once the wait timed out
+							future.whenComplete((result, throwable) -> TaskManager.wake(this));
+							return;
+						}
+						await(future, awaitTimeout);
+						continue;
+					}
+					
+					int delay = getState() == TaskState.PAUSED ? PAUSE_CHECK_DELAY 
+							: continuing ? getContinueDelay() : getRepeatDelay();
+					
+					if (release(delay)) {
+						return;
+					}
+					Misc.sleep(delay);
+				}
+			} catch (Exception ex) {
+				ex.printStackTrace();
+			}
+			onFinish();
+			
+		} finally {
+			running = false;
+			metrics.recordRun(System.nanoTime() - runStart);
+			
+			if (!suspended) {
+				metrics.recordCompletion(getState());
+				TaskManager.getTimeoutWheel().cancel(this);
+				completion.complete(getState());
+			}
+		}
+	}
+	
+	/**
+	 * Releases the worker for a given delay when allowed, the task manager runs the task again once the delay passed.
+	 * 
+	 * @param delay The delay in milliseconds.
+	 * 
+	 * @return Whether the worker got released or not.
+	 */
+	private boolean release(long delay) {
+		if (delay <= 0L || !TaskConfig.getConfig().isReleaseWorkers() || !TaskManager.suspend(this, delay)) {
+			return false;
+		}
+		//Keeps its rank, so the resumed task goes ahead of newer submissions
+		suspended = true;
+		return true;
+	}
+	
+	/**
+	 * Waits on the worker for a future to complete, stops waiting early when the task gets cancelled.
+	 * 
+	 * @param future The future.
+	 * 
+	 * @param timeout The maximum time in milliseconds to wait.
+	 */
+	private void await(CompletableFuture<?> future, long timeout) {
+		long deadline = System.currentTimeMillis() + Math.min(timeout, Long.MAX_VALUE / 2L);
+		
+		while (!future.isDone() && getState() != TaskState.CANCEL) {
+			long remaining = deadline - System.currentTimeMillis();
+			
+			if (remaining <= 0L) {
+				return;
+			}
+			try {
+				future.get(Math.min(remaining, AWAIT_CHECK_DELAY), TimeUnit.MILLISECONDS);
+				
+			} catch (TimeoutException ex) {
+				//Checks whether the task got cancelled meanwhile
+				
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				return;
+				
+			} catch (ExecutionException | CancellationException ex) {
+				return;
 			}
-		} catch (Exception ex) {
-			ex.printStackTrace();
 		}
-		onFinish();
+	}
+	
+	/**
+	 * Draws a permit of the rate limit before a new attempt starts.
+	 * Continued attempts, paused and cancelled tasks don't draw permits.
+	 * 
+	 * @return The delay in milliseconds before trying again, 0 when the permit got drawn or isn't required.
+	 */
+	private long awaitPermit() {
+		RateLimit rateLimit = getRateLimit();
+		
+		if (Objects.isNull(rateLimit) || continuing 
+				|| getState() == TaskState.PAUSED || getState() == TaskState.CANCEL) {
+			return 0L;
+		}
+		long wait = TaskManager.acquirePermit(rateLimit);
+		return wait <= 0L ? 0L : Math.max(1L, TimeUnit.NANOSECONDS.toMillis(wait + 999999L));
 	}
 	
 	/**
@@ -141,7 +360,7 @@ public abstract class Task implements Runnable {
 	/**
 	 * Attempts to execute the task.
 	 * 
-	 * @return The task state.
+	 * @return The task state, {@link TaskState#CONTINUE} to continue the attempt after the continue delay.
 	 * 
 	 * @throws Exception
 	 */
@@ -153,33 +372,45 @@ public abstract class Task implements Runnable {
 	 * @return Whether the task finished execution or not.
 	 */
 	public boolean handleTask() {
+		awaiting = null;
+		
 		if (getState() == TaskState.CANCEL) {
 			return true;
 		}
 		if (getState() == TaskState.PAUSED) {
-			Misc.sleep(2000);
 			return false;
 		}
-		attempts++;
-		setState(TaskState.RUNNING);
-		setStatus("Running");
+		if (continuing) {
+			continuing = false;
+			
+		} else {
+			attempts++;
+			metrics.recordAttempt();
+			setState(TaskState.RUNNING);
+			setStatus("Running");
+			setStatus("Executing %s", getName());
+		}
 		TaskState respState = TaskState.RUNNING;
 		
 		try {
-			setStatus("Executing " + getName());
 			respState = executeTask();
 
 		} catch (Exception ex) {
 			ex.printStackTrace();
 			respState = TaskState.EXCEPTION;
 		}
-		setStatus("Finished with response [" + respState.getName() + ": " + getStatus() + "]");
+		if (respState == TaskState.CONTINUE && getState() != TaskState.CANCEL) {
+			continuing = true;
+			return false;
+		}
+		setStatus("Finished with response [%s: %s]", respState.getName(), getStatusValue());
 		
 		if (respState == TaskState.CANCEL || getState() == TaskState.CANCEL) {
 			setState(TaskState.FINISHED);
 			return true;
 		}
 		if (respState == TaskState.RETRY) {
+			metrics.recordRetry();
 			setState(TaskState.IN_QUEUE);
 			onStart();
 			return false;
@@ -212,6 +443,76 @@ public abstract class Task implements Runnable {
 		return false;
 	}
 	
+	/**
+	 * Prepares the completion for a new submission of the task.
+	 * The current completion is kept while the previous submission didn't complete yet.
+	 * 
+	 * @return The completion.
+	 */
+	public synchronized CompletableFuture<TaskState> prepareSubmission() {
+		if (completion.isDone()) {
+			completion = new CompletableFuture<>();
+			rank = 0L;
+			suspended = false;
+		}
+		if (rank == 0L) {
+			submitTime = System.nanoTime();
+			rank = System.currentTimeMillis() - (long)getPriority().getLevel() * TaskConfig.getConfig().getPriorityAging();
+			
+		} else if (suspended && submitTime == 0L) {
+			//Resumed after releasing its worker
+			submitTime = System.nanoTime();
+		}
+		return completion;
+	}
+	
+	/**
+	 * Retrieves the scheduling rank of the current submission, lower ranks run first.
+	 * The rank is the submission time minus the waiting time the task's priority is worth,
+	 * so that lower priority tasks eventually overtake newer higher priority tasks.
+	 * 
+	 * @return The rank, 0 when not submitted.
+	 */
+	public long getRank() {
+		return rank;
+	}
+	
+	/**
+	 * Retrieves the completion of the current run, completed with the final state once the run ends.
+	 * 
+	 * @return The completion.
+	 */
+	public CompletableFuture<TaskState> getCompletion() {
+		return completion;
+	}
+	
+	/**
+	 * Retrieves whether the task released its worker to wait for a permit of its rate limit or not.
+	 * 
+	 * @return The result.
+	 */
+	public boolean isThrottled() {
+		return throttled;
+	}
+	
+	/**
+	 * Retrieves whether the task released its worker between iterations or not.
+	 * 
+	 * @return The result.
+	 */
+	public boolean isSuspended() {
+		return suspended;
+	}
+	
+	/**
+	 * Retrieves whether the task is being run or not.
+	 * 
+	 * @return The result.
+	 */
+	boolean isRunning() {
+		return running;
+	}
+	
 	/**
 	 * Resets the task.
 	 */
@@ -233,6 +534,7 @@ public abstract class Task implements Runnable {
 	 */
 	public Task setTimeout(long timeout) {
 		this.timeout = timeout;
+		TaskManager.getTimeoutWheel().schedule(this);
 		return this;
 	}
 	
@@ -243,9 +545,24 @@ public abstract class Task implements Runnable {
 	 */
 	protected Task refreshStartTime() {
 		this.startTime = System.currentTimeMillis();
+		TaskManager.getTimeoutWheel().schedule(this);
 		return this;
 	}
 	
+	/**
+	 * Retrieves the time at which the task times out.
+	 * 
+	 * @return The deadline, 0 when not started.
+	 */
+	long getDeadline() {
+		long startTime = this.startTime;
+		
+		if (startTime <= 0L) {
+			return 0L;
+		}
+		return timeout > Long.MAX_VALUE - startTime ? Long.MAX_VALUE : startTime + timeout;
+	}
+	
 	/**
 	 * Retrieves whether the task timed out or not.
 	 * 
@@ -263,6 +580,7 @@ public abstract class Task implements Runnable {
 	 */
 	public Task cancel() {
 		setState(TaskState.CANCEL);
+		TaskManager.signal(this);
 		return this;
 	}
 	
@@ -309,7 +627,12 @@ public abstract class Task implements Runnable {
 	 * @return The task.
 	 */
 	protected Task setState(TaskState state) {
+		TaskState previous = this.state;
 		this.state = state;
+		
+		if (previous != state) {
+			notifyListeners();
+		}
 		return this;
 	}
 	
@@ -340,26 +663,146 @@ public abstract class Task implements Runnable {
 	 * @return Whether the status changed or not.
 	 */
 	public boolean setStatus(String status) {
-		if (getStatus().equals(status)) {
+		return updateStatus(status);
+	}
+	
+	/**
+	 * Modifies the current task status, only formatting the message once the status is read.
+	 * 
+	 * @param template The template, using %s as placeholder for the arguments.
+	 * 
+	 * @param args The arguments.
+	 * 
+	 * @return Whether the status changed or not.
+	 */
+	public boolean setStatus(String template, Object... args) {
+		return updateStatus(new StatusMessage(template, args));
+	}
+	
+	/**
+	 * Modifies the current task status.
+	 * 
+	 * @param status The new status, a string or a status message.
+	 * 
+	 * @return Whether the status changed or not.
+	 */
+	private boolean updateStatus(Object status) {
+		Object current = getStatusValue();
+		
+		if (Objects.nonNull(status) && current.getClass() == status.getClass() && current.equals(status)) {
 			return false;
 		}
 		this.status = status;
 		
 		if (!hasProperty(TaskProperty.DAEMON) || TaskConfig.getConfig().isDebug()) {
-			System.out.println("[" + getName() + "][" + getState().getName() + "]: " + status);
+			StatusLog.publish(getName(), getState(), status);
 		}
+		notifyListeners();
 		return true;
 	}
 	
+	/**
+	 * Notifies the subscriptions following the task and all tasks about a change.
+	 */
+	private void notifyListeners() {
+		if (!subscriptions.isEmpty()) {
+			for (TaskSubscription subscription : subscriptions) {
+				subscription.signal(this);
+			}
+		}
+		TaskManager.notifyListeners(this);
+	}
+	
+	/**
+	 * Subscribes a listener to the task's state and status changes.
+	 * 
+	 * @param listener The listener.
+	 * 
+	 * @return The subscription.
+	 */
+	public TaskSubscription subscribe(ITaskListener listener) {
+		return subscribe(listener, null);
+	}
+	
+	/**
+	 * Subscribes a listener to the task's state and status changes.
+	 * 
+	 * @param listener The listener.
+	 * 
+	 * @param executor The executor notifying the listener, null for the default executor.
+	 * 
+	 * @return The subscription.
+	 */
+	public TaskSubscription subscribe(ITaskListener listener, Executor executor) {
+		return new TaskSubscription(listener, executor, subscriptions);
+	}
+	
 	/**
 	 * Retrieves the task's status.
 	 * 
 	 * @return The status.
 	 */
 	public String getStatus() {
+		return getStatusValue().toString();
+	}
+	
+	/**
+	 * Retrieves the task's status without formatting it.
+	 * 
+	 * @return The status, a string or a status message.
+	 */
+	protected Object getStatusValue() {
 		return Objects.isNull(status) ? "" : status;
 	}
 	
+	/**
+	 * Continues the current attempt once a stage completes rather than after the continue delay.
+	 * The worker gets released meanwhile when allowed, otherwise it waits for the stage.
+	 * 
+	 * @param stage The stage.
+	 * 
+	 * @return The state to respond with.
+	 */
+	protected TaskState continueAfter(CompletionStage<?> stage) {
+		return continueAfter(stage, Long.MAX_VALUE);
+	}
+	
+	/**
+	 * Continues the current attempt once a stage completes or a timeout passed rather than after the continue delay.
+	 * The worker gets released meanwhile when allowed, otherwise it waits for the stage.
+	 * 
+	 * @param stage The stage.
+	 * 
+	 * @param timeout The maximum time in milliseconds to wait for the stage.
+	 * 
+	 * @return The state to respond with.
+	 */
+	protected TaskState continueAfter(CompletionStage<?> stage, long timeout) {
+		awaitTimeout = Math.max(1L, timeout);
+		awaiting = stage.toCompletableFuture();
+		return TaskState.CONTINUE;
+	}
+	
+	/**
+	 * Retrieves whether the task continues after a future that completed already or not.
+	 * 
+	 * @return The result.
+	 */
+	public boolean isAwaitDone() {
+		CompletableFuture<?> future = awaiting;
+		return Objects.nonNull(future) && future.isDone();
+	}
+	
+	/**
+	 * Retrieves the delay in milliseconds before continuing an attempt 
+	 * after the task responded with {@link TaskState#CONTINUE}.
+	 * 
+	 * @return The delay.
+	 */
+	protected int getContinueDelay() {
+		return 0;
+	}
+	
 	/**
 	 * Modifies the repeat delay of the task.
 	 * 
@@ -418,7 +861,7 @@ public abstract class Task implements Runnable {
 	 * 
 	 * @return The attributes.
 	 */
-	protected Attributes getAttributes() {
+	protected IAttributes getAttributes() {
 		return attributes;
 	}
 	
@@ -440,6 +883,26 @@ public abstract class Task implements Runnable {
 		return TaskPolicy.DEFAULT;
 	}
 	
+	/**
+	 * Retrieves the task priority.
+	 * 
+	 * @return The task priority.
+	 */
+	public TaskPriority getPriority() {
+		return TaskPriority.NORMAL;
+	}
+	
+	/**
+	 * Retrieves the rate limit the attempts of this task are subject to.
+	 * Tasks sharing the rate limit key draw from the same bucket, every attempt draws a permit when it starts
+	 * and the worker is released while no permit is available.
+	 * 
+	 * @return The rate limit, null when unlimited.
+	 */
+	public RateLimit getRateLimit() {
+		return null;
+	}
+	
 	@Override
 	public String toString() {
 		return getName();
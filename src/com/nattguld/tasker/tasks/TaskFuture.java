@@ -1,6 +1,7 @@
 package com.nattguld.tasker.tasks;
 
 import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 
 /**
  * 
@@ -10,11 +11,42 @@ import java.util.concurrent.FutureTask;
 
 public class TaskFuture<V> extends FutureTask<V> {
 	
+	/**
+	 * The future isn't tracked as waiting for a worker.
+	 */
+	private static final int UNTRACKED = 0;
+	
+	/**
+	 * The future waits for a worker.
+	 */
+	private static final int QUEUED = 1;
+	
+	/**
+	 * A worker claimed the future.
+	 */
+	private static final int CLAIMED = 2;
+	
+	/**
+	 * Updates the queue state.
+	 */
+	@SuppressWarnings("rawtypes")
+	private static final AtomicIntegerFieldUpdater<TaskFuture> QUEUE_STATE = AtomicIntegerFieldUpdater.newUpdater(TaskFuture.class, "queueState");
+	
 	/**
 	 * The task.
 	 */
 	private final Task task;
 	
+	/**
+	 * Whether the executor rejected the future or not.
+	 */
+	private volatile boolean rejected;
+	
+	/**
+	 * Whether the future waits for a worker of an executor tracking it or not.
+	 */
+	private volatile int queueState = UNTRACKED;
+	
 	
 	/**
 	 * Creates a new task future.
@@ -29,6 +61,54 @@ public class TaskFuture<V> extends FutureTask<V> {
 		this.task = task;
 	}
 	
+	@Override
+	protected void done() {
+		if (isCancelled() && !task.isRunning()) {
+			task.getCompletion().complete(task.getState());
+		}
+	}
+	
+	/**
+	 * Marks the future as rejected by its executor.
+	 */
+	public void reject() {
+		this.rejected = true;
+	}
+	
+	/**
+	 * Retrieves whether the executor rejected the future or not.
+	 * 
+	 * @return The result.
+	 */
+	public boolean isRejected() {
+		return rejected;
+	}
+	
+	/**
+	 * Marks the future as waiting for a worker, for executors that don't keep their queue.
+	 */
+	void enqueue() {
+		queueState = QUEUED;
+	}
+	
+	/**
+	 * Claims the future for the current worker.
+	 * 
+	 * @return Whether the future got claimed, false when it was claimed already or isn't tracked.
+	 */
+	boolean claim() {
+		return QUEUE_STATE.compareAndSet(this, QUEUED, CLAIMED);
+	}
+	
+	/**
+	 * Retrieves whether the future waits for a worker of an executor tracking it or not.
+	 * 
+	 * @return The result.
+	 */
+	public boolean isQueued() {
+		return queueState == QUEUED && !rejected && !isDone();
+	}
+	
 	/**
 	 * Retrieves the task.
 	 * 
@@ -1,6 +1,8 @@
 package com.nattguld.tasker.tasks;
 
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Future;
 import java.util.concurrent.RejectedExecutionHandler;
 import java.util.concurrent.RunnableFuture;
 import java.util.concurrent.ThreadPoolExecutor;
@@ -12,12 +14,17 @@ import java.util.concurrent.TimeUnit;
  *
  */
 
-public class TaskPoolExecutor extends ThreadPoolExecutor {
+public class TaskPoolExecutor extends ThreadPoolExecutor implements ITaskExecutor {
 
 	/**
 	 * The maximum queue size.
 	 */
-	private final int maxQueueSize;
+	private volatile int maxQueueSize;
+	
+	/**
+	 * The execution listener.
+	 */
+	private final IExecutionListener executionListener;
 	
 	
 	/**
@@ -32,9 +39,44 @@ public class TaskPoolExecutor extends ThreadPoolExecutor {
 	 * @param rejectionHandler The task rejection handler.
 	 */
 	public TaskPoolExecutor(int corePoolSize, int maxPoolSize, int maxQueueSize, RejectedExecutionHandler rejectionHandler) {
-		super(corePoolSize, maxPoolSize, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(maxQueueSize), rejectionHandler);
+		this(corePoolSize, maxPoolSize, maxQueueSize, rejectionHandler, null);
+	}
+	
+	/**
+	 * Creates a new task pool executor.
+	 * 
+	 * @param corePoolSize The core pool size.
+	 * 
+	 * @param maxPoolSize The maximum pool size.
+	 * 
+	 * @param maxQueueSize The maximum queue size.
+	 * 
+	 * @param rejectionHandler The task rejection handler.
+	 * 
+	 * @param executionListener The execution listener.
+	 */
+	public TaskPoolExecutor(int corePoolSize, int maxPoolSize, int maxQueueSize, RejectedExecutionHandler rejectionHandler, IExecutionListener executionListener) {
+		this(corePoolSize, maxPoolSize, new PriorityTaskQueue(maxQueueSize), rejectionHandler, executionListener);
+	}
+	
+	/**
+	 * Creates a new task pool executor.
+	 * 
+	 * @param corePoolSize The core pool size.
+	 * 
+	 * @param maxPoolSize The maximum pool size.
+	 * 
+	 * @param queue The work queue.
+	 * 
+	 * @param rejectionHandler The task rejection handler.
+	 * 
+	 * @param executionListener The execution listener.
+	 */
+	public TaskPoolExecutor(int corePoolSize, int maxPoolSize, BlockingQueue<Runnable> queue, RejectedExecutionHandler rejectionHandler, IExecutionListener executionListener) {
+		super(corePoolSize, maxPoolSize, 60L, TimeUnit.SECONDS, queue, rejectionHandler);
 		
-		this.maxQueueSize = maxQueueSize;
+		this.maxQueueSize = queue.remainingCapacity();
+		this.executionListener = executionListener;
 	}
 	
 	@Override
@@ -42,13 +84,70 @@ public class TaskPoolExecutor extends ThreadPoolExecutor {
 		return (RunnableFuture<V>)new TaskFuture<V>((Task)runnable, result);   
     }
 	
+	@Override
+	protected void beforeExecute(Thread thread, Runnable runnable) {
+		super.beforeExecute(thread, runnable);
+		
+		if (Objects.nonNull(executionListener) && runnable instanceof TaskFuture) {
+			executionListener.onStart(((TaskFuture<?>)runnable).getTask());
+		}
+	}
+	
+	@Override
+	protected void afterExecute(Runnable runnable, Throwable throwable) {
+		super.afterExecute(runnable, throwable);
+		
+		if (Objects.nonNull(executionListener) && runnable instanceof TaskFuture) {
+			executionListener.onCompletion(((TaskFuture<?>)runnable).getTask());
+		}
+	}
+	
+	@Override
+	public int getQueuedCount() {
+		return getQueue().size();
+	}
+	
+	@Override
+	public boolean isQueued(Future<?> future) {
+		return getQueue().contains(future);
+	}
+	
 	/**
 	 * Retrieves the maximum queue size.
 	 * 
 	 * @return The maximum queue size.
 	 */
+	@Override
 	public int getMaxQueueSize() {
 		return maxQueueSize;
 	}
- 
+	
+	@Override
+	public void setMaxQueueSize(int maxQueueSize) {
+		if (!(getQueue() instanceof PriorityTaskQueue)) {
+			throw new UnsupportedOperationException("The work queue of this executor can't be resized");
+		}
+		((PriorityTaskQueue)getQueue()).setCapacity(maxQueueSize);
+		this.maxQueueSize = maxQueueSize;
+	}
+	
+	/**
+	 * Modifies the maximum pool size, moving the core pool size along when needed.
+	 * Fixed size pools keep their core pool size equal to the maximum so they grow right away.
+	 */
+	@Override
+	public synchronized void setMaximumPoolSize(int maxPoolSize) {
+		int corePoolSize = getCorePoolSize();
+		boolean fixed = corePoolSize == getMaximumPoolSize();
+		
+		if (maxPoolSize < corePoolSize) {
+			setCorePoolSize(maxPoolSize);
+		}
+		super.setMaximumPoolSize(maxPoolSize);
+		
+		if (fixed && maxPoolSize > corePoolSize) {
+			setCorePoolSize(maxPoolSize);
+		}
+	}
+	
 }
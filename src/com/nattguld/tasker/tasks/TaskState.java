@@ -15,7 +15,8 @@ public enum TaskState {
 	CANCEL("Cancelling"),
 	FINISHED("Finished"),
 	EXCEPTION("Exception"),
-	RETRY("Retry");
+	RETRY("Retry"),
+	CONTINUE("Continuing");
 	
 	
 	/**
@@ -0,0 +1,151 @@
+package com.nattguld.tasker.tasks;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.nattguld.tasker.util.ConcurrentLinkedSet;
+
+/**
+ * 
+ * @author randqm
+ *
+ */
+
+public class TaskSubscription {
+	
+	/**
+	 * The executor notifying listeners by default.
+	 */
+	private static final ExecutorService DEFAULT_EXECUTOR = Executors.newCachedThreadPool(new ThreadFactory() {
+		@Override
+		public Thread newThread(Runnable runnable) {
+			Thread thread = new Thread(runnable, "Task Listener");
+			thread.setDaemon(true);
+			return thread;
+		}
+	});
+	
+	/**
+	 * The listener.
+	 */
+	private final ITaskListener listener;
+	
+	/**
+	 * The executor notifying the listener.
+	 */
+	private final Executor executor;
+	
+	/**
+	 * The subscriptions this subscription belongs to.
+	 */
+	private final Collection<TaskSubscription> owner;
+	
+	/**
+	 * Holds the tasks that changed since the listener got notified about them.
+	 */
+	private final ConcurrentLinkedSet<Task> pending = new ConcurrentLinkedSet<>();
+	
+	/**
+	 * Whether a notification run is scheduled or not.
+	 */
+	private final AtomicBoolean scheduled = new AtomicBoolean();
+	
+	/**
+	 * Whether the subscription got cancelled or not.
+	 */
+	private volatile boolean cancelled;
+	
+	
+	/**
+	 * Creates a new subscription and adds it to its owner.
+	 * 
+	 * @param listener The listener.
+	 * 
+	 * @param executor The executor notifying the listener, null for the default executor.
+	 * 
+	 * @param owner The subscriptions this subscription belongs to.
+	 */
+	public TaskSubscription(ITaskListener listener, Executor executor, Collection<TaskSubscription> owner) {
+		this.listener = Objects.requireNonNull(listener);
+		this.executor = Objects.isNull(executor) ? DEFAULT_EXECUTOR : executor;
+		this.owner = owner;
+		
+		owner.add(this);
+	}
+	
+	/**
+	 * Marks a task as changed and schedules a notification run when none is scheduled yet.
+	 * Never blocks the calling thread unless the executor runs the notifications directly.
+	 * 
+	 * @param task The task.
+	 */
+	public void signal(Task task) {
+		if (cancelled) {
+			return;
+		}
+		//A task left pending by a rejected run schedules again on its next change
+		if ((!pending.add(task) && scheduled.get()) || !scheduled.compareAndSet(false, true)) {
+			return;
+		}
+		try {
+			executor.execute(this::notifyListener);
+			
+		} catch (RejectedExecutionException ex) {
+			scheduled.set(false);
+		}
+	}
+	
+	/**
+	 * Notifies the listener about the latest state and status of the changed tasks.
+	 */
+	private void notifyListener() {
+		do {
+			Task task;
+			
+			while (!cancelled && Objects.nonNull(task = pending.poll())) {
+				try {
+					listener.onChange(task, task.getState(), task.getStatus());
+					
+				} catch (Exception ex) {
+					ex.printStackTrace();
+				}
+			}
+			scheduled.set(false);
+			
+		} while (!cancelled && !pending.isEmpty() && scheduled.compareAndSet(false, true));
+	}
+	
+	/**
+	 * Cancels the subscription.
+	 */
+	public void cancel() {
+		cancelled = true;
+		owner.remove(this);
+		pending.clear();
+	}
+	
+	/**
+	 * Retrieves whether the subscription got cancelled or not.
+	 * 
+	 * @return The result.
+	 */
+	public boolean isCancelled() {
+		return cancelled;
+	}
+	
+	/**
+	 * Retrieves the listener.
+	 * 
+	 * @return The listener.
+	 */
+	public ITaskListener getListener() {
+		return listener;
+	}
+	
+}
@@ -0,0 +1,424 @@
+package com.nattguld.tasker.tasks;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * 
+ * @author randqm
+ *
+ */
+
+public class TimeoutWheel {
+	
+	/**
+	 * The duration of a tick on the lowest wheel in milliseconds.
+	 */
+	private static final long TICK_MS = 1L;
+	
+	/**
+	 * The amount of buckets on each wheel.
+	 */
+	private static final int WHEEL_SIZE = 64;
+	
+	/**
+	 * The furthest deadline ahead in milliseconds that is tracked.
+	 */
+	private static final long MAX_HORIZON_MS = TICK_MS << 36;
+	
+	/**
+	 * The handler for expired tasks.
+	 */
+	private final Consumer<Task> expiryHandler;
+	
+	/**
+	 * The lock guarding the wheels.
+	 */
+	private final ReentrantLock lock = new ReentrantLock();
+	
+	/**
+	 * Signalled when an earlier bucket became pending.
+	 */
+	private final Condition available = lock.newCondition();
+	
+	/**
+	 * Holds the non-empty buckets ordered by expiration.
+	 */
+	private final PriorityQueue<Bucket> pending = new PriorityQueue<>(Comparator.comparingLong(b -> b.expiration));
+	
+	/**
+	 * The lowest wheel.
+	 */
+	private final Wheel root;
+	
+	/**
+	 * The thread advancing the wheels.
+	 */
+	private final Thread thread;
+	
+	/**
+	 * Whether the wheel is running or not.
+	 */
+	private volatile boolean running = true;
+	
+	
+	/**
+	 * Creates a new timeout wheel.
+	 * 
+	 * @param expiryHandler The handler for expired tasks.
+	 */
+	public TimeoutWheel(Consumer<Task> expiryHandler) {
+		this.expiryHandler = expiryHandler;
+		this.root = new Wheel(TICK_MS, System.currentTimeMillis());
+		this.thread = new Thread(this::process, "Task Timeout Wheel");
+		
+		thread.setDaemon(true);
+		thread.start();
+	}
+	
+	/**
+	 * Registers or updates the deadline of a task.
+	 * 
+	 * @param task The task.
+	 */
+	public void schedule(Task task) {
+		long deadline = task.getDeadline();
+		
+		if (deadline <= 0L || deadline - System.currentTimeMillis() > MAX_HORIZON_MS) {
+			return;
+		}
+		boolean expired = false;
+		lock.lock();
+		
+		try {
+			Entry entry = task.timeoutEntry;
+			
+			if (Objects.nonNull(entry)) {
+				if (entry.expiration <= deadline + TICK_MS) {
+					//Fires before the new deadline and gets rescheduled from there
+					return;
+				}
+				entry.unlink();
+				
+			} else {
+				entry = new Entry(task);
+				task.timeoutEntry = entry;
+			}
+			entry.expiration = deadline + TICK_MS;
+			
+			if (!root.add(entry)) {
+				task.timeoutEntry = null;
+				expired = true;
+			}
+		} finally {
+			lock.unlock();
+		}
+		if (expired) {
+			expiryHandler.accept(task);
+		}
+	}
+	
+	/**
+	 * Stops tracking the deadline of a task.
+	 * 
+	 * @param task The task.
+	 */
+	public void cancel(Task task) {
+		lock.lock();
+		
+		try {
+			Entry entry = task.timeoutEntry;
+			
+			if (Objects.nonNull(entry)) {
+				entry.unlink();
+				task.timeoutEntry = null;
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+	
+	/**
+	 * Advances the wheels as buckets expire.
+	 */
+	private void process() {
+		List<Task> expired = new ArrayList<>();
+		
+		while (running) {
+			lock.lock();
+			
+			try {
+				Bucket bucket = pending.peek();
+				
+				if (Objects.isNull(bucket)) {
+					available.await();
+					continue;
+				}
+				long delay = bucket.expiration - System.currentTimeMillis();
+				
+				if (delay > 0L) {
+					available.await(delay, TimeUnit.MILLISECONDS);
+					continue;
+				}
+				pending.poll();
+				root.advance(bucket.expiration);
+				bucket.expiration = -1L;
+				
+				for (Entry entry = bucket.poll(); Objects.nonNull(entry); entry = bucket.poll()) {
+					long deadline = entry.task.getDeadline();
+					
+					if (deadline <= 0L) {
+						entry.task.timeoutEntry = null;
+						continue;
+					}
+					entry.expiration = deadline + TICK_MS;
+					
+					if (!root.add(entry)) {
+						entry.task.timeoutEntry = null;
+						expired.add(entry.task);
+					}
+				}
+			} catch (InterruptedException ex) {
+				return;
+				
+			} finally {
+				lock.unlock();
+			}
+			for (Task task : expired) {
+				try {
+					expiryHandler.accept(task);
+					
+				} catch (Exception ex) {
+					ex.printStackTrace();
+				}
+			}
+			expired.clear();
+		}
+	}
+	
+	/**
+	 * Stops the wheel.
+	 */
+	public void dispose() {
+		running = false;
+		thread.interrupt();
+	}
+	
+	
+	/**
+	 * A wheel level with buckets spanning a tick each.
+	 */
+	private final class Wheel {
+		
+		/**
+		 * The duration of a tick in milliseconds.
+		 */
+		private final long tickMs;
+		
+		/**
+		 * The time span covered by the wheel.
+		 */
+		private final long interval;
+		
+		/**
+		 * The buckets.
+		 */
+		private final Bucket[] buckets;
+		
+		/**
+		 * The current time rounded down to the tick.
+		 */
+		private long currentTime;
+		
+		/**
+		 * The wheel covering the deadlines beyond this wheel's interval.
+		 */
+		private Wheel overflow;
+		
+		
+		/**
+		 * Creates a new wheel.
+		 * 
+		 * @param tickMs The duration of a tick in milliseconds.
+		 * 
+		 * @param startMs The start time.
+		 */
+		private Wheel(long tickMs, long startMs) {
+			this.tickMs = tickMs;
+			this.interval = tickMs * WHEEL_SIZE;
+			this.buckets = new Bucket[WHEEL_SIZE];
+			this.currentTime = startMs - (startMs % tickMs);
+			
+			for (int i = 0; i < buckets.length; i++) {
+				buckets[i] = new Bucket();
+			}
+		}
+		
+		/**
+		 * Adds an entry to the wheel.
+		 * 
+		 * @param entry The entry.
+		 * 
+		 * @return False when the entry already expired.
+		 */
+		private boolean add(Entry entry) {
+			if (entry.expiration < currentTime + tickMs) {
+				return false;
+			}
+			if (entry.expiration >= currentTime + interval) {
+				if (Objects.isNull(overflow)) {
+					overflow = new Wheel(interval, currentTime);
+				}
+				return overflow.add(entry);
+			}
+			long virtualId = entry.expiration / tickMs;
+			Bucket bucket = buckets[(int)(virtualId % WHEEL_SIZE)];
+			bucket.add(entry);
+			
+			if (bucket.expiration != virtualId * tickMs) {
+				bucket.expiration = virtualId * tickMs;
+				pending.offer(bucket);
+				
+				if (pending.peek() == bucket) {
+					available.signal();
+				}
+			}
+			return true;
+		}
+		
+		/**
+		 * Advances the wheel's clock.
+		 * 
+		 * @param timeMs The new time.
+		 */
+		private void advance(long timeMs) {
+			if (timeMs < currentTime + tickMs) {
+				return;
+			}
+			currentTime = timeMs - (timeMs % tickMs);
+			
+			if (Objects.nonNull(overflow)) {
+				overflow.advance(currentTime);
+			}
+		}
+		
+	}
+	
+	/**
+	 * A bucket holding the entries expiring within the same tick.
+	 */
+	private static final class Bucket {
+		
+		/**
+		 * The list sentinel.
+		 */
+		private final Entry sentinel = new Entry(null);
+		
+		/**
+		 * The expiration time of the bucket, -1 when not pending.
+		 */
+		private long expiration = -1L;
+		
+		
+		/**
+		 * Creates a new bucket.
+		 */
+		private Bucket() {
+			sentinel.prev = sentinel;
+			sentinel.next = sentinel;
+		}
+		
+		/**
+		 * Adds an entry.
+		 * 
+		 * @param entry The entry.
+		 */
+		private void add(Entry entry) {
+			entry.bucket = this;
+			entry.next = sentinel;
+			entry.prev = sentinel.prev;
+			sentinel.prev.next = entry;
+			sentinel.prev = entry;
+		}
+		
+		/**
+		 * Removes the first entry.
+		 * 
+		 * @return The entry.
+		 */
+		private Entry poll() {
+			Entry entry = sentinel.next;
+			
+			if (entry == sentinel) {
+				return null;
+			}
+			entry.unlink();
+			return entry;
+		}
+		
+	}
+	
+	/**
+	 * A task's position on the wheel.
+	 */
+	static final class Entry {
+		
+		/**
+		 * The task.
+		 */
+		private final Task task;
+		
+		/**
+		 * The time at which the entry fires.
+		 */
+		private long expiration;
+		
+		/**
+		 * The bucket holding the entry.
+		 */
+		private Bucket bucket;
+		
+		/**
+		 * The previous entry in the bucket.
+		 */
+		private Entry prev;
+		
+		/**
+		 * The next entry in the bucket.
+		 */
+		private Entry next;
+		
+		
+		/**
+		 * Creates a new entry.
+		 * 
+		 * @param task The task.
+		 */
+		private Entry(Task task) {
+			this.task = task;
+		}
+		
+		/**
+		 * Unlinks the entry from its bucket.
+		 */
+		private void unlink() {
+			if (Objects.isNull(bucket)) {
+				return;
+			}
+			prev.next = next;
+			next.prev = prev;
+			prev = null;
+			next = null;
+			bucket = null;
+		}
+		
+	}
+	
+}
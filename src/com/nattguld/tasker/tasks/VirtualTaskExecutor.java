@@ -0,0 +1,383 @@
+package com.nattguld.tasker.tasks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RunnableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Runs every task on a virtual thread of its own, requires Java 21 or newer.
+ * 
+ * @author randqm
+ *
+ */
+
+public class VirtualTaskExecutor extends AbstractExecutorService implements ITaskExecutor {
+	
+	/**
+	 * The thread factory creating a virtual thread per task, null when the runtime doesn't support virtual threads.
+	 */
+	private static final ThreadFactory THREAD_FACTORY = createThreadFactory();
+	
+	/**
+	 * The thread factory creating a thread per task.
+	 */
+	private final ThreadFactory threadFactory;
+	
+	/**
+	 * The permits limiting the amount of tasks executed in parallel, null when unbounded.
+	 */
+	private final Permits permits;
+	
+	/**
+	 * Holds the tasks waiting for a permit.
+	 */
+	private final PriorityTaskQueue queue;
+	
+	/**
+	 * The maximum queue size.
+	 */
+	private volatile int maxQueueSize;
+	
+	/**
+	 * The task rejection handler.
+	 */
+	private final Consumer<Runnable> rejectionHandler;
+	
+	/**
+	 * The execution listener.
+	 */
+	private final IExecutionListener executionListener;
+	
+	/**
+	 * Holds the threads executing tasks.
+	 */
+	private final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+	
+	/**
+	 * The amount of tasks being executed.
+	 */
+	private final AtomicInteger activeCount = new AtomicInteger();
+	
+	/**
+	 * The amount of tasks that finished execution.
+	 */
+	private final AtomicLong completedCount = new AtomicLong();
+	
+	/**
+	 * The maximum amount of tasks executed in parallel.
+	 */
+	private int maxParallel;
+	
+	/**
+	 * Whether the executor has been shut down or not.
+	 */
+	private volatile boolean shutdown;
+	
+	
+	/**
+	 * Creates a new virtual task executor.
+	 * 
+	 * @param maxParallel The maximum amount of tasks executed in parallel.
+	 * 
+	 * @param maxQueueSize The maximum queue size.
+	 * 
+	 * @param rejectionHandler The task rejection handler.
+	 * 
+	 * @param executionListener The execution listener.
+	 */
+	public VirtualTaskExecutor(int maxParallel, int maxQueueSize, Consumer<Runnable> rejectionHandler, IExecutionListener executionListener) {
+		this(virtualThreads(), true, maxParallel, maxQueueSize, rejectionHandler, executionListener);
+	}
+	
+	/**
+	 * Creates a new virtual task executor without a limit on parallel tasks, every task starts right away.
+	 * 
+	 * @param executionListener The execution listener.
+	 */
+	public VirtualTaskExecutor(IExecutionListener executionListener) {
+		this(virtualThreads(), false, Integer.MAX_VALUE, Integer.MAX_VALUE, runnable -> {
+			throw new RejectedExecutionException("Executor has been shut down");
+		}, executionListener);
+	}
+	
+	/**
+	 * Creates a new task executor running every task on a thread of its own.
+	 * 
+	 * @param threadFactory The thread factory creating a thread per task.
+	 * 
+	 * @param bounded Whether tasks wait for a permit or start right away.
+	 * 
+	 * @param maxParallel The maximum amount of tasks executed in parallel.
+	 * 
+	 * @param maxQueueSize The maximum queue size.
+	 * 
+	 * @param rejectionHandler The task rejection handler.
+	 * 
+	 * @param executionListener The execution listener.
+	 */
+	VirtualTaskExecutor(ThreadFactory threadFactory, boolean bounded, int maxParallel, int maxQueueSize, Consumer<Runnable> rejectionHandler, IExecutionListener executionListener) {
+		this.threadFactory = threadFactory;
+		this.permits = bounded ? new Permits(maxParallel) : null;
+		this.queue = new PriorityTaskQueue(maxQueueSize);
+		this.maxQueueSize = maxQueueSize;
+		this.rejectionHandler = rejectionHandler;
+		this.executionListener = executionListener;
+		this.maxParallel = maxParallel;
+	}
+	
+	@Override
+	protected <V> RunnableFuture<V> newTaskFor(Runnable runnable, V result) {
+		if (runnable instanceof Task) {
+			return new TaskFuture<V>((Task)runnable, result);
+		}
+		return super.newTaskFor(runnable, result);
+	}
+	
+	@Override
+	public void execute(Runnable runnable) {
+		if (Objects.isNull(permits) && !shutdown) {
+			//Nothing to wait for without a limit
+			threadFactory.newThread(() -> work(runnable)).start();
+			return;
+		}
+		if (shutdown || !queue.offer(runnable)) {
+			rejectionHandler.accept(runnable);
+			return;
+		}
+		dispatch();
+	}
+	
+	/**
+	 * Starts queued tasks while permits are available.
+	 */
+	private void dispatch() {
+		while (!queue.isEmpty() && permits.tryAcquire()) {
+			Runnable runnable = queue.poll();
+			
+			if (Objects.isNull(runnable)) {
+				permits.release();
+				continue;
+			}
+			try {
+				threadFactory.newThread(() -> work(runnable)).start();
+				
+			} catch (Throwable t) {
+				permits.release();
+				throw t;
+			}
+		}
+	}
+	
+	/**
+	 * Executes a task on the current thread.
+	 * 
+	 * @param runnable The task.
+	 */
+	private void work(Runnable runnable) {
+		Task task = runnable instanceof TaskFuture ? ((TaskFuture<?>)runnable).getTask() : null;
+		
+		threads.add(Thread.currentThread());
+		activeCount.incrementAndGet();
+		
+		try {
+			if (Objects.nonNull(task) && Objects.nonNull(executionListener)) {
+				executionListener.onStart(task);
+			}
+			runnable.run();
+			
+		} finally {
+			threads.remove(Thread.currentThread());
+			activeCount.decrementAndGet();
+			completedCount.incrementAndGet();
+			
+			if (Objects.nonNull(task) && Objects.nonNull(executionListener)) {
+				executionListener.onCompletion(task);
+			}
+			if (Objects.nonNull(permits)) {
+				permits.release();
+				dispatch();
+			}
+			if (isTerminated()) {
+				synchronized (this) {
+					notifyAll();
+				}
+			}
+		}
+	}
+	
+	@Override
+	public void shutdown() {
+		shutdown = true;
+	}
+	
+	@Override
+	public List<Runnable> shutdownNow() {
+		shutdown = true;
+		
+		List<Runnable> pending = new ArrayList<>();
+		queue.drainTo(pending);
+		
+		for (Thread thread : threads) {
+			thread.interrupt();
+		}
+		return pending;
+	}
+	
+	@Override
+	public boolean isShutdown() {
+		return shutdown;
+	}
+	
+	@Override
+	public boolean isTerminated() {
+		return shutdown && activeCount.get() <= 0 && queue.isEmpty();
+	}
+	
+	@Override
+	public synchronized boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+		long deadline = System.nanoTime() + unit.toNanos(timeout);
+		
+		while (!isTerminated()) {
+			long remaining = deadline - System.nanoTime();
+			
+			if (remaining <= 0L) {
+				return false;
+			}
+			TimeUnit.NANOSECONDS.timedWait(this, remaining);
+		}
+		return true;
+	}
+	
+	@Override
+	public int getQueuedCount() {
+		return queue.size();
+	}
+	
+	@Override
+	public boolean isQueued(Future<?> future) {
+		return queue.contains(future);
+	}
+	
+	@Override
+	public int getMaxQueueSize() {
+		return maxQueueSize;
+	}
+	
+	@Override
+	public void setMaxQueueSize(int maxQueueSize) {
+		queue.setCapacity(maxQueueSize);
+		this.maxQueueSize = maxQueueSize;
+	}
+	
+	@Override
+	public int getActiveCount() {
+		return activeCount.get();
+	}
+	
+	@Override
+	public synchronized int getMaximumPoolSize() {
+		return maxParallel;
+	}
+	
+	@Override
+	public synchronized void setMaximumPoolSize(int maxPoolSize) {
+		if (Objects.isNull(permits)) {
+			return;
+		}
+		if (maxPoolSize > maxParallel) {
+			permits.release(maxPoolSize - maxParallel);
+			
+		} else if (maxPoolSize < maxParallel) {
+			permits.reducePermits(maxParallel - maxPoolSize);
+		}
+		this.maxParallel = maxPoolSize;
+		
+		dispatch();
+	}
+	
+	@Override
+	public long getCompletedTaskCount() {
+		return completedCount.get();
+	}
+	
+	/**
+	 * Retrieves whether the runtime supports virtual threads or not.
+	 * 
+	 * @return The result.
+	 */
+	public static boolean isSupported() {
+		return Objects.nonNull(THREAD_FACTORY);
+	}
+	
+	/**
+	 * Retrieves the thread factory creating virtual threads.
+	 * 
+	 * @return The thread factory.
+	 * 
+	 * @throws UnsupportedOperationException When the runtime doesn't support virtual threads.
+	 */
+	private static ThreadFactory virtualThreads() {
+		if (!isSupported()) {
+			throw new UnsupportedOperationException("Virtual threads require Java 21 or newer");
+		}
+		return THREAD_FACTORY;
+	}
+	
+	/**
+	 * Creates a thread factory producing virtual threads when the runtime supports them.
+	 * 
+	 * @return The thread factory, null when the runtime doesn't support virtual threads.
+	 */
+	private static ThreadFactory createThreadFactory() {
+		try {
+			Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+			Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+			builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, "virtual-task-", 0L);
+			return (ThreadFactory)builderClass.getMethod("factory").invoke(builder);
+			
+		} catch (ReflectiveOperationException | RuntimeException ex) {
+			return null;
+		}
+	}
+	
+	
+	/**
+	 * A semaphore which permits can be reduced.
+	 */
+	private static final class Permits extends Semaphore {
+		
+		/**
+		 * The serial version UID.
+		 */
+		private static final long serialVersionUID = 1L;
+		
+		
+		/**
+		 * Creates new permits.
+		 * 
+		 * @param permits The amount of permits.
+		 */
+		private Permits(int permits) {
+			super(permits);
+		}
+		
+		@Override
+		protected void reducePermits(int reduction) {
+			super.reducePermits(reduction);
+		}
+		
+	}
+	
+}
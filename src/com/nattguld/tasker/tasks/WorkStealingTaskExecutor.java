@@ -0,0 +1,384 @@
+package com.nattguld.tasker.tasks;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RunnableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Executes tasks on a fork join pool, every worker takes from its own deque and steals from others when idle.
+ * Queued tasks run in submission order rather than by rank, only delayed tasks are promoted by rank.
+ * Admission checks striped counters rather than claiming room atomically,
+ * so concurrent submissions may briefly exceed the limits by the amount of submitting threads.
+ * 
+ * @author randqm
+ *
+ */
+
+public class WorkStealingTaskExecutor extends AbstractExecutorService implements ITaskExecutor {
+	
+	/**
+	 * The highest parallelism supported by a fork join pool.
+	 */
+	private static final int MAX_PARALLELISM = 0x7fff;
+	
+	/**
+	 * Modifies the parallelism of a fork join pool, null when the runtime doesn't support it (Java 19+).
+	 */
+	private static final Method SET_PARALLELISM = findSetParallelism();
+	
+	/**
+	 * Whether the missing resize support has been reported or not.
+	 */
+	private static volatile boolean resizeWarned;
+	
+	/**
+	 * The pool executing the tasks.
+	 */
+	private final Pool pool;
+	
+	/**
+	 * The task rejection handler.
+	 */
+	private final Consumer<Runnable> rejectionHandler;
+	
+	/**
+	 * The execution listener.
+	 */
+	private final IExecutionListener executionListener;
+	
+	/**
+	 * The amount of runnables waiting for a worker.
+	 */
+	private final LongAdder queuedCount = new LongAdder();
+	
+	/**
+	 * The amount of admitted runnables that didn't finish yet.
+	 */
+	private final LongAdder pending = new LongAdder();
+	
+	/**
+	 * The amount of tasks being executed.
+	 */
+	private final LongAdder activeCount = new LongAdder();
+	
+	/**
+	 * The amount of tasks that finished execution.
+	 */
+	private final LongAdder completedCount = new LongAdder();
+	
+	/**
+	 * The maximum amount of tasks executed in parallel.
+	 */
+	private volatile int maxParallel;
+	
+	/**
+	 * The maximum queue size.
+	 */
+	private volatile int maxQueueSize;
+	
+	
+	/**
+	 * Creates a new work stealing task executor.
+	 * 
+	 * @param maxParallel The maximum amount of tasks executed in parallel.
+	 * 
+	 * @param maxQueueSize The maximum queue size.
+	 * 
+	 * @param rejectionHandler The task rejection handler.
+	 * 
+	 * @param executionListener The execution listener.
+	 */
+	public WorkStealingTaskExecutor(int maxParallel, int maxQueueSize, Consumer<Runnable> rejectionHandler, IExecutionListener executionListener) {
+		this.pool = new Pool(Math.min(MAX_PARALLELISM, maxParallel));
+		this.maxParallel = maxParallel;
+		this.maxQueueSize = maxQueueSize;
+		this.rejectionHandler = rejectionHandler;
+		this.executionListener = executionListener;
+	}
+	
+	@Override
+	protected <V> RunnableFuture<V> newTaskFor(Runnable runnable, V result) {
+		if (runnable instanceof Task) {
+			return new TaskFuture<V>((Task)runnable, result);
+		}
+		return super.newTaskFor(runnable, result);
+	}
+	
+	@Override
+	public void execute(Runnable runnable) {
+		if (pool.isShutdown() || !admit()) {
+			rejectionHandler.accept(runnable);
+			return;
+		}
+		if (runnable instanceof TaskFuture) {
+			((TaskFuture<?>)runnable).enqueue();
+		}
+		queuedCount.increment();
+		
+		try {
+			pool.execute(new Job(runnable));
+			
+		} catch (RejectedExecutionException ex) {
+			if (runnable instanceof TaskFuture) {
+				((TaskFuture<?>)runnable).claim();
+			}
+			queuedCount.decrement();
+			pending.decrement();
+			rejectionHandler.accept(runnable);
+		}
+	}
+	
+	/**
+	 * Takes room for a runnable when the running and queued runnables don't exceed their limits.
+	 * 
+	 * @return Whether the runnable got admitted or not.
+	 */
+	private boolean admit() {
+		if (pending.sum() >= (long)maxParallel + maxQueueSize) {
+			return false;
+		}
+		pending.increment();
+		return true;
+	}
+	
+	/**
+	 * Executes a task on the current worker.
+	 * 
+	 * @param runnable The task.
+	 */
+	private void work(Runnable runnable) {
+		if (runnable instanceof TaskFuture) {
+			((TaskFuture<?>)runnable).claim();
+		}
+		queuedCount.decrement();
+		
+		Task task = runnable instanceof TaskFuture ? ((TaskFuture<?>)runnable).getTask() : null;
+		
+		//Clears an interrupt left behind by the cancellation of a previous task
+		Thread.interrupted();
+		activeCount.increment();
+		
+		try {
+			if (Objects.nonNull(task) && Objects.nonNull(executionListener)) {
+				executionListener.onStart(task);
+			}
+			runnable.run();
+			
+		} finally {
+			activeCount.decrement();
+			completedCount.increment();
+			pending.decrement();
+			
+			if (Objects.nonNull(task) && Objects.nonNull(executionListener)) {
+				executionListener.onCompletion(task);
+			}
+		}
+	}
+	
+	@Override
+	public void shutdown() {
+		pool.shutdown();
+	}
+	
+	@Override
+	public List<Runnable> shutdownNow() {
+		List<Runnable> drained = new ArrayList<>();
+		
+		pool.shutdown();
+		
+		for (ForkJoinTask<?> job : pool.drain()) {
+			if (!(job instanceof Job)) {
+				continue;
+			}
+			Runnable runnable = ((Job)job).runnable;
+			
+			if (runnable instanceof TaskFuture) {
+				((TaskFuture<?>)runnable).claim();
+			}
+			queuedCount.decrement();
+			pending.decrement();
+			drained.add(runnable);
+		}
+		pool.shutdownNow();
+		return drained;
+	}
+	
+	@Override
+	public boolean isShutdown() {
+		return pool.isShutdown();
+	}
+	
+	@Override
+	public boolean isTerminated() {
+		return pool.isTerminated();
+	}
+	
+	@Override
+	public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+		return pool.awaitTermination(timeout, unit);
+	}
+	
+	@Override
+	public int getQueuedCount() {
+		return Math.max(0, queuedCount.intValue());
+	}
+	
+	@Override
+	public boolean isQueued(Future<?> future) {
+		return future instanceof TaskFuture && ((TaskFuture<?>)future).isQueued();
+	}
+	
+	@Override
+	public int getMaxQueueSize() {
+		return maxQueueSize;
+	}
+	
+	@Override
+	public void setMaxQueueSize(int maxQueueSize) {
+		if (maxQueueSize <= 0) {
+			throw new IllegalArgumentException("Capacity must be positive");
+		}
+		this.maxQueueSize = maxQueueSize;
+	}
+	
+	@Override
+	public int getActiveCount() {
+		return activeCount.intValue();
+	}
+	
+	@Override
+	public int getMaximumPoolSize() {
+		return maxParallel;
+	}
+	
+	/**
+	 * Modifies the maximum amount of tasks executed in parallel.
+	 * Runtimes older than Java 19 can't resize a fork join pool, the new amount then only applies to admission.
+	 */
+	@Override
+	public synchronized void setMaximumPoolSize(int maxPoolSize) {
+		if (maxPoolSize <= 0) {
+			throw new IllegalArgumentException("The maximum pool size must be positive");
+		}
+		if (maxPoolSize == maxParallel) {
+			return;
+		}
+		if (Objects.nonNull(SET_PARALLELISM)) {
+			try {
+				SET_PARALLELISM.invoke(pool, Math.min(MAX_PARALLELISM, maxPoolSize));
+				
+			} catch (ReflectiveOperationException | RuntimeException ex) {
+				System.err.println("Failed to resize the work stealing pool: " + ex.getMessage());
+			}
+		} else if (!resizeWarned) {
+			resizeWarned = true;
+			System.err.println("This runtime can't resize the work stealing pool, the new parallelism takes effect on restart");
+		}
+		this.maxParallel = maxPoolSize;
+	}
+	
+	@Override
+	public long getCompletedTaskCount() {
+		return completedCount.sum();
+	}
+	
+	/**
+	 * Creates a worker thread for a pool.
+	 * 
+	 * @param pool The pool.
+	 * 
+	 * @return The worker thread.
+	 */
+	private static ForkJoinWorkerThread newWorker(ForkJoinPool pool) {
+		ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+		thread.setName("work-stealing-task-" + thread.getPoolIndex());
+		return thread;
+	}
+	
+	/**
+	 * Looks up the method modifying the parallelism of a fork join pool.
+	 * 
+	 * @return The method, null when the runtime doesn't support it.
+	 */
+	private static Method findSetParallelism() {
+		try {
+			return ForkJoinPool.class.getMethod("setParallelism", int.class);
+			
+		} catch (NoSuchMethodException | SecurityException ex) {
+			return null;
+		}
+	}
+	
+	
+	/**
+	 * A fork join pool handing out the tasks it didn't start yet.
+	 */
+	private static final class Pool extends ForkJoinPool {
+		
+		/**
+		 * Creates a new pool.
+		 * 
+		 * @param parallelism The parallelism.
+		 */
+		private Pool(int parallelism) {
+			super(parallelism, WorkStealingTaskExecutor::newWorker, null, true);
+		}
+		
+		/**
+		 * Removes the tasks that didn't start yet.
+		 * 
+		 * @return The removed tasks.
+		 */
+		private List<ForkJoinTask<?>> drain() {
+			List<ForkJoinTask<?>> tasks = new ArrayList<>();
+			drainTasksTo(tasks);
+			return tasks;
+		}
+		
+	}
+	
+	/**
+	 * Runs a submitted runnable on a worker of the pool.
+	 */
+	private final class Job extends RecursiveAction {
+		
+		/**
+		 * The serial version UID.
+		 */
+		private static final long serialVersionUID = 1L;
+		
+		/**
+		 * The runnable.
+		 */
+		private final Runnable runnable;
+		
+		
+		/**
+		 * Creates a new job.
+		 * 
+		 * @param runnable The runnable.
+		 */
+		private Job(Runnable runnable) {
+			this.runnable = runnable;
+		}
+		
+		@Override
+		protected void compute() {
+			work(runnable);
+		}
+		
+	}
+	
+}
@@ -0,0 +1,148 @@
+package com.nattguld.tasker.tasks.impl;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import javax.swing.SwingUtilities;
+
+import com.nattguld.tasker.tasks.TaskState;
+
+/**
+ * 
+ * @author randqm
+ *
+ */
+
+public class GUIDispatcher {
+	
+	/**
+	 * The lock guarding the pending updates.
+	 */
+	private static final Object lock = new Object();
+	
+	/**
+	 * Holds the updates waiting for the next batch by key.
+	 */
+	private static Map<Object, Update> pending = new LinkedHashMap<>();
+	
+	/**
+	 * Whether a batch is scheduled on the event dispatch thread or not.
+	 */
+	private static boolean scheduled;
+	
+	
+	/**
+	 * Dispatches an update to the event dispatch thread.
+	 * Updates are executed in batches, one event dispatch pass per batch. A pending update with the same key
+	 * is replaced, the future of the replaced update completes with {@link TaskState#FINISHED} right away as the latest update supersedes it.
+	 * 
+	 * @param key The key of the updated component.
+	 * 
+	 * @param update The update.
+	 * 
+	 * @return The future completing with the update response once executed.
+	 */
+	public static CompletableFuture<TaskState> dispatch(Object key, Supplier<TaskState> update) {
+		Objects.requireNonNull(key);
+		Objects.requireNonNull(update);
+		
+		if (SwingUtilities.isEventDispatchThread()) {
+			return CompletableFuture.completedFuture(execute(update));
+		}
+		boolean schedule = false;
+		Update entry = new Update(update);
+		Update replaced;
+		
+		synchronized (lock) {
+			replaced = pending.put(key, entry);
+			
+			if (!scheduled) {
+				scheduled = true;
+				schedule = true;
+			}
+		}
+		if (Objects.nonNull(replaced)) {
+			replaced.future.complete(TaskState.FINISHED);
+		}
+		if (schedule) {
+			SwingUtilities.invokeLater(GUIDispatcher::flush);
+		}
+		return entry.future;
+	}
+	
+	/**
+	 * Executes the pending updates, called on the event dispatch thread.
+	 */
+	private static void flush() {
+		Map<Object, Update> batch;
+		
+		synchronized (lock) {
+			batch = pending;
+			pending = new LinkedHashMap<>();
+			scheduled = false;
+		}
+		for (Update entry : batch.values()) {
+			entry.future.complete(execute(entry.update));
+		}
+	}
+	
+	/**
+	 * Executes an update.
+	 * 
+	 * @param update The update.
+	 * 
+	 * @return The update response, {@link TaskState#CANCEL} when it failed.
+	 */
+	private static TaskState execute(Supplier<TaskState> update) {
+		try {
+			return update.get();
+			
+		} catch (Exception ex) {
+			ex.printStackTrace();
+			return TaskState.CANCEL;
+		}
+	}
+	
+	/**
+	 * Retrieves the amount of updates waiting for the next batch.
+	 * 
+	 * @return The amount.
+	 */
+	public static int getPendingCount() {
+		synchronized (lock) {
+			return pending.size();
+		}
+	}
+	
+	
+	/**
+	 * An update waiting for the next batch.
+	 */
+	private static final class Update {
+		
+		/**
+		 * The update.
+		 */
+		private final Supplier<TaskState> update;
+		
+		/**
+		 * The future completing with the update response.
+		 */
+		private final CompletableFuture<TaskState> future = new CompletableFuture<>();
+		
+		
+		/**
+		 * Creates a new update.
+		 * 
+		 * @param update The update.
+		 */
+		private Update(Supplier<TaskState> update) {
+			this.update = update;
+		}
+		
+	}
+	
+}
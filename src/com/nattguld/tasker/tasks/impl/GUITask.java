@@ -1,14 +1,11 @@
 package com.nattguld.tasker.tasks.impl;
 
-import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.atomic.AtomicReference;
-
-import javax.swing.SwingUtilities;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 
 import com.nattguld.tasker.TaskPolicy;
 import com.nattguld.tasker.tasks.Task;
 import com.nattguld.tasker.tasks.TaskState;
-import com.nattguld.tasker.util.Misc;
 
 /**
  * 
@@ -17,7 +14,17 @@ import com.nattguld.tasker.util.Misc;
  */
 
 public abstract class GUITask extends Task {
-
+	
+	/**
+	 * The update dispatched to the event dispatch thread, null when none is pending.
+	 */
+	private CompletableFuture<TaskState> update;
+	
+	/**
+	 * The time at which the pending update times out.
+	 */
+	private long deadline;
+	
 	
 	/**
 	 * Creates a new step task.
@@ -43,35 +50,43 @@ public abstract class GUITask extends Task {
 	protected abstract TaskState updateGUI();
 	
 	@Override
-	protected TaskState executeTask() throws Exception {
-		AtomicBoolean updated = new AtomicBoolean();
-		AtomicReference<TaskState> taskResp = new AtomicReference<TaskState>(TaskState.CANCEL);
-		
-		SwingUtilities.invokeLater(new Runnable() {
-			@Override
-			public void run() {
-				try {
-					taskResp.set(updateGUI());
-					
-				} catch (Exception ex) {
-					ex.printStackTrace();
-				}
-				updated.set(true);
-			}
-		});
-		int elapsed = 0;
+	protected void onStart() {
+		update = null;
 		
-		while (!updated.get()) {
-			Misc.sleep(50);
-			elapsed += 50;
+		super.onStart();
+	}
+	
+	@Override
+	protected TaskState executeTask() throws Exception {
+		if (Objects.isNull(update)) {
+			update = GUIDispatcher.dispatch(getUpdateKey(), this::updateGUI);
+			deadline = System.currentTimeMillis() + getTimeoutMs();
+		}
+		if (!update.isDone()) {
+			long remaining = deadline - System.currentTimeMillis();
 			
-			if (elapsed >= getTimeoutMs()) {
-				taskResp.set(TaskState.CANCEL);
-				updated.set(true);
-				break;
+			if (remaining > 0L) {
+				//Holds no worker while the event dispatch thread catches up
+				return continueAfter(update, remaining);
 			}
+			update = null;
+			return TaskState.CANCEL;
 		}
-		return taskResp.get();
+		TaskState state = update.join();
+		update = null;
+		return state;
+	}
+	
+	/**
+	 * Retrieves the key of the updated component.
+	 * Pending updates with the same key are coalesced, only the latest one gets executed and the replaced ones finish right away.
+	 * Defaults to the task class, so tasks of the same class are expected to update the same component.
+	 * Override it with the updated component when tasks of a class update different components.
+	 * 
+	 * @return The key.
+	 */
+	protected Object getUpdateKey() {
+		return getClass();
 	}
 	
 	/**
@@ -4,10 +4,14 @@ import java.util.Deque;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentLinkedDeque;
 
+import com.nattguld.tasker.metrics.ExecutionMetrics;
+import com.nattguld.tasker.metrics.Metrics;
 import com.nattguld.tasker.steps.Step;
 import com.nattguld.tasker.steps.StepState;
+import com.nattguld.tasker.steps.impl.ParallelStep;
 import com.nattguld.tasker.tasks.Task;
 import com.nattguld.tasker.tasks.TaskState;
 import com.nattguld.tasker.util.Misc;
@@ -34,6 +38,21 @@ public abstract class StepTask extends Task {
 	 * The current step.
 	 */
 	private Step currentStep;
+	
+	/**
+	 * Whether the current step is being executed or not.
+	 */
+	private boolean stepInProgress;
+	
+	/**
+	 * The metrics of the current step.
+	 */
+	private ExecutionMetrics stepMetrics;
+	
+	/**
+	 * The time in nanoseconds the current step started executing.
+	 */
+	private long stepStart;
 
 	
 	/**
@@ -70,6 +89,17 @@ public abstract class StepTask extends Task {
 		steps.add(step);
 	}
 	
+	/**
+	 * Adds a group of steps executed in parallel, the next step waits until all of them finished.
+	 * 
+	 * @param name The name of the group.
+	 * 
+	 * @param parallelSteps The steps to execute in parallel.
+	 */
+	protected void addParallel(String name, Step... parallelSteps) {
+		add(new ParallelStep(name, parallelSteps));
+	}
+	
 	@Override
 	protected void onStart() {
 		steps.clear();
@@ -93,7 +123,7 @@ public abstract class StepTask extends Task {
 	
 	@Override
 	protected TaskState executeTask() throws Exception {
-		if (stepDeque.isEmpty()) {
+		if (stepDeque.isEmpty() && !stepInProgress) {
 			buildStepFlow();
 
 			stepDeque.addAll(steps);
@@ -103,60 +133,162 @@ public abstract class StepTask extends Task {
 				return TaskState.ERROR;
 			}
 		}
+		if (isContinuationMode()) {
+			return continueStepFlow();
+		}
 		while (!stepDeque.isEmpty()) {
 			if (getState() == TaskState.CANCEL) {
 				setStatus("Task has been cancelled");
 				return TaskState.CANCEL;
 			}
-			currentStep = stepDeque.poll();
-			
-			setStatus(currentStep.getName() + ": Executing");
-			currentStep.setState(StepState.IN_PROGRESS);
+			startNextStep();
 			
 			while (currentStep.getState() == StepState.IN_PROGRESS) {
-				try {
-					currentStep.setState(currentStep.execute());
-					
-				} catch (Exception ex) {
-					ex.printStackTrace();
-					onException(currentStep, ex);
-					currentStep.setState(StepState.EXCEPTION);
+				executeCurrentStep();
+				
+				if (currentStep.getState() == StepState.EXCEPTION) {
 					break;
 				}
 				Misc.sleep(getStepDelay());
 			}
-			refreshStartTime();
+			TaskState respState = finishCurrentStep();
 			
-			if (currentStep.getState() == StepState.CANCEL) {
-				setStatus(currentStep.getName() + ": Cancelled Flow");
-				return TaskState.CANCEL;
-			}
-			if (currentStep.getState() == StepState.INTERRUPT) {
-				setStatus(currentStep.getName() + ": Interrupted Flow");
+			if (respState == TaskState.FINISHED) {
 				break;
 			}
-			if (currentStep.getState() == StepState.RETRY) {
-				setStatus(currentStep.getName() + ": Interrupted Flow for Retry");
-				return TaskState.RETRY;
+			if (Objects.nonNull(respState)) {
+				return respState;
 			}
-			if (currentStep.getState() == StepState.EXCEPTION || currentStep.getState() == StepState.FAILED) {
-				setStatus(currentStep.getName() + ": Failed to execute");
-				onStepFail(currentStep);
+			Misc.sleep(getStepDelay());
+		}
+		setStatus("Successfully executed step task " + getName());
+		return TaskState.FINISHED;
+	}
+	
+	/**
+	 * Executes a single step transition of the flow.
+	 * 
+	 * @return The task state, {@link TaskState#CONTINUE} while the flow isn't finished.
+	 */
+	private TaskState continueStepFlow() {
+		if (!stepInProgress) {
+			startNextStep();
+		}
+		executeCurrentStep();
+		
+		if (currentStep.getState() == StepState.IN_PROGRESS) {
+			if (currentStep instanceof ParallelStep) {
+				CompletableFuture<Void> round = ((ParallelStep)currentStep).getExecution();
 				
-				if (currentStep.isCritical()) {
-					return currentStep.getState() == StepState.EXCEPTION ? TaskState.EXCEPTION : TaskState.ERROR;
+				if (Objects.nonNull(round) && !round.isDone()) {
+					//Releases the worker until the parallel steps executed
+					return continueAfter(round);
 				}
 			}
-			setStatus(currentStep.getName() + ": Executed successfully");
-			Misc.sleep(getStepDelay());
+			return TaskState.CONTINUE;
+		}
+		TaskState respState = finishCurrentStep();
+		
+		if (Objects.nonNull(respState) && respState != TaskState.FINISHED) {
+			return respState;
+		}
+		if (Objects.isNull(respState) && !stepDeque.isEmpty()) {
+			return TaskState.CONTINUE;
 		}
 		setStatus("Successfully executed step task " + getName());
 		return TaskState.FINISHED;
 	}
 	
+	/**
+	 * Starts executing the next step.
+	 */
+	private void startNextStep() {
+		currentStep = stepDeque.poll();
+		currentStep.setOwner(this);
+		stepInProgress = true;
+		stepMetrics = Metrics.forStep(currentStep.getName());
+		stepMetrics.recordAttempt();
+		stepStart = System.nanoTime();
+		
+		setStatus(currentStep.getName() + ": Executing");
+		currentStep.setState(StepState.IN_PROGRESS);
+	}
+	
+	/**
+	 * Executes the current step once.
+	 */
+	private void executeCurrentStep() {
+		try {
+			currentStep.setState(currentStep.execute());
+			
+		} catch (Exception ex) {
+			ex.printStackTrace();
+			onException(currentStep, ex);
+			currentStep.setState(StepState.EXCEPTION);
+		}
+	}
+	
+	/**
+	 * Handles the outcome of the current step.
+	 * 
+	 * @return The task state to respond with, {@link TaskState#FINISHED} when the flow got interrupted
+	 * or null to proceed with the next step.
+	 */
+	private TaskState finishCurrentStep() {
+		stepInProgress = false;
+		stepMetrics.recordExecution(System.nanoTime() - stepStart, currentStep.getState());
+		refreshStartTime();
+		
+		if (currentStep instanceof ParallelStep) {
+			reportParallelFailures((ParallelStep)currentStep);
+		}
+		if (currentStep.getState() == StepState.CANCEL) {
+			setStatus(currentStep.getName() + ": Cancelled Flow");
+			return TaskState.CANCEL;
+		}
+		if (currentStep.getState() == StepState.INTERRUPT) {
+			setStatus(currentStep.getName() + ": Interrupted Flow");
+			return TaskState.FINISHED;
+		}
+		if (currentStep.getState() == StepState.RETRY) {
+			stepMetrics.recordRetry();
+			setStatus(currentStep.getName() + ": Interrupted Flow for Retry");
+			return TaskState.RETRY;
+		}
+		if (currentStep.getState() == StepState.EXCEPTION || currentStep.getState() == StepState.FAILED) {
+			setStatus(currentStep.getName() + ": Failed to execute");
+			onStepFail(currentStep);
+			
+			if (currentStep.isCritical()) {
+				return currentStep.getState() == StepState.EXCEPTION ? TaskState.EXCEPTION : TaskState.ERROR;
+			}
+		}
+		setStatus(currentStep.getName() + ": Executed successfully");
+		return null;
+	}
+	
+	/**
+	 * Reports the steps of a parallel group that failed.
+	 * 
+	 * @param group The parallel group.
+	 */
+	private void reportParallelFailures(ParallelStep group) {
+		for (Step step : group.getSteps()) {
+			Exception ex = group.getException(step);
+			
+			if (Objects.nonNull(ex)) {
+				onException(step, ex);
+			}
+			if (step.getState() == StepState.EXCEPTION || step.getState() == StepState.FAILED) {
+				onStepFail(step);
+			}
+		}
+	}
+	
 	@Override
 	public void reset() {
 		stepDeque.clear();
+		stepInProgress = false;
 		
 		super.reset();
 	}
@@ -182,8 +314,8 @@ public abstract class StepTask extends Task {
 	}
 	
 	@Override
-	public String getStatus() {
-		return Objects.isNull(currentStep) ? super.getStatus() : currentStep.getStatus();
+	protected Object getStatusValue() {
+		return Objects.isNull(currentStep) ? super.getStatusValue() : currentStep.getStatus();
 	}
 	
 	/**
@@ -195,6 +327,21 @@ public abstract class StepTask extends Task {
 		return 100;
 	}
 	
+	/**
+	 * Retrieves whether the step flow is executed one step transition at a time or not.
+	 * The task then releases its worker during the step delays and continues on the next execution.
+	 * 
+	 * @return The result.
+	 */
+	protected boolean isContinuationMode() {
+		return false;
+	}
+	
+	@Override
+	protected int getContinueDelay() {
+		return getStepDelay();
+	}
+	
 	/**
 	 * Retrieves the task's steps.
 	 * 
@@ -1,7 +1,9 @@
 package com.nattguld.tasker.util;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
 
 /**
  * 
@@ -9,23 +11,210 @@ import java.util.Map;
  *
  */
 
-public class Attributes {
+public class Attributes implements IAttributes {
 	
 	/**
-	 * The map containing the key-value pairs.
+	 * The kind of a slot holding an object.
 	 */
-	private final Map<String, Object> kvps = new HashMap<>();
+	private static final byte OBJECT = 0;
+	
+	/**
+	 * The kind of a slot holding a boolean.
+	 */
+	private static final byte BOOLEAN = 1;
+	
+	/**
+	 * The kind of a slot holding a byte.
+	 */
+	private static final byte BYTE = 2;
+	
+	/**
+	 * The kind of a slot holding a char.
+	 */
+	private static final byte CHAR = 3;
+	
+	/**
+	 * The kind of a slot holding an integer.
+	 */
+	private static final byte INT = 4;
+	
+	/**
+	 * The kind of a slot holding a long.
+	 */
+	private static final byte LONG = 5;
+	
+	/**
+	 * The kind of a slot holding a float.
+	 */
+	private static final byte FLOAT = 6;
+	
+	/**
+	 * The kind of a slot holding a double.
+	 */
+	private static final byte DOUBLE = 7;
+	
+	/**
+	 * The initial amount of slots.
+	 */
+	private static final int INITIAL_CAPACITY = 8;
+	
+	/**
+	 * Holds the keys by slot, null for free slots.
+	 */
+	private String[] keys = new String[INITIAL_CAPACITY];
+	
+	/**
+	 * Holds the value kinds by slot.
+	 */
+	private byte[] kinds = new byte[INITIAL_CAPACITY];
+	
+	/**
+	 * Holds the primitive values by slot, floating point values are stored as their double bits.
+	 */
+	private long[] bits = new long[INITIAL_CAPACITY];
+	
+	/**
+	 * Holds the object values by slot.
+	 */
+	private Object[] objects = new Object[INITIAL_CAPACITY];
+	
+	/**
+	 * The amount of used slots.
+	 */
+	private int size;
 	
 	
 	/**
 	 * Sets a new key-value pair.
+	 * Boxed primitives are stored in their primitive form.
 	 * 
 	 * @param key The key.
 	 * 
 	 * @param value The value.
 	 */
 	public void put(String key, Object value) {
-		kvps.put(key, value);
+		if (value instanceof Integer) {
+			put(key, ((Integer)value).intValue());
+			
+		} else if (value instanceof Long) {
+			put(key, ((Long)value).longValue());
+			
+		} else if (value instanceof Double) {
+			put(key, ((Double)value).doubleValue());
+			
+		} else if (value instanceof Float) {
+			put(key, ((Float)value).floatValue());
+			
+		} else if (value instanceof Boolean) {
+			put(key, ((Boolean)value).booleanValue());
+			
+		} else if (value instanceof Byte) {
+			put(key, ((Byte)value).byteValue());
+			
+		} else if (value instanceof Character) {
+			put(key, ((Character)value).charValue());
+			
+		} else {
+			int slot = slotFor(key);
+			
+			kinds[slot] = OBJECT;
+			bits[slot] = 0L;
+			objects[slot] = value;
+		}
+	}
+	
+	/**
+	 * Sets a new key-value pair.
+	 * 
+	 * @param key The key.
+	 * 
+	 * @param value The value.
+	 */
+	public void put(String key, boolean value) {
+		store(key, BOOLEAN, value ? 1L : 0L);
+	}
+	
+	/**
+	 * Sets a new key-value pair.
+	 * 
+	 * @param key The key.
+	 * 
+	 * @param value The value.
+	 */
+	public void put(String key, byte value) {
+		store(key, BYTE, value);
+	}
+	
+	/**
+	 * Sets a new key-value pair.
+	 * 
+	 * @param key The key.
+	 * 
+	 * @param value The value.
+	 */
+	public void put(String key, char value) {
+		store(key, CHAR, value);
+	}
+	
+	/**
+	 * Sets a new key-value pair.
+	 * 
+	 * @param key The key.
+	 * 
+	 * @param value The value.
+	 */
+	public void put(String key, int value) {
+		store(key, INT, value);
+	}
+	
+	/**
+	 * Sets a new key-value pair.
+	 * 
+	 * @param key The key.
+	 * 
+	 * @param value The value.
+	 */
+	public void put(String key, long value) {
+		store(key, LONG, value);
+	}
+	
+	/**
+	 * Sets a new key-value pair.
+	 * 
+	 * @param key The key.
+	 * 
+	 * @param value The value.
+	 */
+	public void put(String key, float value) {
+		store(key, FLOAT, Double.doubleToRawLongBits(value));
+	}
+	
+	/**
+	 * Sets a new key-value pair.
+	 * 
+	 * @param key The key.
+	 * 
+	 * @param value The value.
+	 */
+	public void put(String key, double value) {
+		store(key, DOUBLE, Double.doubleToRawLongBits(value));
+	}
+	
+	/**
+	 * Stores a primitive value.
+	 * 
+	 * @param key The key.
+	 * 
+	 * @param kind The value kind.
+	 * 
+	 * @param value The value bits.
+	 */
+	private void store(String key, byte kind, long value) {
+		int slot = slotFor(key);
+		
+		kinds[slot] = kind;
+		bits[slot] = value;
+		objects[slot] = null;
 	}
 	
 	/**
@@ -36,7 +225,7 @@ public class Attributes {
 	 * @return The result.
 	 */
 	public boolean has(String key) {
-		return kvps.containsKey(key);
+		return indexOf(key) != -1;
 	}
 	
 	/**
@@ -49,11 +238,8 @@ public class Attributes {
 	 * @return The value.
 	 */
 	public Object get(String key, Object defaultValue) {
-		if (!has(key)) {
-			put(key, defaultValue);
-			return get(key, defaultValue);
-		}
-		return kvps.get(key);
+		int slot = indexOf(key);
+		return slot == -1 ? defaultValue : object(slot);
 	}
 	
 	/**
@@ -77,7 +263,12 @@ public class Attributes {
 	 * @return The char value.
 	 */
 	public char getAsChar(String key, char defaultValue) {
-		return (char)get(key, defaultValue);
+		int slot = indexOf(key);
+		
+		if (slot == -1) {
+			return defaultValue;
+		}
+		return kinds[slot] == OBJECT ? (Character)objects[slot] : (char)integral(slot);
 	}
 	
 	/**
@@ -125,7 +316,8 @@ public class Attributes {
 	 * @return The byte value.
 	 */
 	public byte getAsByte(String key, byte defaultValue) {
-		return (byte)get(key, defaultValue);
+		int slot = indexOf(key);
+		return slot == -1 ? defaultValue : (byte)integral(slot);
 	}
 	
 	/**
@@ -149,7 +341,8 @@ public class Attributes {
 	 * @return The float value.
 	 */
 	public float getAsFloat(String key, float defaultValue) {
-		return (float)get(key, defaultValue);
+		int slot = indexOf(key);
+		return slot == -1 ? defaultValue : (float)decimal(slot);
 	}
 	
 	/**
@@ -173,7 +366,8 @@ public class Attributes {
 	 * @return The double value.
 	 */
 	public double getAsDouble(String key, double defaultValue) {
-		return (double)get(key, defaultValue);
+		int slot = indexOf(key);
+		return slot == -1 ? defaultValue : decimal(slot);
 	}
 	
 	/**
@@ -197,7 +391,8 @@ public class Attributes {
 	 * @return The integer value.
 	 */
 	public int getAsInt(String key, int defaultValue) {
-		return (int)get(key, defaultValue);
+		int slot = indexOf(key);
+		return slot == -1 ? defaultValue : (int)integral(slot);
 	}
 	
 	/**
@@ -221,7 +416,8 @@ public class Attributes {
 	 * @return The long value.
 	 */
 	public long getAsLong(String key, long defaultValue) {
-		return (long)get(key, defaultValue);
+		int slot = indexOf(key);
+		return slot == -1 ? defaultValue : integral(slot);
 	}
 	
 	/**
@@ -245,7 +441,12 @@ public class Attributes {
 	 * @return The boolean value.
 	 */
 	public boolean getAsBool(String key, boolean defaultValue) {
-		return (boolean)get(key, defaultValue);
+		int slot = indexOf(key);
+		
+		if (slot == -1) {
+			return defaultValue;
+		}
+		return kinds[slot] == OBJECT ? (Boolean)objects[slot] : integral(slot) != 0L;
 	}
 	
 	/**
@@ -269,9 +470,12 @@ public class Attributes {
 	 * @return The new value.
 	 */
 	public byte increment(String key, byte value) {
-		byte result = (byte) (getAsByte(key) + value);
+		int slot = slotFor(key);
+		byte result = (byte)(integral(slot) + value);
 		
-		put(key, result);
+		kinds[slot] = BYTE;
+		bits[slot] = result;
+		objects[slot] = null;
 		
 		return result;
 	}
@@ -286,11 +490,7 @@ public class Attributes {
 	 * @return The new value.
 	 */
 	public byte decrement(String key, byte value) {
-		byte result = (byte) (getAsByte(key) - value);
-		
-		put(key, result);
-		
-		return result;
+		return increment(key, (byte)-value);
 	}
 	
 	/**
@@ -303,9 +503,12 @@ public class Attributes {
 	 * @return The new value.
 	 */
 	public int increment(String key, int value) {
-		int result = getAsInt(key) + value;
+		int slot = slotFor(key);
+		int result = (int)integral(slot) + value;
 		
-		put(key, result);
+		kinds[slot] = INT;
+		bits[slot] = result;
+		objects[slot] = null;
 		
 		return result;
 	}
@@ -320,11 +523,7 @@ public class Attributes {
 	 * @return The new value.
 	 */
 	public int decrement(String key, int value) {
-		int result = getAsInt(key) - value;
-		
-		put(key, result);
-		
-		return result;
+		return increment(key, -value);
 	}
 	
 	/**
@@ -337,9 +536,12 @@ public class Attributes {
 	 * @return The new value.
 	 */
 	public float increment(String key, float value) {
-		float result = getAsFloat(key) + value;
+		int slot = slotFor(key);
+		float result = (float)decimal(slot) + value;
 		
-		put(key, result);
+		kinds[slot] = FLOAT;
+		bits[slot] = Double.doubleToRawLongBits(result);
+		objects[slot] = null;
 		
 		return result;
 	}
@@ -354,11 +556,7 @@ public class Attributes {
 	 * @return The new value.
 	 */
 	public float decrement(String key, float value) {
-		float result = getAsFloat(key) - value;
-		
-		put(key, result);
-		
-		return result;
+		return increment(key, -value);
 	}
 	
 	/**
@@ -371,9 +569,12 @@ public class Attributes {
 	 * @return The new value.
 	 */
 	public double increment(String key, double value) {
-		double result = getAsDouble(key) + value;
+		int slot = slotFor(key);
+		double result = decimal(slot) + value;
 		
-		put(key, result);
+		kinds[slot] = DOUBLE;
+		bits[slot] = Double.doubleToRawLongBits(result);
+		objects[slot] = null;
 		
 		return result;
 	}
@@ -388,11 +589,7 @@ public class Attributes {
 	 * @return The new value.
 	 */
 	public double decrement(String key, double value) {
-		double result = getAsDouble(key) - value;
-		
-		put(key, result);
-		
-		return result;
+		return increment(key, -value);
 	}
 	
 	/**
@@ -405,9 +602,12 @@ public class Attributes {
 	 * @return The new value.
 	 */
 	public long increment(String key, long value) {
-		long result = getAsLong(key) + value;
+		int slot = slotFor(key);
+		long result = integral(slot) + value;
 		
-		put(key, result);
+		kinds[slot] = LONG;
+		bits[slot] = result;
+		objects[slot] = null;
 		
 		return result;
 	}
@@ -422,26 +622,263 @@ public class Attributes {
 	 * @return The new value.
 	 */
 	public long decrement(String key, long value) {
-		long result = getAsLong(key) - value;
+		return increment(key, -value);
+	}
+	
+	/**
+	 * Adds to an integral value without retrieving the new value.
+	 * 
+	 * @param key The key.
+	 * 
+	 * @param value The value to add.
+	 */
+	public void add(String key, long value) {
+		increment(key, value);
+	}
+	
+	/**
+	 * Sets an integral value to a new value when it currently holds the expected value.
+	 * 
+	 * @param key The key.
+	 * 
+	 * @param expect The expected value.
+	 * 
+	 * @param update The new value.
+	 * 
+	 * @return Whether the value got set or not.
+	 */
+	public boolean compareAndSet(String key, long expect, long update) {
+		if (getAsLong(key, 0L) != expect) {
+			return false;
+		}
+		put(key, update);
+		return true;
+	}
+	
+	/**
+	 * Sets a value when the current value equals the expected value.
+	 * 
+	 * @param key The key.
+	 * 
+	 * @param expect The expected value, null when the key shouldn't exist.
+	 * 
+	 * @param update The new value.
+	 * 
+	 * @return Whether the value got set or not.
+	 */
+	public boolean compareAndSet(String key, Object expect, Object update) {
+		if (Objects.isNull(expect) ? has(key) : !expect.equals(get(key))) {
+			return false;
+		}
+		put(key, update);
+		return true;
+	}
+	
+	/**
+	 * Retrieves the integral value of a slot.
+	 * 
+	 * @param slot The slot.
+	 * 
+	 * @return The value.
+	 */
+	private long integral(int slot) {
+		switch (kinds[slot]) {
+		case FLOAT:
+		case DOUBLE:
+			return (long)Double.longBitsToDouble(bits[slot]);
 		
-		put(key, result);
+		case OBJECT:
+			return ((Number)objects[slot]).longValue();
 		
-		return result;
+		default:
+			return bits[slot];
+		}
+	}
+	
+	/**
+	 * Retrieves the floating point value of a slot.
+	 * 
+	 * @param slot The slot.
+	 * 
+	 * @return The value.
+	 */
+	private double decimal(int slot) {
+		switch (kinds[slot]) {
+		case FLOAT:
+		case DOUBLE:
+			return Double.longBitsToDouble(bits[slot]);
+		
+		case OBJECT:
+			return ((Number)objects[slot]).doubleValue();
+		
+		default:
+			return bits[slot];
+		}
+	}
+	
+	/**
+	 * Retrieves the value of a slot, boxing primitive values.
+	 * 
+	 * @param slot The slot.
+	 * 
+	 * @return The value.
+	 */
+	private Object object(int slot) {
+		switch (kinds[slot]) {
+		case BOOLEAN:
+			return bits[slot] != 0L;
+		
+		case BYTE:
+			return (byte)bits[slot];
+		
+		case CHAR:
+			return (char)bits[slot];
+		
+		case INT:
+			return (int)bits[slot];
+		
+		case LONG:
+			return bits[slot];
+		
+		case FLOAT:
+			return (float)Double.longBitsToDouble(bits[slot]);
+		
+		case DOUBLE:
+			return Double.longBitsToDouble(bits[slot]);
+		
+		default:
+			return objects[slot];
+		}
+	}
+	
+	/**
+	 * Retrieves the slot of a key.
+	 * 
+	 * @param key The key.
+	 * 
+	 * @return The slot, -1 when the key doesn't exist.
+	 */
+	private int indexOf(String key) {
+		int mask = keys.length - 1;
+		
+		for (int i = hash(key) & mask;; i = (i + 1) & mask) {
+			String k = keys[i];
+			
+			if (k == null) {
+				return -1;
+			}
+			if (k.equals(key)) {
+				return i;
+			}
+		}
+	}
+	
+	/**
+	 * Retrieves the slot of a key, claiming a zeroed slot when the key doesn't exist.
+	 * 
+	 * @param key The key.
+	 * 
+	 * @return The slot.
+	 */
+	private int slotFor(String key) {
+		if ((size + 1) * 4 > keys.length * 3) {
+			resize(keys.length * 2);
+		}
+		int mask = keys.length - 1;
+		
+		for (int i = hash(key) & mask;; i = (i + 1) & mask) {
+			String k = keys[i];
+			
+			if (k == null) {
+				keys[i] = key;
+				kinds[i] = LONG;
+				bits[i] = 0L;
+				objects[i] = null;
+				size++;
+				return i;
+			}
+			if (k.equals(key)) {
+				return i;
+			}
+		}
+	}
+	
+	/**
+	 * Moves the slots into larger arrays.
+	 * 
+	 * @param capacity The new amount of slots.
+	 */
+	private void resize(int capacity) {
+		String[] oldKeys = keys;
+		byte[] oldKinds = kinds;
+		long[] oldBits = bits;
+		Object[] oldObjects = objects;
+		int mask = capacity - 1;
+		
+		keys = new String[capacity];
+		kinds = new byte[capacity];
+		bits = new long[capacity];
+		objects = new Object[capacity];
+		
+		for (int j = 0; j < oldKeys.length; j++) {
+			if (oldKeys[j] == null) {
+				continue;
+			}
+			int i = hash(oldKeys[j]) & mask;
+			
+			while (keys[i] != null) {
+				i = (i + 1) & mask;
+			}
+			keys[i] = oldKeys[j];
+			kinds[i] = oldKinds[j];
+			bits[i] = oldBits[j];
+			objects[i] = oldObjects[j];
+		}
+	}
+	
+	/**
+	 * Retrieves the spread hash of a key.
+	 * 
+	 * @param key The key.
+	 * 
+	 * @return The hash.
+	 */
+	private static int hash(String key) {
+		int h = key.hashCode();
+		return h ^ (h >>> 16);
 	}
 	
 	/**
 	 * Clears the attributes.
 	 */
 	public void clear() {
-		kvps.clear();
+		Arrays.fill(keys, null);
+		Arrays.fill(objects, null);
+		size = 0;
 	}
 	
 	/**
-	 * Retrieves the key-value pairs.
+	 * Retrieves the amount of key-value pairs.
+	 * 
+	 * @return The amount.
+	 */
+	public int size() {
+		return size;
+	}
+	
+	/**
+	 * Retrieves a copy of the key-value pairs with primitive values boxed.
 	 * 
 	 * @return The key-value pairs.
 	 */
 	public Map<String, Object> getKvps() {
+		Map<String, Object> kvps = new HashMap<>(size * 2);
+		
+		for (int i = 0; i < keys.length; i++) {
+			if (keys[i] != null) {
+				kvps.put(keys[i], object(i));
+			}
+		}
 		return kvps;
 	}
 
@@ -0,0 +1,415 @@
+package com.nattguld.tasker.util;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToIntFunction;
+
+/**
+ * A cache bounded by the total weight of its entries, evicting the least recently used entries first.
+ * Every lookup including getIfPresent takes the cache-wide lock, as the access ordered map reorders its entries on every read.
+ * 
+ * @author randqm
+ *
+ */
+
+public class BoundedCache<K, V> {
+	
+	/**
+	 * Holds the cached entries from least to most recently used.
+	 */
+	private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>(16, 0.75F, true);
+	
+	/**
+	 * Holds the values being loaded.
+	 */
+	private final Map<K, Load<V>> loading = new ConcurrentHashMap<>();
+	
+	/**
+	 * The amount of lookups served from the cache.
+	 */
+	private final AtomicLong hits = new AtomicLong();
+	
+	/**
+	 * The amount of lookups that required loading.
+	 */
+	private final AtomicLong misses = new AtomicLong();
+	
+	/**
+	 * The amount of entries evicted to respect the maximum weight.
+	 */
+	private final AtomicLong evictions = new AtomicLong();
+	
+	/**
+	 * The maximum total weight of the cached entries.
+	 */
+	private long maxWeight;
+	
+	/**
+	 * The total weight of the cached entries.
+	 */
+	private long weight;
+	
+	
+	/**
+	 * Creates a new bounded cache.
+	 * 
+	 * @param maxWeight The maximum total weight of the cached entries.
+	 */
+	public BoundedCache(long maxWeight) {
+		this.maxWeight = maxWeight;
+	}
+	
+	/**
+	 * Retrieves a cached value or loads it when absent.
+	 * Concurrent lookups of the same absent key wait for a single load.
+	 * A loader looking up its own key fails rather than waiting on itself.
+	 * 
+	 * @param key The key.
+	 * 
+	 * @param loader The loader of the value.
+	 * 
+	 * @param ttl The time in milliseconds the value stays cached, 0 or less to keep it until evicted.
+	 * 
+	 * @param weigher The weigher of the value.
+	 * 
+	 * @return The value.
+	 * 
+	 * @throws Exception When loading the value failed.
+	 * 
+	 * @throws IllegalStateException When the loader looked up the key it's loading.
+	 */
+	public V get(K key, Callable<? extends V> loader, long ttl, ToIntFunction<? super V> weigher) throws Exception {
+		V value = getIfPresent(key);
+		
+		if (Objects.nonNull(value)) {
+			hits.incrementAndGet();
+			return value;
+		}
+		Load<V> flight = new Load<>();
+		Load<V> existing = loading.putIfAbsent(key, flight);
+		
+		if (Objects.nonNull(existing)) {
+			if (existing.owner == Thread.currentThread()) {
+				throw new IllegalStateException("Recursive load of " + key);
+			}
+			hits.incrementAndGet();
+			return await(existing);
+		}
+		try {
+			//Another load might have finished in between
+			value = getIfPresent(key);
+			
+			if (Objects.isNull(value)) {
+				misses.incrementAndGet();
+				value = loader.call();
+				
+				if (Objects.nonNull(value)) {
+					store(key, flight, value, ttl, weigher.applyAsInt(value));
+				}
+			} else {
+				hits.incrementAndGet();
+			}
+			flight.complete(value);
+			return value;
+			
+		} catch (Exception | Error ex) {
+			flight.completeExceptionally(ex);
+			throw ex;
+			
+		} finally {
+			loading.remove(key, flight);
+		}
+	}
+	
+	/**
+	 * Waits for a value being loaded.
+	 * 
+	 * @param flight The load.
+	 * 
+	 * @return The value.
+	 * 
+	 * @throws Exception When loading the value failed.
+	 */
+	private V await(CompletableFuture<V> flight) throws Exception {
+		try {
+			return flight.get();
+			
+		} catch (ExecutionException ex) {
+			Throwable cause = ex.getCause();
+			
+			if (cause instanceof Exception) {
+				throw (Exception)cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error)cause;
+			}
+			throw ex;
+		}
+	}
+	
+	/**
+	 * Retrieves a cached value.
+	 * 
+	 * @param key The key.
+	 * 
+	 * @return The value, null when absent or expired.
+	 */
+	public synchronized V getIfPresent(K key) {
+		Entry<V> entry = entries.get(key);
+		
+		if (Objects.isNull(entry)) {
+			return null;
+		}
+		if (entry.isExpired()) {
+			remove(key);
+			return null;
+		}
+		return entry.value;
+	}
+	
+	/**
+	 * Caches a value.
+	 * 
+	 * @param key The key.
+	 * 
+	 * @param value The value.
+	 * 
+	 * @param ttl The time in milliseconds the value stays cached, 0 or less to keep it until evicted.
+	 * 
+	 * @param entryWeight The weight of the value.
+	 */
+	public synchronized void put(K key, V value, long ttl, int entryWeight) {
+		remove(key);
+		
+		if (entryWeight > maxWeight) {
+			return;
+		}
+		long expiresAt = ttl > 0L ? System.currentTimeMillis() + ttl : Long.MAX_VALUE;
+		
+		entries.put(key, new Entry<>(value, expiresAt, entryWeight));
+		weight += entryWeight;
+		
+		evict();
+	}
+	
+	/**
+	 * Caches a loaded value unless the key got invalidated while loading.
+	 * 
+	 * @param key The key.
+	 * 
+	 * @param flight The load.
+	 * 
+	 * @param value The value.
+	 * 
+	 * @param ttl The time in milliseconds the value stays cached, 0 or less to keep it until evicted.
+	 * 
+	 * @param entryWeight The weight of the value.
+	 */
+	private synchronized void store(K key, Load<V> flight, V value, long ttl, int entryWeight) {
+		if (!flight.invalidated) {
+			put(key, value, ttl, entryWeight);
+		}
+	}
+	
+	/**
+	 * Removes a cached value, a load in progress still serves its waiters but isn't cached.
+	 * 
+	 * @param key The key.
+	 */
+	public synchronized void invalidate(K key) {
+		remove(key);
+		
+		Load<V> flight = loading.remove(key);
+		
+		if (Objects.nonNull(flight)) {
+			flight.invalidated = true;
+		}
+	}
+	
+	/**
+	 * Removes all cached values, loads in progress still serve their waiters but aren't cached.
+	 */
+	public synchronized void clear() {
+		entries.clear();
+		weight = 0L;
+		
+		for (Iterator<Load<V>> it = loading.values().iterator(); it.hasNext();) {
+			it.next().invalidated = true;
+			it.remove();
+		}
+	}
+	
+	/**
+	 * Removes an entry while holding the lock.
+	 * 
+	 * @param key The key.
+	 */
+	private void remove(K key) {
+		Entry<V> entry = entries.remove(key);
+		
+		if (Objects.nonNull(entry)) {
+			weight -= entry.weight;
+		}
+	}
+	
+	/**
+	 * Evicts expired entries and then the least recently used ones until the maximum weight is respected.
+	 */
+	private void evict() {
+		if (weight <= maxWeight) {
+			return;
+		}
+		for (Iterator<Entry<V>> it = entries.values().iterator(); it.hasNext();) {
+			Entry<V> entry = it.next();
+			
+			if (entry.isExpired()) {
+				it.remove();
+				weight -= entry.weight;
+			}
+		}
+		for (Iterator<Entry<V>> it = entries.values().iterator(); it.hasNext() && weight > maxWeight;) {
+			Entry<V> entry = it.next();
+			
+			it.remove();
+			weight -= entry.weight;
+			evictions.incrementAndGet();
+		}
+	}
+	
+	/**
+	 * Modifies the maximum total weight of the cached entries.
+	 * 
+	 * @param maxWeight The new maximum weight.
+	 */
+	public synchronized void setMaxWeight(long maxWeight) {
+		this.maxWeight = maxWeight;
+		evict();
+	}
+	
+	/**
+	 * Retrieves the maximum total weight of the cached entries.
+	 * 
+	 * @return The maximum weight.
+	 */
+	public synchronized long getMaxWeight() {
+		return maxWeight;
+	}
+	
+	/**
+	 * Retrieves the total weight of the cached entries.
+	 * 
+	 * @return The weight.
+	 */
+	public synchronized long getWeight() {
+		return weight;
+	}
+	
+	/**
+	 * Retrieves the amount of cached entries.
+	 * 
+	 * @return The amount.
+	 */
+	public synchronized int size() {
+		return entries.size();
+	}
+	
+	/**
+	 * Retrieves the amount of lookups served from the cache or a concurrent load.
+	 * 
+	 * @return The amount.
+	 */
+	public long getHitCount() {
+		return hits.get();
+	}
+	
+	/**
+	 * Retrieves the amount of lookups that required loading.
+	 * 
+	 * @return The amount.
+	 */
+	public long getMissCount() {
+		return misses.get();
+	}
+	
+	/**
+	 * Retrieves the amount of entries evicted to respect the maximum weight.
+	 * 
+	 * @return The amount.
+	 */
+	public long getEvictionCount() {
+		return evictions.get();
+	}
+	
+	
+	/**
+	 * A value being loaded.
+	 */
+	private static final class Load<V> extends CompletableFuture<V> {
+		
+		/**
+		 * The thread loading the value.
+		 */
+		private final Thread owner = Thread.currentThread();
+		
+		/**
+		 * Whether the key got invalidated while loading, guarded by the cache lock.
+		 */
+		private boolean invalidated;
+		
+	}
+	
+	/**
+	 * A cached value.
+	 */
+	private static final class Entry<V> {
+		
+		/**
+		 * The value.
+		 */
+		private final V value;
+		
+		/**
+		 * The time at which the value expires.
+		 */
+		private final long expiresAt;
+		
+		/**
+		 * The weight of the value.
+		 */
+		private final int weight;
+		
+		
+		/**
+		 * Creates a new entry.
+		 * 
+		 * @param value The value.
+		 * 
+		 * @param expiresAt The time at which the value expires.
+		 * 
+		 * @param weight The weight of the value.
+		 */
+		private Entry(V value, long expiresAt, int weight) {
+			this.value = value;
+			this.expiresAt = expiresAt;
+			this.weight = weight;
+		}
+		
+		/**
+		 * Retrieves whether the value expired or not.
+		 * 
+		 * @return The result.
+		 */
+		private boolean isExpired() {
+			return System.currentTimeMillis() >= expiresAt;
+		}
+		
+	}
+	
+}
@@ -0,0 +1,740 @@
+package com.nattguld.tasker.util;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe attributes, primitive values live in mutable slots which are updated in place.
+ * A key holds either an integral, a floating point or an object value, counter updates of another kind are refused.
+ * 
+ * @author randqm
+ *
+ */
+
+public class ConcurrentAttributes implements IAttributes {
+	
+	/**
+	 * The kind of a slot holding a boolean.
+	 */
+	private static final byte BOOLEAN = 1;
+	
+	/**
+	 * The kind of a slot holding a byte.
+	 */
+	private static final byte BYTE = 2;
+	
+	/**
+	 * The kind of a slot holding a char.
+	 */
+	private static final byte CHAR = 3;
+	
+	/**
+	 * The kind of a slot holding an integer.
+	 */
+	private static final byte INT = 4;
+	
+	/**
+	 * The kind of a slot holding a long.
+	 */
+	private static final byte LONG = 5;
+	
+	/**
+	 * The kind of a slot holding a float.
+	 */
+	private static final byte FLOAT = 6;
+	
+	/**
+	 * The kind of a slot holding a double.
+	 */
+	private static final byte DOUBLE = 7;
+	
+	/**
+	 * Stands in for null values, which the backing map doesn't allow.
+	 */
+	private static final Object NULL = new Object();
+	
+	/**
+	 * The map containing the key-value pairs, primitive values are held in slots.
+	 */
+	private final Map<String, Object> kvps = new ConcurrentHashMap<>();
+	
+	
+	@Override
+	public void put(String key, Object value) {
+		Slot slot = slotOf(value);
+		
+		if (Objects.nonNull(slot)) {
+			store(key, slot.kind, slot.bits);
+			return;
+		}
+		kvps.put(key, Objects.isNull(value) ? NULL : value);
+	}
+	
+	@Override
+	public void put(String key, boolean value) {
+		store(key, BOOLEAN, value ? 1L : 0L);
+	}
+	
+	@Override
+	public void put(String key, byte value) {
+		store(key, BYTE, value);
+	}
+	
+	@Override
+	public void put(String key, char value) {
+		store(key, CHAR, value);
+	}
+	
+	@Override
+	public void put(String key, int value) {
+		store(key, INT, value);
+	}
+	
+	@Override
+	public void put(String key, long value) {
+		store(key, LONG, value);
+	}
+	
+	@Override
+	public void put(String key, float value) {
+		store(key, FLOAT, Double.doubleToRawLongBits(value));
+	}
+	
+	@Override
+	public void put(String key, double value) {
+		store(key, DOUBLE, Double.doubleToRawLongBits(value));
+	}
+	
+	/**
+	 * Stores a primitive value, in place when the key already holds a value of the same kind.
+	 * 
+	 * @param key The key.
+	 * 
+	 * @param kind The value kind.
+	 * 
+	 * @param bits The value bits.
+	 */
+	private void store(String key, byte kind, long bits) {
+		Object current = kvps.get(key);
+		
+		if (!(current instanceof Slot) || !((Slot)current).set(kind, bits)) {
+			kvps.put(key, new Slot(kind, bits));
+		}
+	}
+	
+	@Override
+	public boolean has(String key) {
+		return kvps.containsKey(key);
+	}
+	
+	@Override
+	public Object get(String key, Object defaultValue) {
+		Object value = kvps.get(key);
+		return Objects.isNull(value) ? defaultValue : unwrap(value);
+	}
+	
+	@Override
+	public Object get(String key) {
+		return get(key, null);
+	}
+	
+	@Override
+	public char getAsChar(String key, char defaultValue) {
+		Object value = kvps.get(key);
+		
+		if (Objects.isNull(value)) {
+			return defaultValue;
+		}
+		return value instanceof Slot ? (char)((Slot)value).integral() : (Character)unwrap(value);
+	}
+	
+	@Override
+	public char getAsChar(String key) {
+		return getAsChar(key, Character.MIN_VALUE);
+	}
+	
+	@Override
+	public String getAsString(String key, String defaultValue) {
+		return (String)get(key, defaultValue);
+	}
+	
+	@Override
+	public String getAsString(String key) {
+		return getAsString(key, "");
+	}
+	
+	@Override
+	public byte getAsByte(String key, byte defaultValue) {
+		Object value = kvps.get(key);
+		return Objects.isNull(value) ? defaultValue : (byte)integral(value);
+	}
+	
+	@Override
+	public byte getAsByte(String key) {
+		return getAsByte(key, (byte)0);
+	}
+	
+	@Override
+	public float getAsFloat(String key, float defaultValue) {
+		Object value = kvps.get(key);
+		return Objects.isNull(value) ? defaultValue : (float)decimal(value);
+	}
+	
+	@Override
+	public float getAsFloat(String key) {
+		return getAsFloat(key, 0f);
+	}
+	
+	@Override
+	public double getAsDouble(String key, double defaultValue) {
+		Object value = kvps.get(key);
+		return Objects.isNull(value) ? defaultValue : decimal(value);
+	}
+	
+	@Override
+	public double getAsDouble(String key) {
+		return getAsDouble(key, 0d);
+	}
+	
+	@Override
+	public int getAsInt(String key, int defaultValue) {
+		Object value = kvps.get(key);
+		return Objects.isNull(value) ? defaultValue : (int)integral(value);
+	}
+	
+	@Override
+	public int getAsInt(String key) {
+		return getAsInt(key, 0);
+	}
+	
+	@Override
+	public long getAsLong(String key, long defaultValue) {
+		Object value = kvps.get(key);
+		return Objects.isNull(value) ? defaultValue : integral(value);
+	}
+	
+	@Override
+	public long getAsLong(String key) {
+		return getAsLong(key, 0l);
+	}
+	
+	@Override
+	public boolean getAsBool(String key, boolean defaultValue) {
+		Object value = kvps.get(key);
+		
+		if (Objects.isNull(value)) {
+			return defaultValue;
+		}
+		return value instanceof Slot ? ((Slot)value).integral() != 0L : (Boolean)unwrap(value);
+	}
+	
+	@Override
+	public boolean getAsBool(String key) {
+		return getAsBool(key, false);
+	}
+	
+	@Override
+	public byte increment(String key, byte value) {
+		return (byte)addAndGet(key, BYTE, value);
+	}
+	
+	@Override
+	public byte decrement(String key, byte value) {
+		return increment(key, (byte)-value);
+	}
+	
+	@Override
+	public int increment(String key, int value) {
+		return (int)addAndGet(key, INT, value);
+	}
+	
+	@Override
+	public int decrement(String key, int value) {
+		return increment(key, -value);
+	}
+	
+	@Override
+	public long increment(String key, long value) {
+		return addAndGet(key, LONG, value);
+	}
+	
+	@Override
+	public long decrement(String key, long value) {
+		return increment(key, -value);
+	}
+	
+	@Override
+	public float increment(String key, float value) {
+		return (float)addAndGet(key, FLOAT, (double)value);
+	}
+	
+	@Override
+	public float decrement(String key, float value) {
+		return increment(key, -value);
+	}
+	
+	@Override
+	public double increment(String key, double value) {
+		return addAndGet(key, DOUBLE, value);
+	}
+	
+	@Override
+	public double decrement(String key, double value) {
+		return increment(key, -value);
+	}
+	
+	/**
+	 * Adds to an integral counter.
+	 * 
+	 * @param key The key.
+	 * 
+	 * @param kind The value kind.
+	 * 
+	 * @param delta The value to add.
+	 * 
+	 * @return The new value.
+	 */
+	private long addAndGet(String key, byte kind, long delta) {
+		return counter(key, kind).addAndGet(delta);
+	}
+	
+	/**
+	 * Adds to a floating point counter.
+	 * 
+	 * @param key The key.
+	 * 
+	 * @param kind The value kind.
+	 * 
+	 * @param delta The value to add.
+	 * 
+	 * @return The new value.
+	 */
+	private double addAndGet(String key, byte kind, double delta) {
+		return counter(key, kind).addAndGet(delta);
+	}
+	
+	@Override
+	public void add(String key, long value) {
+		counter(key, LONG).add(value);
+	}
+	
+	@Override
+	public boolean compareAndSet(String key, long expect, long update) {
+		return counter(key, LONG).compareAndSet(expect, update);
+	}
+	
+	@Override
+	public boolean compareAndSet(String key, Object expect, Object update) {
+		Slot next = slotOf(update);
+		Object value = Objects.nonNull(next) ? next : Objects.isNull(update) ? NULL : update;
+		
+		if (Objects.isNull(expect)) {
+			return Objects.isNull(kvps.putIfAbsent(key, value));
+		}
+		Object current = kvps.get(key);
+		
+		if (!(current instanceof Slot)) {
+			return Objects.nonNull(current) && kvps.replace(key, expect, value);
+		}
+		Slot slot = (Slot)current;
+		
+		if (Objects.nonNull(next) && next.decimal == slot.decimal) {
+			return slot.compareAndSet(expect, next.kind, next.bits);
+		}
+		return expect.equals(slot.box()) && kvps.replace(key, slot, value);
+	}
+	
+	/**
+	 * Retrieves the counter of a key, creating it when the key doesn't exist.
+	 * 
+	 * @param key The key.
+	 * 
+	 * @param kind The value kind of the update.
+	 * 
+	 * @return The counter.
+	 */
+	private Slot counter(String key, byte kind) {
+		Object current = kvps.get(key);
+		
+		if (Objects.isNull(current)) {
+			current = kvps.computeIfAbsent(key, k -> new Slot(kind, 0L));
+		}
+		if (!(current instanceof Slot) || ((Slot)current).decimal != isDecimal(kind)) {
+			throw new IllegalStateException(key + " doesn't hold " + (isDecimal(kind) ? "a floating point" : "an integral") + " value");
+		}
+		Slot slot = (Slot)current;
+		slot.mark(kind);
+		return slot;
+	}
+	
+	/**
+	 * Retrieves a copy of the key-value pairs without holding off writers.
+	 * Every value is read atomically, values updated while the copy is collected are either from before or after that update.
+	 * 
+	 * @return The key-value pairs.
+	 */
+	public Map<String, Object> snapshot() {
+		Map<String, Object> copy = new HashMap<>();
+		
+		for (Map.Entry<String, Object> entry : kvps.entrySet()) {
+			copy.put(entry.getKey(), unwrap(entry.getValue()));
+		}
+		return Collections.unmodifiableMap(copy);
+	}
+	
+	@Override
+	public void clear() {
+		kvps.clear();
+	}
+	
+	@Override
+	public int size() {
+		return kvps.size();
+	}
+	
+	@Override
+	public Map<String, Object> getKvps() {
+		return new HashMap<>(snapshot());
+	}
+	
+	/**
+	 * Retrieves the integral value of a stored value.
+	 * 
+	 * @param value The stored value.
+	 * 
+	 * @return The value.
+	 */
+	private static long integral(Object value) {
+		return value instanceof Slot ? ((Slot)value).integral() : ((Number)unwrap(value)).longValue();
+	}
+	
+	/**
+	 * Retrieves the floating point value of a stored value.
+	 * 
+	 * @param value The stored value.
+	 * 
+	 * @return The value.
+	 */
+	private static double decimal(Object value) {
+		return value instanceof Slot ? ((Slot)value).decimal() : ((Number)unwrap(value)).doubleValue();
+	}
+	
+	/**
+	 * Retrieves the value a stored value represents, slots are represented by their boxed value.
+	 * 
+	 * @param value The stored value.
+	 * 
+	 * @return The value.
+	 */
+	private static Object unwrap(Object value) {
+		if (value == NULL) {
+			return null;
+		}
+		return value instanceof Slot ? ((Slot)value).box() : value;
+	}
+	
+	/**
+	 * Creates a slot holding a boxed primitive.
+	 * 
+	 * @param value The value.
+	 * 
+	 * @return The slot, null when the value isn't a boxed primitive.
+	 */
+	private static Slot slotOf(Object value) {
+		if (value instanceof Integer) {
+			return new Slot(INT, (Integer)value);
+		}
+		if (value instanceof Long) {
+			return new Slot(LONG, (Long)value);
+		}
+		if (value instanceof Double) {
+			return new Slot(DOUBLE, Double.doubleToRawLongBits((Double)value));
+		}
+		if (value instanceof Float) {
+			return new Slot(FLOAT, Double.doubleToRawLongBits((Float)value));
+		}
+		if (value instanceof Boolean) {
+			return new Slot(BOOLEAN, (Boolean)value ? 1L : 0L);
+		}
+		if (value instanceof Byte) {
+			return new Slot(BYTE, (Byte)value);
+		}
+		if (value instanceof Character) {
+			return new Slot(CHAR, (Character)value);
+		}
+		return null;
+	}
+	
+	/**
+	 * Retrieves whether a value kind is floating point or not.
+	 * 
+	 * @param kind The value kind.
+	 * 
+	 * @return The result.
+	 */
+	private static boolean isDecimal(byte kind) {
+		return kind == FLOAT || kind == DOUBLE;
+	}
+	
+	
+	/**
+	 * Holds a primitive value which is updated in place, floating point values are stored as their double bits.
+	 * An integral value is the sum of its bits and its striped counter, writes store the bits relative to the counter sum they read
+	 * so that every addition counts either before or after the write.
+	 */
+	private static final class Slot {
+		
+		/**
+		 * Updates the value bits atomically.
+		 */
+		private static final AtomicLongFieldUpdater<Slot> BITS = AtomicLongFieldUpdater.newUpdater(Slot.class, "bits");
+		
+		/**
+		 * Installs the striped counter atomically.
+		 */
+		private static final AtomicReferenceFieldUpdater<Slot, LongAdder> ADDER = AtomicReferenceFieldUpdater.newUpdater(Slot.class, LongAdder.class, "adder");
+		
+		/**
+		 * Whether the slot holds a floating point value or not.
+		 */
+		private final boolean decimal;
+		
+		/**
+		 * The value kind of the last write.
+		 */
+		private volatile byte kind;
+		
+		/**
+		 * The value bits.
+		 */
+		private volatile long bits;
+		
+		/**
+		 * The striped counter added to the integral value, null until added to.
+		 */
+		private volatile LongAdder adder;
+		
+		
+		/**
+		 * Creates a new slot.
+		 * 
+		 * @param kind The value kind.
+		 * 
+		 * @param bits The value bits.
+		 */
+		private Slot(byte kind, long bits) {
+			this.decimal = isDecimal(kind);
+			this.kind = kind;
+			this.bits = bits;
+		}
+		
+		/**
+		 * Overwrites the value when it's of the same kind.
+		 * 
+		 * @param kind The value kind.
+		 * 
+		 * @param bits The value bits.
+		 * 
+		 * @return Whether the value got overwritten or not.
+		 */
+		private boolean set(byte kind, long bits) {
+			if (isDecimal(kind) != decimal) {
+				return false;
+			}
+			while (true) {
+				long current = this.bits;
+				
+				if (BITS.compareAndSet(this, current, bits - striped())) {
+					this.kind = kind;
+					return true;
+				}
+			}
+		}
+		
+		/**
+		 * Marks the value kind of an update.
+		 * 
+		 * @param kind The value kind.
+		 */
+		private void mark(byte kind) {
+			if (this.kind != kind) {
+				this.kind = kind;
+			}
+		}
+		
+		/**
+		 * Adds to the integral value.
+		 * 
+		 * @param delta The value to add.
+		 * 
+		 * @return The new value.
+		 */
+		private long addAndGet(long delta) {
+			return BITS.addAndGet(this, delta) + striped();
+		}
+		
+		/**
+		 * Adds to the floating point value.
+		 * 
+		 * @param delta The value to add.
+		 * 
+		 * @return The new value.
+		 */
+		private double addAndGet(double delta) {
+			while (true) {
+				long current = bits;
+				double result = Double.longBitsToDouble(current) + delta;
+				
+				if (BITS.compareAndSet(this, current, Double.doubleToRawLongBits(result))) {
+					return result;
+				}
+			}
+		}
+		
+		/**
+		 * Adds to the integral value through the striped counter.
+		 * 
+		 * @param delta The value to add.
+		 */
+		private void add(long delta) {
+			LongAdder striped = adder;
+			
+			if (Objects.isNull(striped)) {
+				ADDER.compareAndSet(this, null, new LongAdder());
+				striped = adder;
+			}
+			striped.add(delta);
+		}
+		
+		/**
+		 * Sets the integral value when it currently holds the expected value.
+		 * 
+		 * @param expect The expected value.
+		 * 
+		 * @param update The new value.
+		 * 
+		 * @return Whether the value got set or not.
+		 */
+		private boolean compareAndSet(long expect, long update) {
+			while (true) {
+				long current = bits;
+				long striped = striped();
+				
+				if (current + striped != expect) {
+					return false;
+				}
+				if (BITS.compareAndSet(this, current, update - striped)) {
+					return true;
+				}
+			}
+		}
+		
+		/**
+		 * Sets the value when its boxed form equals the expected value.
+		 * 
+		 * @param expect The expected value.
+		 * 
+		 * @param kind The new value kind.
+		 * 
+		 * @param update The new value bits.
+		 * 
+		 * @return Whether the value got set or not.
+		 */
+		private boolean compareAndSet(Object expect, byte kind, long update) {
+			while (true) {
+				long current = bits;
+				long striped = striped();
+				
+				if (!expect.equals(box(this.kind, current + striped))) {
+					return false;
+				}
+				if (BITS.compareAndSet(this, current, update - striped)) {
+					this.kind = kind;
+					return true;
+				}
+			}
+		}
+		
+		/**
+		 * Retrieves the integral value.
+		 * 
+		 * @return The value.
+		 */
+		private long integral() {
+			if (decimal) {
+				return (long)Double.longBitsToDouble(bits);
+			}
+			return bits + striped();
+		}
+		
+		/**
+		 * Retrieves the sum of the striped counter.
+		 * 
+		 * @return The sum, 0 when never added to.
+		 */
+		private long striped() {
+			LongAdder striped = adder;
+			return Objects.isNull(striped) ? 0L : striped.sum();
+		}
+		
+		/**
+		 * Retrieves the floating point value.
+		 * 
+		 * @return The value.
+		 */
+		private double decimal() {
+			return decimal ? Double.longBitsToDouble(bits) : integral();
+		}
+		
+		/**
+		 * Retrieves the value boxed by its kind.
+		 * 
+		 * @return The value.
+		 */
+		private Object box() {
+			return decimal ? box(kind, bits) : box(kind, integral());
+		}
+		
+		/**
+		 * Boxes value bits by their kind.
+		 * 
+		 * @param kind The value kind.
+		 * 
+		 * @param bits The value bits.
+		 * 
+		 * @return The value.
+		 */
+		private static Object box(byte kind, long bits) {
+			switch (kind) {
+			case BOOLEAN:
+				return bits != 0L;
+			
+			case BYTE:
+				return (byte)bits;
+			
+			case CHAR:
+				return (char)bits;
+			
+			case INT:
+				return (int)bits;
+			
+			case FLOAT:
+				return (float)Double.longBitsToDouble(bits);
+			
+			case DOUBLE:
+				return Double.longBitsToDouble(bits);
+			
+			default:
+				return bits;
+			}
+		}
+		
+	}
+	
+}
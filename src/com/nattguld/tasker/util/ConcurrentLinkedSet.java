@@ -0,0 +1,250 @@
+package com.nattguld.tasker.util;
+
+import java.util.AbstractQueue;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 
+ * @author randqm
+ *
+ */
+
+public class ConcurrentLinkedSet<E> extends AbstractQueue<E> {
+	
+	/**
+	 * The minimum amount of removed nodes before the order gets purged.
+	 */
+	private static final int MIN_PURGE_THRESHOLD = 32;
+	
+	/**
+	 * Holds the node of each element.
+	 */
+	private final Map<E, Node<E>> index = new ConcurrentHashMap<>();
+	
+	/**
+	 * Holds the nodes in insertion order.
+	 */
+	private final ConcurrentLinkedQueue<Node<E>> order = new ConcurrentLinkedQueue<>();
+	
+	/**
+	 * The amount of removed nodes still held in the order.
+	 */
+	private final AtomicInteger garbage = new AtomicInteger();
+	
+	/**
+	 * Whether the order is being purged or not.
+	 */
+	private final AtomicBoolean purging = new AtomicBoolean();
+	
+	
+	@Override
+	public boolean add(E element) {
+		return offer(element);
+	}
+	
+	@Override
+	public boolean offer(E element) {
+		Node<E> node = new Node<>(Objects.requireNonNull(element));
+		
+		if (Objects.nonNull(index.putIfAbsent(element, node))) {
+			return false;
+		}
+		order.offer(node);
+		return true;
+	}
+	
+	@Override
+	public E poll() {
+		for (Node<E> node = order.poll(); Objects.nonNull(node); node = order.poll()) {
+			if (node.removed) {
+				garbage.decrementAndGet();
+				continue;
+			}
+			if (index.remove(node.element, node)) {
+				node.removed = true;
+				return node.element;
+			}
+		}
+		return null;
+	}
+	
+	@Override
+	public E peek() {
+		for (Node<E> node = order.peek(); Objects.nonNull(node); node = order.peek()) {
+			if (!node.removed) {
+				return node.element;
+			}
+			if (order.remove(node)) {
+				garbage.decrementAndGet();
+			}
+		}
+		return null;
+	}
+	
+	@Override
+	public boolean contains(Object element) {
+		return Objects.nonNull(element) && index.containsKey(element);
+	}
+	
+	@Override
+	public boolean remove(Object element) {
+		if (Objects.isNull(element)) {
+			return false;
+		}
+		Node<E> node = index.remove(element);
+		
+		if (Objects.isNull(node)) {
+			return false;
+		}
+		discard(node);
+		return true;
+	}
+	
+	/**
+	 * Marks a node removed from the index as garbage.
+	 * 
+	 * @param node The node.
+	 */
+	private void discard(Node<E> node) {
+		node.removed = true;
+		
+		if (garbage.incrementAndGet() > Math.max(MIN_PURGE_THRESHOLD, index.size())) {
+			purge();
+		}
+	}
+	
+	/**
+	 * Drops the removed nodes from the order.
+	 */
+	private void purge() {
+		if (!purging.compareAndSet(false, true)) {
+			return;
+		}
+		try {
+			garbage.set(0);
+			
+			for (Iterator<Node<E>> it = order.iterator(); it.hasNext();) {
+				if (it.next().removed) {
+					it.remove();
+				}
+			}
+		} finally {
+			purging.set(false);
+		}
+	}
+	
+	@Override
+	public void clear() {
+		while (Objects.nonNull(poll()));
+	}
+	
+	@Override
+	public int size() {
+		return index.size();
+	}
+	
+	@Override
+	public boolean isEmpty() {
+		return index.isEmpty();
+	}
+	
+	@Override
+	public Iterator<E> iterator() {
+		return new Iterator<E>() {
+			
+			/**
+			 * The iterator over the nodes.
+			 */
+			private final Iterator<Node<E>> nodes = order.iterator();
+			
+			/**
+			 * The next node to return.
+			 */
+			private Node<E> next = advance();
+			
+			/**
+			 * The last returned node.
+			 */
+			private Node<E> last;
+			
+			
+			/**
+			 * Retrieves the next node that has not been removed.
+			 * 
+			 * @return The node.
+			 */
+			private Node<E> advance() {
+				while (nodes.hasNext()) {
+					Node<E> node = nodes.next();
+					
+					if (!node.removed) {
+						return node;
+					}
+				}
+				return null;
+			}
+			
+			@Override
+			public boolean hasNext() {
+				return Objects.nonNull(next);
+			}
+			
+			@Override
+			public E next() {
+				if (Objects.isNull(next)) {
+					throw new NoSuchElementException();
+				}
+				last = next;
+				next = advance();
+				return last.element;
+			}
+			
+			@Override
+			public void remove() {
+				if (Objects.isNull(last)) {
+					throw new IllegalStateException();
+				}
+				if (index.remove(last.element, last)) {
+					discard(last);
+				}
+				last = null;
+			}
+		};
+	}
+	
+	
+	/**
+	 * A set element's position in the insertion order.
+	 */
+	private static final class Node<E> {
+		
+		/**
+		 * The element.
+		 */
+		private final E element;
+		
+		/**
+		 * Whether the node has been removed or not.
+		 */
+		private volatile boolean removed;
+		
+		
+		/**
+		 * Creates a new node.
+		 * 
+		 * @param element The element.
+		 */
+		private Node(E element) {
+			this.element = element;
+		}
+		
+	}
+	
+}
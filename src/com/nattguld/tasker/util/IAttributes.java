@@ -0,0 +1,440 @@
+package com.nattguld.tasker.util;
+
+import java.util.Map;
+
+/**
+ * 
+ * @author randqm
+ *
+ */
+
+public interface IAttributes {
+	
+	
+	/**
+	 * Sets a new key-value pair.
+	 * Boxed primitives are stored in their primitive form.
+	 * 
+	 * @param key The key.
+	 * 
+	 * @param value The value.
+	 */
+	public void put(String key, Object value);
+	
+	/**
+	 * Sets a new key-value pair.
+	 * 
+	 * @param key The key.
+	 * 
+	 * @param value The value.
+	 */
+	public void put(String key, boolean value);
+	
+	/**
+	 * Sets a new key-value pair.
+	 * 
+	 * @param key The key.
+	 * 
+	 * @param value The value.
+	 */
+	public void put(String key, byte value);
+	
+	/**
+	 * Sets a new key-value pair.
+	 * 
+	 * @param key The key.
+	 * 
+	 * @param value The value.
+	 */
+	public void put(String key, char value);
+	
+	/**
+	 * Sets a new key-value pair.
+	 * 
+	 * @param key The key.
+	 * 
+	 * @param value The value.
+	 */
+	public void put(String key, int value);
+	
+	/**
+	 * Sets a new key-value pair.
+	 * 
+	 * @param key The key.
+	 * 
+	 * @param value The value.
+	 */
+	public void put(String key, long value);
+	
+	/**
+	 * Sets a new key-value pair.
+	 * 
+	 * @param key The key.
+	 * 
+	 * @param value The value.
+	 */
+	public void put(String key, float value);
+	
+	/**
+	 * Sets a new key-value pair.
+	 * 
+	 * @param key The key.
+	 * 
+	 * @param value The value.
+	 */
+	public void put(String key, double value);
+	
+	/**
+	 * Retrieves whether a key exists or not.
+	 * 
+	 * @param key The key.
+	 * 
+	 * @return The result.
+	 */
+	public boolean has(String key);
+	
+	/**
+	 * Retrieves a value for a given key.
+	 * 
+	 * @param key The key.
+	 * 
+	 * @param defaultValue The default value.
+	 * 
+	 * @return The value.
+	 */
+	public Object get(String key, Object defaultValue);
+	
+	/**
+	 * Retrieves a value for a given key.
+	 * 
+	 * @param key The key.
+	 * 
+	 * @return The value.
+	 */
+	public Object get(String key);
+	
+	/**
+	 * Retrieves a char value for a given key.
+	 * 
+	 * @param key The key.
+	 * 
+	 * @param defaultValue The default value.
+	 * 
+	 * @return The char value.
+	 */
+	public char getAsChar(String key, char defaultValue);
+	
+	/**
+	 * Retrieves a char value for a given key.
+	 * 
+	 * @param key The key.
+	 * 
+	 * @return The char value.
+	 */
+	public char getAsChar(String key);
+	
+	/**
+	 * Retrieves a string value for a given key.
+	 * 
+	 * @param key The key.
+	 * 
+	 * @param defaultValue The default value.
+	 * 
+	 * @return The string value.
+	 */
+	public String getAsString(String key, String defaultValue);
+	
+	/**
+	 * Retrieves a string value for a given key.
+	 * 
+	 * @param key The key.
+	 * 
+	 * @return The string value.
+	 */
+	public String getAsString(String key);
+	
+	/**
+	 * Retrieves a byte value for a given key.
+	 * 
+	 * @param key The key.
+	 * 
+	 * @param defaultValue The default value.
+	 * 
+	 * @return The byte value.
+	 */
+	public byte getAsByte(String key, byte defaultValue);
+	
+	/**
+	 * Retrieves a byte value for a given key.
+	 * 
+	 * @param key The key.
+	 * 
+	 * @return The byte value.
+	 */
+	public byte getAsByte(String key);
+	
+	/**
+	 * Retrieves a float value for a given key.
+	 * 
+	 * @param key The key.
+	 * 
+	 * @param defaultValue The default value.
+	 * 
+	 * @return The float value.
+	 */
+	public float getAsFloat(String key, float defaultValue);
+	
+	/**
+	 * Retrieves a float value for a given key.
+	 * 
+	 * @param key The key.
+	 * 
+	 * @return The float value.
+	 */
+	public float getAsFloat(String key);
+	
+	/**
+	 * Retrieves a double value for a given key.
+	 * 
+	 * @param key The key.
+	 * 
+	 * @param defaultValue The default value.
+	 * 
+	 * @return The double value.
+	 */
+	public double getAsDouble(String key, double defaultValue);
+	
+	/**
+	 * Retrieves a double value for a given key.
+	 * 
+	 * @param key The key.
+	 * 
+	 * @return The double value.
+	 */
+	public double getAsDouble(String key);
+	
+	/**
+	 * Retrieves an integer value for a given key.
+	 * 
+	 * @param key The key.
+	 * 
+	 * @param defaultValue The default value.
+	 * 
+	 * @return The integer value.
+	 */
+	public int getAsInt(String key, int defaultValue);
+	
+	/**
+	 * Retrieves an integer value for a given key.
+	 * 
+	 * @param key The key.
+	 * 
+	 * @return The integer value.
+	 */
+	public int getAsInt(String key);
+	
+	/**
+	 * Retrieves a long value for a given key.
+	 * 
+	 * @param key The key.
+	 * 
+	 * @param defaultValue The default value.
+	 * 
+	 * @return The long value.
+	 */
+	public long getAsLong(String key, long defaultValue);
+	
+	/**
+	 * Retrieves a long value for a given key.
+	 * 
+	 * @param key The key.
+	 * 
+	 * @return The long value.
+	 */
+	public long getAsLong(String key);
+	
+	/**
+	 * Retrieves a boolean value for a given key.
+	 * 
+	 * @param key The key.
+	 * 
+	 * @param defaultValue The default value.
+	 * 
+	 * @return The boolean value.
+	 */
+	public boolean getAsBool(String key, boolean defaultValue);
+	
+	/**
+	 * Retrieves a boolean value for a given key.
+	 * 
+	 * @param key The key.
+	 * 
+	 * @return The boolean value.
+	 */
+	public boolean getAsBool(String key);
+	
+	/**
+	 * Increments a value with another byte value.
+	 * 
+	 * @param key The key.
+	 * 
+	 * @param value The increment value.
+	 * 
+	 * @return The new value.
+	 */
+	public byte increment(String key, byte value);
+	
+	/**
+	 * Decrements a value with another byte value.
+	 * 
+	 * @param key The key.
+	 * 
+	 * @param value The decrement value.
+	 * 
+	 * @return The new value.
+	 */
+	public byte decrement(String key, byte value);
+	
+	/**
+	 * Increments a value with another integer value.
+	 * 
+	 * @param key The key.
+	 * 
+	 * @param value The increment value.
+	 * 
+	 * @return The new value.
+	 */
+	public int increment(String key, int value);
+	
+	/**
+	 * Decrements a value with another integer value.
+	 * 
+	 * @param key The key.
+	 * 
+	 * @param value The decrement value.
+	 * 
+	 * @return The new value.
+	 */
+	public int decrement(String key, int value);
+	
+	/**
+	 * Increments a value with another float value.
+	 * 
+	 * @param key The key.
+	 * 
+	 * @param value The increment value.
+	 * 
+	 * @return The new value.
+	 */
+	public float increment(String key, float value);
+	
+	/**
+	 * Decrements a value with another float value.
+	 * 
+	 * @param key The key.
+	 * 
+	 * @param value The decrement value.
+	 * 
+	 * @return The new value.
+	 */
+	public float decrement(String key, float value);
+	
+	/**
+	 * Increments a value with another double value.
+	 * 
+	 * @param key The key.
+	 * 
+	 * @param value The increment value.
+	 * 
+	 * @return The new value.
+	 */
+	public double increment(String key, double value);
+	
+	/**
+	 * Decrements a value with another double value.
+	 * 
+	 * @param key The key.
+	 * 
+	 * @param value The decrement value.
+	 * 
+	 * @return The new value.
+	 */
+	public double decrement(String key, double value);
+	
+	/**
+	 * Increments a value with another long value.
+	 * 
+	 * @param key The key.
+	 * 
+	 * @param value The increment value.
+	 * 
+	 * @return The new value.
+	 */
+	public long increment(String key, long value);
+	
+	/**
+	 * Decrements a value with another long value.
+	 * 
+	 * @param key The key.
+	 * 
+	 * @param value The decrement value.
+	 * 
+	 * @return The new value.
+	 */
+	public long decrement(String key, long value);
+	
+	/**
+	 * Adds to an integral value without retrieving the new value.
+	 * 
+	 * @param key The key.
+	 * 
+	 * @param value The value to add.
+	 */
+	public void add(String key, long value);
+	
+	/**
+	 * Sets an integral value to a new value when it currently holds the expected value.
+	 * 
+	 * @param key The key.
+	 * 
+	 * @param expect The expected value.
+	 * 
+	 * @param update The new value.
+	 * 
+	 * @return Whether the value got set or not.
+	 */
+	public boolean compareAndSet(String key, long expect, long update);
+	
+	/**
+	 * Sets a value when the current value equals the expected value.
+	 * 
+	 * @param key The key.
+	 * 
+	 * @param expect The expected value, null when the key shouldn't exist.
+	 * 
+	 * @param update The new value.
+	 * 
+	 * @return Whether the value got set or not.
+	 */
+	public boolean compareAndSet(String key, Object expect, Object update);
+	
+	/**
+	 * Clears the attributes.
+	 */
+	public void clear();
+	
+	/**
+	 * Retrieves the amount of key-value pairs.
+	 * 
+	 * @return The amount.
+	 */
+	public int size();
+	
+	/**
+	 * Retrieves a copy of the key-value pairs with primitive values boxed.
+	 * 
+	 * @return The key-value pairs.
+	 */
+	public Map<String, Object> getKvps();
+	
+}
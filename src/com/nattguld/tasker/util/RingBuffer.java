@@ -0,0 +1,147 @@
+package com.nattguld.tasker.util;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * 
+ * @author randqm
+ *
+ */
+
+public class RingBuffer<E> {
+	
+	/**
+	 * Holds the elements by slot.
+	 */
+	private final AtomicReferenceArray<E> slots;
+	
+	/**
+	 * The mask to map sequences on slots.
+	 */
+	private final int mask;
+	
+	/**
+	 * The sequence of the next element to offer.
+	 */
+	private final AtomicLong tail = new AtomicLong();
+	
+	/**
+	 * The amount of elements rejected because the buffer was full.
+	 */
+	private final AtomicLong dropped = new AtomicLong();
+	
+	/**
+	 * The sequence of the next element to consume.
+	 */
+	private volatile long head;
+	
+	
+	/**
+	 * Creates a new bounded lock-free buffer for many producers and a single consumer.
+	 * 
+	 * @param capacity The minimum capacity, rounded up to a power of two.
+	 */
+	public RingBuffer(int capacity) {
+		int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+		
+		this.slots = new AtomicReferenceArray<>(size);
+		this.mask = size - 1;
+	}
+	
+	/**
+	 * Offers an element without ever blocking.
+	 * 
+	 * @param element The element.
+	 * 
+	 * @return Whether the element got added or not, false when the buffer is full.
+	 */
+	public boolean offer(E element) {
+		Objects.requireNonNull(element);
+		
+		long sequence;
+		
+		do {
+			sequence = tail.get();
+			
+			if (sequence - head >= slots.length()) {
+				dropped.incrementAndGet();
+				return false;
+			}
+		} while (!tail.compareAndSet(sequence, sequence + 1));
+		
+		slots.lazySet((int)sequence & mask, element);
+		return true;
+	}
+	
+	/**
+	 * Passes the buffered elements to a consumer, only to be called by a single consumer thread.
+	 * 
+	 * @param consumer The consumer.
+	 * 
+	 * @param limit The maximum amount of elements to drain.
+	 * 
+	 * @return The amount of drained elements.
+	 */
+	public int drain(Consumer<? super E> consumer, int limit) {
+		long sequence = head;
+		int drained = 0;
+		
+		try {
+			while (drained < limit) {
+				int slot = (int)sequence & mask;
+				E element = slots.get(slot);
+				
+				if (Objects.isNull(element)) {
+					break;
+				}
+				slots.lazySet(slot, null);
+				sequence++;
+				drained++;
+				consumer.accept(element);
+			}
+		} finally {
+			head = sequence;
+		}
+		return drained;
+	}
+	
+	/**
+	 * Retrieves whether the buffer is empty or not.
+	 * 
+	 * @return The result.
+	 */
+	public boolean isEmpty() {
+		return head == tail.get();
+	}
+	
+	/**
+	 * Retrieves the amount of buffered elements.
+	 * 
+	 * @return The amount.
+	 */
+	public int size() {
+		return (int)Math.max(0L, tail.get() - head);
+	}
+	
+	/**
+	 * Retrieves the capacity.
+	 * 
+	 * @return The capacity.
+	 */
+	public int capacity() {
+		return slots.length();
+	}
+	
+	/**
+	 * Retrieves the amount of elements rejected because the buffer was full.
+	 * 
+	 * @return The amount.
+	 */
+	public long getDroppedCount() {
+		return dropped.get();
+	}
+	
+}
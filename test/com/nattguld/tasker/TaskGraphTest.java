@@ -0,0 +1,180 @@
+package com.nattguld.tasker;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.nattguld.tasker.tasks.Task;
+import com.nattguld.tasker.tasks.TaskState;
+
+/**
+ * 
+ * @author randqm
+ *
+ */
+
+public class TaskGraphTest {
+	
+	/**
+	 * The names of the executed tasks in execution order.
+	 */
+	private final List<String> executed = new CopyOnWriteArrayList<>();
+	
+	
+	/**
+	 * Runs a graph until it completes.
+	 * 
+	 * @param graph The graph.
+	 * 
+	 * @return The final state of the graph.
+	 * 
+	 * @throws Exception When the graph didn't complete in time.
+	 */
+	private static TaskState run(TaskGraph graph) throws Exception {
+		return TaskManager.submit(graph).get(5L, TimeUnit.SECONDS);
+	}
+	
+	/**
+	 * Creates a new task recording its execution.
+	 * 
+	 * @param name The task name.
+	 * 
+	 * @param outcome The state the task finishes with.
+	 * 
+	 * @return The task.
+	 */
+	private RecordingTask task(String name, TaskState outcome) {
+		return new RecordingTask(name, outcome, executed);
+	}
+	
+	@Test
+	public void tasksRunAfterTheirDependencies() throws Exception {
+		Task first = task("first", TaskState.FINISHED);
+		Task left = task("left", TaskState.FINISHED);
+		Task right = task("right", TaskState.FINISHED);
+		Task last = task("last", TaskState.FINISHED);
+		TaskGraph graph = new TaskGraph("graph")
+				.addTask(first)
+				.addTask(left, first)
+				.addTask(right, first)
+				.addTask(last, left, right);
+		
+		assertEquals(TaskState.FINISHED, run(graph));
+		assertEquals(4, executed.size());
+		assertEquals("first", executed.get(0));
+		assertEquals("last", executed.get(3));
+		assertTrue(executed.containsAll(Arrays.asList("left", "right")));
+		assertEquals(4, graph.getFinishedCount());
+		assertEquals(1D, graph.getProgress(), 0D);
+	}
+	
+	@Test
+	public void failuresSkipTheirDependents() throws Exception {
+		Task failing = task("failing", TaskState.ERROR);
+		Task dependent = task("dependent", TaskState.FINISHED);
+		Task transitive = task("transitive", TaskState.FINISHED);
+		Task independent = task("independent", TaskState.FINISHED);
+		TaskGraph graph = new TaskGraph("graph")
+				.addTask(failing)
+				.addTask(dependent, failing)
+				.addTask(transitive, dependent)
+				.addTask(independent);
+		
+		assertEquals(TaskState.ERROR, run(graph));
+		assertFalse(executed.contains("dependent"));
+		assertFalse(executed.contains("transitive"));
+		assertTrue(executed.contains("independent"));
+		assertEquals(1, graph.getFinishedCount());
+		assertEquals(1, graph.getFailedCount());
+		assertEquals(2, graph.getSkippedCount());
+		assertEquals(4, graph.getSettledCount());
+		assertTrue(dependent.getCompletion().isDone());
+	}
+	
+	@Test
+	public void countsResetPerRun() throws Exception {
+		TaskGraph graph = new TaskGraph("graph")
+				.addTask(task("first", TaskState.FINISHED))
+				.addTask(task("second", TaskState.FINISHED));
+		
+		assertEquals(TaskState.FINISHED, run(graph));
+		assertEquals(TaskState.FINISHED, run(graph));
+		assertEquals(4, executed.size());
+		assertEquals(2, graph.getFinishedCount());
+		assertEquals(2, graph.getSettledCount());
+	}
+	
+	@Test
+	public void emptyGraphsFinish() throws Exception {
+		TaskGraph graph = new TaskGraph("graph");
+		
+		assertEquals(TaskState.FINISHED, run(graph));
+		assertEquals(1D, graph.getProgress(), 0D);
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void refusesUnknownDependencies() {
+		new TaskGraph("graph").addTask(task("dependent", TaskState.FINISHED), task("unknown", TaskState.FINISHED));
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void refusesDuplicateTasks() {
+		Task task = task("task", TaskState.FINISHED);
+		
+		new TaskGraph("graph").addTask(task).addTask(task);
+	}
+	
+	
+	/**
+	 * A task recording its execution, finishing with a given state after a single attempt.
+	 */
+	private static final class RecordingTask extends Task {
+		
+		/**
+		 * The state the task finishes with.
+		 */
+		private final TaskState outcome;
+		
+		/**
+		 * The names of the executed tasks.
+		 */
+		private final List<String> executed;
+		
+		
+		/**
+		 * Creates a new recording task.
+		 * 
+		 * @param name The task name.
+		 * 
+		 * @param outcome The state the task finishes with.
+		 * 
+		 * @param executed The names of the executed tasks.
+		 */
+		private RecordingTask(String name, TaskState outcome, List<String> executed) {
+			super(name);
+			
+			this.outcome = outcome;
+			this.executed = executed;
+		}
+		
+		@Override
+		protected TaskState executeTask() {
+			executed.add(getName());
+			return outcome;
+		}
+		
+		@Override
+		protected int getMaxAttempts() {
+			return 1;
+		}
+		
+	}
+	
+}
@@ -0,0 +1,189 @@
+package com.nattguld.tasker;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.nattguld.tasker.cfg.TaskConfig;
+import com.nattguld.tasker.tasks.Task;
+import com.nattguld.tasker.tasks.TaskState;
+
+/**
+ * 
+ * @author randqm
+ *
+ */
+
+public class TaskManagerAdmissionTest {
+	
+	/**
+	 * Releases the blocking tasks.
+	 */
+	private final CountDownLatch release = new CountDownLatch(1);
+	
+	/**
+	 * The blocking tasks submitted during a test.
+	 */
+	private final List<BlockingTask> blocking = new ArrayList<>();
+	
+	
+	@Before
+	public void setup() {
+		TaskManager.updateMaxParallel(1);
+		TaskManager.updateMaxQueueSize(1);
+	}
+	
+	@After
+	public void restore() throws Exception {
+		release.countDown();
+		
+		for (BlockingTask task : blocking) {
+			task.getCompletion().get(5L, TimeUnit.SECONDS);
+		}
+		TaskManager.updateMaxParallel(TaskConfig.getConfig().getMaxParallel());
+		TaskManager.updateMaxQueueSize(TaskConfig.getConfig().getMaxQueueSize());
+	}
+	
+	/**
+	 * Fills the executor with a running and a queued blocking task.
+	 * 
+	 * @throws InterruptedException When interrupted while waiting for the running task.
+	 */
+	private void fill() throws InterruptedException {
+		BlockingTask running = block();
+		
+		assertEquals(AdmissionResult.ACCEPTED, TaskManager.trySubmit(running));
+		assertTrue(running.started.await(1L, TimeUnit.SECONDS));
+		assertEquals(AdmissionResult.ACCEPTED, TaskManager.trySubmit(block()));
+		assertEquals(0, TaskManager.getDemand());
+	}
+	
+	/**
+	 * Creates a new blocking task which is released after the test.
+	 * 
+	 * @return The task.
+	 */
+	private BlockingTask block() {
+		BlockingTask task = new BlockingTask(release);
+		
+		blocking.add(task);
+		return task;
+	}
+	
+	@Test
+	public void trySubmitHandsBackRejectedTasks() throws Exception {
+		fill();
+		
+		BlockingTask task = block();
+		
+		assertEquals(AdmissionResult.REJECTED, TaskManager.trySubmit(task));
+		assertFalse(task.started.await(100L, TimeUnit.MILLISECONDS));
+		
+		//Handed back untouched, neither delayed nor completed
+		blocking.remove(task);
+		assertFalse(task.getCompletion().isDone());
+	}
+	
+	@Test
+	public void submitTimesOutWithoutRoom() throws Exception {
+		fill();
+		
+		BlockingTask task = block();
+		long start = System.nanoTime();
+		
+		try {
+			TaskManager.submit(task, 100L, TimeUnit.MILLISECONDS);
+			fail("Admitted without room");
+			
+		} catch (RejectedExecutionException ex) {
+			assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(100L));
+		}
+		blocking.remove(task);
+	}
+	
+	@Test
+	public void submitWaitsForRoom() throws Exception {
+		fill();
+		
+		ExecutorService producer = Executors.newSingleThreadExecutor();
+		
+		try {
+			FinishingTask task = new FinishingTask();
+			Future<CompletableFuture<TaskState>> submission = producer.submit(() -> TaskManager.submit(task, 5L, TimeUnit.SECONDS));
+			
+			Thread.sleep(100L);
+			assertFalse(submission.isDone());
+			
+			//The running task finishing frees the queue slot the waiting producer takes
+			release.countDown();
+			
+			assertEquals(TaskState.FINISHED, submission.get(5L, TimeUnit.SECONDS).get(5L, TimeUnit.SECONDS));
+			
+		} finally {
+			producer.shutdownNow();
+		}
+	}
+	
+	
+	/**
+	 * A task blocking until released.
+	 */
+	private static final class BlockingTask extends Task {
+		
+		/**
+		 * Counted down once the task started.
+		 */
+		private final CountDownLatch started = new CountDownLatch(1);
+		
+		/**
+		 * Releases the task.
+		 */
+		private final CountDownLatch release;
+		
+		
+		/**
+		 * Creates a new blocking task.
+		 * 
+		 * @param release Releases the task.
+		 */
+		private BlockingTask(CountDownLatch release) {
+			this.release = release;
+		}
+		
+		@Override
+		protected TaskState executeTask() throws Exception {
+			started.countDown();
+			release.await();
+			return TaskState.FINISHED;
+		}
+		
+	}
+	
+	/**
+	 * A task finishing right away.
+	 */
+	private static final class FinishingTask extends Task {
+		
+		@Override
+		protected TaskState executeTask() {
+			return TaskState.FINISHED;
+		}
+		
+	}
+	
+}
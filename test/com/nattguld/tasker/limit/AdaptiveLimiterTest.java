@@ -0,0 +1,103 @@
+package com.nattguld.tasker.limit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * 
+ * @author randqm
+ *
+ */
+
+public class AdaptiveLimiterTest {
+	
+	/**
+	 * Records a window of run times.
+	 * 
+	 * @param limiter The limiter.
+	 * 
+	 * @param millis The run time in milliseconds of every run.
+	 */
+	private static void window(AdaptiveLimiter limiter, long millis) {
+		for (int i = 0; i < 16; i++) {
+			limiter.record(TimeUnit.MILLISECONDS.toNanos(millis));
+		}
+	}
+	
+	@Test
+	public void staysWithinItsBounds() {
+		AdaptiveLimiter limiter = new AdaptiveLimiter(50, 2, 10);
+		
+		assertEquals(10, limiter.getLimit());
+		
+		limiter.setBounds(20, 30);
+		
+		assertEquals(20, limiter.getLimit());
+		
+		limiter.reset(1);
+		
+		assertEquals(20, limiter.getLimit());
+	}
+	
+	@Test
+	public void waitsForEnoughSamples() {
+		AdaptiveLimiter limiter = new AdaptiveLimiter(10, 1, 100);
+		
+		limiter.record(TimeUnit.MILLISECONDS.toNanos(1L));
+		
+		assertEquals(10, limiter.update(10, 100));
+		assertEquals(0D, limiter.getShortRunTime(), 0D);
+	}
+	
+	@Test
+	public void growsWhileTasksWait() {
+		AdaptiveLimiter limiter = new AdaptiveLimiter(10, 1, 100);
+		
+		window(limiter, 1L);
+		
+		assertTrue(limiter.update(10, 5) > 10);
+		assertEquals(1D, limiter.getShortRunTime(), 0.001D);
+	}
+	
+	@Test
+	public void keepsTheLimitWhileWorkersIdle() {
+		AdaptiveLimiter limiter = new AdaptiveLimiter(10, 1, 100);
+		
+		for (int i = 0; i < 5; i++) {
+			window(limiter, 1L);
+			
+			assertEquals(10, limiter.update(2, 0));
+		}
+	}
+	
+	@Test
+	public void shrinksWhenRunTimesRise() {
+		AdaptiveLimiter limiter = new AdaptiveLimiter(10, 1, 100);
+		
+		window(limiter, 1L);
+		limiter.update(2, 0);
+		window(limiter, 10L);
+		
+		assertTrue(limiter.update(2, 0) < 10);
+		assertTrue(limiter.getLongRunTime() < limiter.getShortRunTime());
+	}
+	
+	@Test
+	public void neverShrinksBelowTheMinimum() {
+		AdaptiveLimiter limiter = new AdaptiveLimiter(10, 8, 100);
+		
+		window(limiter, 1L);
+		limiter.update(2, 0);
+		
+		for (int i = 0; i < 5; i++) {
+			window(limiter, 100L);
+			limiter.update(2, 0);
+		}
+		assertEquals(8, limiter.getLimit());
+	}
+	
+}
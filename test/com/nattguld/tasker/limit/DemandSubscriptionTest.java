@@ -0,0 +1,117 @@
+package com.nattguld.tasker.limit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+/**
+ * 
+ * @author randqm
+ *
+ */
+
+public class DemandSubscriptionTest {
+	
+	/**
+	 * The subscriptions created during a test.
+	 */
+	private final List<DemandSubscription> owner = new CopyOnWriteArrayList<>();
+	
+	/**
+	 * The demand passed to the subscriptions.
+	 */
+	private final AtomicInteger demand = new AtomicInteger();
+	
+	
+	@Test
+	public void signalsTheInitialDemand() {
+		List<Integer> demands = new ArrayList<>();
+		
+		demand.set(3);
+		
+		DemandSubscription subscription = new DemandSubscription(demands::add, Runnable::run, owner, demand::get);
+		
+		assertEquals(1, owner.size());
+		assertEquals(3, (int)demands.get(0));
+		
+		subscription.cancel();
+		
+		assertTrue(subscription.isCancelled());
+		assertTrue(owner.isEmpty());
+	}
+	
+	@Test
+	public void skipsWithoutDemand() {
+		List<Integer> demands = new ArrayList<>();
+		DemandSubscription subscription = new DemandSubscription(demands::add, Runnable::run, owner, demand::get);
+		
+		subscription.signal();
+		demand.set(2);
+		subscription.signal();
+		
+		assertEquals(1, demands.size());
+		assertEquals(2, (int)demands.get(0));
+	}
+	
+	@Test
+	public void busyListenersOnlyReceiveTheLatestDemand() throws InterruptedException {
+		BlockingQueue<Integer> demands = new LinkedBlockingQueue<>();
+		CountDownLatch busy = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		
+		demand.set(1);
+		
+		DemandSubscription subscription = new DemandSubscription(d -> {
+			demands.add(d);
+			busy.countDown();
+			
+			try {
+				release.await();
+				
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+		}, null, owner, demand::get);
+		
+		assertTrue(busy.await(1L, TimeUnit.SECONDS));
+		
+		for (int i = 2; i <= 10; i++) {
+			demand.set(i);
+			subscription.signal();
+		}
+		release.countDown();
+		
+		assertEquals(1, (int)demands.poll(1L, TimeUnit.SECONDS));
+		assertEquals(10, (int)demands.poll(1L, TimeUnit.SECONDS));
+		assertNull(demands.poll(100L, TimeUnit.MILLISECONDS));
+		subscription.cancel();
+	}
+	
+	@Test
+	public void cancelledSubscriptionsStayQuiet() {
+		List<Integer> demands = new ArrayList<>();
+		
+		demand.set(1);
+		
+		DemandSubscription subscription = new DemandSubscription(demands::add, Runnable::run, owner, demand::get);
+		
+		subscription.cancel();
+		subscription.signal();
+		
+		assertEquals(1, demands.size());
+		assertFalse(owner.contains(subscription));
+	}
+	
+}
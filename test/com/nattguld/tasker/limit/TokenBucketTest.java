@@ -0,0 +1,116 @@
+package com.nattguld.tasker.limit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * 
+ * @author randqm
+ *
+ */
+
+public class TokenBucketTest {
+	
+	/**
+	 * Ten permits per second, a permit every 100ms with bursts of 5.
+	 */
+	private static final RateLimit LIMIT = new RateLimit("test", 10, 1L, TimeUnit.SECONDS, 5);
+	
+	/**
+	 * The time in nanoseconds between two permits.
+	 */
+	private static final long INTERVAL = TimeUnit.MILLISECONDS.toNanos(100L);
+	
+	/**
+	 * The allowed deviation in nanoseconds from an expected delay.
+	 */
+	private static final long TOLERANCE = TimeUnit.MILLISECONDS.toNanos(20L);
+	
+	
+	@Test
+	public void startsWithAFullBurst() {
+		TokenBucket bucket = new TokenBucket(LIMIT);
+		
+		drain(bucket);
+		
+		assertTrue(bucket.tryAcquire(LIMIT) > 0L);
+	}
+	
+	@Test
+	public void waitingCallersReserveSuccessiveSlots() {
+		TokenBucket bucket = new TokenBucket(LIMIT);
+		
+		drain(bucket);
+		
+		//Each retry is told a later slot so the waiters don't all come back at once
+		for (int i = 1; i <= 3; i++) {
+			assertNear(i * INTERVAL, bucket.tryAcquire(LIMIT));
+		}
+	}
+	
+	@Test
+	public void drawsOnceTheReservedSlotArrives() throws InterruptedException {
+		TokenBucket bucket = new TokenBucket(LIMIT);
+		
+		drain(bucket);
+		
+		long delay = bucket.tryAcquire(LIMIT);
+		
+		TimeUnit.NANOSECONDS.sleep(delay + TOLERANCE);
+		
+		assertEquals(0L, bucket.tryAcquire(LIMIT));
+	}
+	
+	@Test
+	public void refillsUpToTheBurst() throws InterruptedException {
+		TokenBucket bucket = new TokenBucket(LIMIT);
+		
+		drain(bucket);
+		Thread.sleep(250L);
+		
+		double permits = bucket.getPermits();
+		
+		assertTrue("Refilled " + permits + " permits", permits >= 2D && permits < 3D);
+		
+		Thread.sleep(600L);
+		
+		assertEquals(LIMIT.getBurst(), bucket.getPermits(), 0D);
+	}
+	
+	@Test
+	public void appliesChangedRates() {
+		TokenBucket bucket = new TokenBucket(LIMIT);
+		RateLimit slower = new RateLimit("test", 1, 1L, TimeUnit.SECONDS, 5);
+		
+		drain(bucket);
+		
+		assertNear(TimeUnit.SECONDS.toNanos(1L), bucket.tryAcquire(slower));
+	}
+	
+	/**
+	 * Draws the permits of a full bucket.
+	 * 
+	 * @param bucket The bucket.
+	 */
+	private static void drain(TokenBucket bucket) {
+		for (int i = 0; i < LIMIT.getBurst(); i++) {
+			assertEquals(0L, bucket.tryAcquire(LIMIT));
+		}
+	}
+	
+	/**
+	 * Asserts that a delay is close to an expected delay.
+	 * 
+	 * @param expected The expected delay in nanoseconds.
+	 * 
+	 * @param actual The delay in nanoseconds.
+	 */
+	private static void assertNear(long expected, long actual) {
+		assertTrue("Expected about " + expected + "ns but was " + actual + "ns", Math.abs(expected - actual) <= TOLERANCE);
+	}
+	
+}
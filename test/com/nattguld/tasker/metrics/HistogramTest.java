@@ -0,0 +1,115 @@
+package com.nattguld.tasker.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * 
+ * @author randqm
+ *
+ */
+
+public class HistogramTest {
+	
+	@Test
+	public void smallValuesHaveTheirOwnBucket() {
+		for (long v = 0L; v < 16L; v++) {
+			assertEquals(v, Histogram.indexOf(v));
+			assertEquals(v, Histogram.highestValueOf((int)v));
+		}
+	}
+	
+	@Test
+	public void bucketsBoundTheirValuesWithinTheError() {
+		int previous = -1;
+		
+		for (long v = 0L; v < (1L << 37); v = v < 4096L ? v + 1L : v + v / 97L) {
+			int index = Histogram.indexOf(v);
+			long highest = Histogram.highestValueOf(index);
+			
+			assertTrue("Bucket " + index + " went backwards at " + v, index >= previous);
+			assertTrue("Bucket " + index + " tops at " + highest + " below " + v, highest >= v);
+			assertTrue("Bucket " + index + " is too wide for " + v, highest - v <= v / 16L);
+			previous = index;
+		}
+	}
+	
+	@Test
+	public void bucketsAreContiguous() {
+		for (int i = 1; i < Histogram.BUCKETS; i++) {
+			long lowest = Histogram.highestValueOf(i - 1) + 1L;
+			
+			assertEquals(i, Histogram.indexOf(lowest));
+			assertEquals(i, Histogram.indexOf(Histogram.highestValueOf(i)));
+		}
+	}
+	
+	@Test
+	public void hugeValuesLandInTheLastBucket() {
+		assertEquals(Histogram.BUCKETS - 1, Histogram.indexOf(1L << 40));
+		assertEquals(Histogram.BUCKETS - 1, Histogram.indexOf(Long.MAX_VALUE));
+	}
+	
+	@Test
+	public void percentilesReportBucketBoundsCappedByTheMax() {
+		Histogram histogram = new Histogram();
+		
+		for (long v = 1L; v <= 1000L; v++) {
+			histogram.record(v);
+		}
+		HistogramSnapshot snapshot = histogram.snapshot();
+		
+		assertEquals(1000L, snapshot.getCount());
+		assertEquals(500.5D, snapshot.getMean(), 0D);
+		assertEquals(1000L, snapshot.getMax());
+		assertEquals(1000L, snapshot.getPercentile(100D));
+		
+		for (double p : new double[] { 1D, 50D, 90D, 99D }) {
+			long exact = (long)Math.ceil(p * 10D);
+			long reported = snapshot.getPercentile(p);
+			
+			assertTrue("p" + p + " reported " + reported + " below " + exact, reported >= exact);
+			assertTrue("p" + p + " reported " + reported + " for " + exact, reported - exact <= exact / 16L);
+		}
+	}
+	
+	@Test
+	public void lastBucketReportsTheMax() {
+		Histogram histogram = new Histogram();
+		long huge = 1L << 45;
+		
+		histogram.record(huge);
+		
+		assertEquals(huge, histogram.snapshot().getPercentile(50D));
+	}
+	
+	@Test
+	public void negativeValuesCountAsZero() {
+		Histogram histogram = new Histogram();
+		
+		histogram.record(-5L);
+		
+		HistogramSnapshot snapshot = histogram.snapshot();
+		
+		assertEquals(1L, snapshot.getCount());
+		assertEquals(0L, snapshot.getMax());
+		assertEquals(0L, snapshot.getPercentile(99D));
+	}
+	
+	@Test
+	public void resetClearsEverything() {
+		Histogram histogram = new Histogram();
+		
+		histogram.record(42L);
+		histogram.reset();
+		
+		HistogramSnapshot snapshot = histogram.snapshot();
+		
+		assertEquals(0L, snapshot.getCount());
+		assertEquals(0L, snapshot.getMax());
+		assertEquals(0L, snapshot.getPercentile(50D));
+	}
+	
+}
@@ -0,0 +1,119 @@
+package com.nattguld.tasker.status;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.nattguld.tasker.tasks.TaskState;
+
+/**
+ * 
+ * @author randqm
+ *
+ */
+
+public class StatusLogTest {
+	
+	/**
+	 * The name of the task publishing the events under test.
+	 */
+	private static final String TASK_NAME = "Status Log Test";
+	
+	/**
+	 * The sink in use before the test.
+	 */
+	private IStatusSink previous;
+	
+	/**
+	 * The written events of the task under test.
+	 */
+	private final List<StatusEvent> written = new CopyOnWriteArrayList<>();
+	
+	/**
+	 * The names of the threads that wrote batches.
+	 */
+	private final List<String> writers = new CopyOnWriteArrayList<>();
+	
+	
+	@Before
+	public void setup() {
+		previous = StatusLog.getSink();
+		
+		StatusLog.setSink(this::record);
+	}
+	
+	@After
+	public void restore() {
+		StatusLog.setSink(previous);
+	}
+	
+	/**
+	 * Records the written events of the task under test.
+	 * 
+	 * @param events The written events.
+	 */
+	private void record(List<StatusEvent> events) {
+		writers.add(Thread.currentThread().getName());
+		
+		for (StatusEvent event : events) {
+			if (TASK_NAME.equals(event.getTaskName())) {
+				written.add(event);
+			}
+		}
+	}
+	
+	@Test
+	public void flushWritesEventsInPublishOrder() {
+		for (int i = 0; i < 100; i++) {
+			StatusLog.publish(TASK_NAME, TaskState.RUNNING, "Step " + i);
+		}
+		assertTrue(StatusLog.flush(5000L));
+		assertEquals(100, written.size());
+		
+		for (int i = 0; i < 100; i++) {
+			assertEquals("Step " + i, written.get(i).getStatus());
+			assertEquals(TaskState.RUNNING, written.get(i).getState());
+		}
+		assertEquals(0, StatusLog.getPendingCount());
+	}
+	
+	@Test
+	public void eventsAreWrittenOffThePublishingThread() {
+		StatusLog.publish(TASK_NAME, TaskState.FINISHED, "Done");
+		
+		assertTrue(StatusLog.flush(5000L));
+		assertEquals(1, written.size());
+		assertTrue(writers.contains("Status Writer"));
+		assertFalse(writers.contains(Thread.currentThread().getName()));
+	}
+	
+	@Test
+	public void failingSinksDontStopTheWriter() {
+		StatusLog.setSink(events -> {
+			throw new IllegalStateException("sink failed");
+		});
+		StatusLog.publish(TASK_NAME, TaskState.ERROR, "Lost");
+		
+		assertTrue(StatusLog.flush(5000L));
+		
+		StatusLog.setSink(this::record);
+		StatusLog.publish(TASK_NAME, TaskState.FINISHED, "Written");
+		
+		assertTrue(StatusLog.flush(5000L));
+		assertEquals(1, written.size());
+		assertEquals("Written", written.get(0).getStatus());
+	}
+	
+	@Test(expected = NullPointerException.class)
+	public void refusesNullSinks() {
+		StatusLog.setSink(null);
+	}
+	
+}
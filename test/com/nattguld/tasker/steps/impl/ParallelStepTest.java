@@ -0,0 +1,211 @@
+package com.nattguld.tasker.steps.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.nattguld.tasker.steps.Step;
+import com.nattguld.tasker.steps.StepState;
+
+/**
+ * 
+ * @author randqm
+ *
+ */
+
+public class ParallelStepTest {
+	
+	/**
+	 * Polls a group like a step flow until it's no longer in progress.
+	 * 
+	 * @param group The group.
+	 * 
+	 * @return The outcome.
+	 * 
+	 * @throws InterruptedException When interrupted while polling.
+	 */
+	private static StepState poll(ParallelStep group) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 5000L;
+		StepState state;
+		
+		while ((state = group.execute()) == StepState.IN_PROGRESS) {
+			if (System.currentTimeMillis() > deadline) {
+				fail("The group didn't finish in time");
+			}
+			Thread.sleep(5L);
+		}
+		return state;
+	}
+	
+	@Test
+	public void stepsRunConcurrently() throws InterruptedException {
+		CyclicBarrier barrier = new CyclicBarrier(2);
+		Step first = new BarrierStep(barrier);
+		Step second = new BarrierStep(barrier);
+		ParallelStep group = new ParallelStep(first, second);
+		
+		assertEquals(StepState.SUCCESS, poll(group));
+		assertEquals(StepState.SUCCESS, first.getState());
+		assertEquals(StepState.SUCCESS, second.getState());
+		assertNull(group.getExecution());
+	}
+	
+	@Test
+	public void stepsInProgressExecuteOncePerRound() throws InterruptedException {
+		PollingStep polling = new PollingStep("polling", 3, StepState.SUCCESS, true);
+		ParallelStep group = new FastParallelStep(polling);
+		
+		assertEquals(StepState.IN_PROGRESS, group.execute());
+		assertNotNull(group.getExecution());
+		assertEquals(StepState.SUCCESS, poll(group));
+		assertEquals(3, polling.executions.get());
+	}
+	
+	@Test
+	public void criticalFailuresInterruptTheOtherSteps() throws InterruptedException {
+		PollingStep failing = new PollingStep("failing", 1, StepState.FAILED, true);
+		PollingStep endless = new PollingStep("endless", Integer.MAX_VALUE, StepState.SUCCESS, true);
+		ParallelStep group = new FastParallelStep(failing, endless);
+		
+		assertEquals(StepState.FAILED, poll(group));
+		assertEquals(StepState.INTERRUPT, endless.getState());
+	}
+	
+	@Test
+	public void optionalFailuresDontAffectTheGroup() throws InterruptedException {
+		PollingStep failing = new PollingStep("failing", 1, StepState.FAILED, false);
+		PollingStep succeeding = new PollingStep("succeeding", 2, StepState.SUCCESS, true);
+		ParallelStep group = new FastParallelStep(failing, succeeding);
+		
+		assertEquals(StepState.SUCCESS, poll(group));
+		assertEquals(StepState.FAILED, failing.getState());
+	}
+	
+	@Test
+	public void exceptionsAreKeptPerStep() throws InterruptedException {
+		Step throwing = new Step("throwing") {
+			@Override
+			public StepState execute() {
+				throw new IllegalStateException("step failed");
+			}
+		};
+		PollingStep succeeding = new PollingStep("succeeding", 1, StepState.SUCCESS, true);
+		ParallelStep group = new FastParallelStep(throwing, succeeding);
+		
+		assertEquals(StepState.EXCEPTION, poll(group));
+		assertTrue(group.getException(throwing) instanceof IllegalStateException);
+		assertNull(group.getException(succeeding));
+	}
+	
+	
+	/**
+	 * A parallel step starting its rounds without delay.
+	 */
+	private static final class FastParallelStep extends ParallelStep {
+		
+		/**
+		 * Creates a new fast parallel step.
+		 * 
+		 * @param steps The steps to execute in parallel.
+		 */
+		private FastParallelStep(Step... steps) {
+			super(steps);
+		}
+		
+		@Override
+		protected int getPollDelay() {
+			return 0;
+		}
+		
+	}
+	
+	/**
+	 * A step finishing once all steps sharing its barrier executed.
+	 */
+	private static final class BarrierStep extends Step {
+		
+		/**
+		 * The barrier.
+		 */
+		private final CyclicBarrier barrier;
+		
+		
+		/**
+		 * Creates a new barrier step.
+		 * 
+		 * @param barrier The barrier.
+		 */
+		private BarrierStep(CyclicBarrier barrier) {
+			super("barrier");
+			
+			this.barrier = barrier;
+		}
+		
+		@Override
+		public StepState execute() {
+			try {
+				barrier.await(2L, TimeUnit.SECONDS);
+				return StepState.SUCCESS;
+				
+			} catch (Exception ex) {
+				return StepState.FAILED;
+			}
+		}
+		
+	}
+	
+	/**
+	 * A step in progress for a given amount of executions.
+	 */
+	private static final class PollingStep extends Step {
+		
+		/**
+		 * The amount of times the step executed.
+		 */
+		private final AtomicInteger executions = new AtomicInteger();
+		
+		/**
+		 * The amount of executions it takes to finish.
+		 */
+		private final int required;
+		
+		/**
+		 * The state finished with.
+		 */
+		private final StepState outcome;
+		
+		
+		/**
+		 * Creates a new polling step.
+		 * 
+		 * @param name The step name.
+		 * 
+		 * @param required The amount of executions it takes to finish.
+		 * 
+		 * @param outcome The state finished with.
+		 * 
+		 * @param critical Whether the step is critical or not.
+		 */
+		private PollingStep(String name, int required, StepState outcome, boolean critical) {
+			super(name, critical);
+			
+			this.required = required;
+			this.outcome = outcome;
+		}
+		
+		@Override
+		public StepState execute() {
+			return executions.incrementAndGet() >= required ? outcome : StepState.IN_PROGRESS;
+		}
+		
+	}
+	
+}
@@ -0,0 +1,211 @@
+package com.nattguld.tasker.tasks;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.nattguld.tasker.TaskPriority;
+import com.nattguld.tasker.cfg.TaskConfig;
+
+/**
+ * 
+ * @author randqm
+ *
+ */
+
+public class PriorityTaskQueueTest {
+	
+	/**
+	 * The waiting time in milliseconds a priority level is worth during the tests.
+	 */
+	private static final int AGING = 50;
+	
+	/**
+	 * The configured priority aging to restore.
+	 */
+	private int priorityAging;
+	
+	
+	@Before
+	public void setup() {
+		priorityAging = TaskConfig.getConfig().getPriorityAging();
+		TaskConfig.getConfig().setPriorityAging(AGING);
+	}
+	
+	@After
+	public void restore() {
+		TaskConfig.getConfig().setPriorityAging(priorityAging);
+	}
+	
+	/**
+	 * Creates a new submitted task future.
+	 * 
+	 * @param priority The priority of the task.
+	 * 
+	 * @return The future.
+	 */
+	private static TaskFuture<Void> submit(TaskPriority priority) {
+		Task task = new PriorityTask(priority);
+		
+		task.prepareSubmission();
+		return new TaskFuture<>(task, null);
+	}
+	
+	@Test
+	public void higherPrioritiesRunFirst() {
+		PriorityTaskQueue queue = new PriorityTaskQueue(8);
+		TaskFuture<Void> low = submit(TaskPriority.LOW);
+		TaskFuture<Void> normal = submit(TaskPriority.NORMAL);
+		TaskFuture<Void> urgent = submit(TaskPriority.URGENT);
+		TaskFuture<Void> high = submit(TaskPriority.HIGH);
+		
+		for (Runnable runnable : Arrays.asList(low, normal, urgent, high)) {
+			assertTrue(queue.offer(runnable));
+		}
+		assertSame(urgent, queue.peek());
+		assertEquals(Arrays.asList(urgent, high, normal, low), drain(queue));
+	}
+	
+	@Test
+	public void equalRanksKeepInsertionOrder() {
+		PriorityTaskQueue queue = new PriorityTaskQueue(8);
+		List<Runnable> runnables = new ArrayList<>();
+		
+		for (int i = 0; i < 5; i++) {
+			Runnable runnable = () -> {};
+			
+			runnables.add(runnable);
+			queue.offer(runnable);
+		}
+		assertEquals(runnables, drain(queue));
+	}
+	
+	@Test
+	public void waitingTasksOvertakeNewerHigherPriorities() throws InterruptedException {
+		PriorityTaskQueue queue = new PriorityTaskQueue(8);
+		TaskFuture<Void> low = submit(TaskPriority.LOW);
+		
+		//Waited longer than the 3 levels separating low from urgent are worth
+		Thread.sleep(4 * AGING);
+		
+		TaskFuture<Void> urgent = submit(TaskPriority.URGENT);
+		TaskFuture<Void> normal = submit(TaskPriority.NORMAL);
+		
+		queue.offer(urgent);
+		queue.offer(normal);
+		queue.offer(low);
+		
+		assertEquals(Arrays.asList(low, urgent, normal), drain(queue));
+	}
+	
+	@Test
+	public void resubmissionsKeepTheirRank() throws InterruptedException {
+		PriorityTaskQueue queue = new PriorityTaskQueue(8);
+		TaskFuture<Void> first = submit(TaskPriority.NORMAL);
+		
+		Thread.sleep(2L);
+		
+		TaskFuture<Void> second = submit(TaskPriority.NORMAL);
+		long rank = first.getTask().getRank();
+		
+		//A pending completion keeps the rank of the submission
+		first.getTask().prepareSubmission();
+		
+		assertEquals(rank, first.getTask().getRank());
+		
+		queue.offer(second);
+		queue.offer(first);
+		
+		assertEquals(Arrays.asList(first, second), drain(queue));
+	}
+	
+	@Test
+	public void respectsTheCapacity() throws InterruptedException {
+		PriorityTaskQueue queue = new PriorityTaskQueue(2);
+		
+		assertTrue(queue.offer(() -> {}));
+		assertTrue(queue.offer(() -> {}));
+		assertFalse(queue.offer(() -> {}));
+		assertFalse(queue.offer(() -> {}, 20L, TimeUnit.MILLISECONDS));
+		assertEquals(0, queue.remainingCapacity());
+		
+		queue.setCapacity(3);
+		
+		assertTrue(queue.offer(() -> {}));
+		assertEquals(3, queue.size());
+	}
+	
+	@Test
+	public void removesQueuedRunnables() {
+		PriorityTaskQueue queue = new PriorityTaskQueue(4);
+		TaskFuture<Void> normal = submit(TaskPriority.NORMAL);
+		TaskFuture<Void> high = submit(TaskPriority.HIGH);
+		
+		queue.offer(normal);
+		queue.offer(high);
+		
+		assertTrue(queue.remove(high));
+		assertFalse(queue.remove(high));
+		assertSame(normal, queue.poll());
+		assertNull(queue.poll());
+	}
+	
+	/**
+	 * Drains a queue in run order.
+	 * 
+	 * @param queue The queue.
+	 * 
+	 * @return The runnables.
+	 */
+	private static List<Runnable> drain(PriorityTaskQueue queue) {
+		List<Runnable> runnables = new ArrayList<>();
+		
+		queue.drainTo(runnables);
+		return runnables;
+	}
+	
+	
+	/**
+	 * A task doing nothing at a given priority.
+	 */
+	private static final class PriorityTask extends Task {
+		
+		/**
+		 * The priority.
+		 */
+		private final TaskPriority priority;
+		
+		
+		/**
+		 * Creates a new priority task.
+		 * 
+		 * @param priority The priority.
+		 */
+		private PriorityTask(TaskPriority priority) {
+			this.priority = priority;
+		}
+		
+		@Override
+		public TaskPriority getPriority() {
+			return priority;
+		}
+		
+		@Override
+		protected TaskState executeTask() {
+			return TaskState.FINISHED;
+		}
+		
+	}
+	
+}
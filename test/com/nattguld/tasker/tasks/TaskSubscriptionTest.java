@@ -0,0 +1,194 @@
+package com.nattguld.tasker.tasks;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+/**
+ * 
+ * @author randqm
+ *
+ */
+
+public class TaskSubscriptionTest {
+	
+	/**
+	 * Holds the notification runs until the test runs them.
+	 */
+	private final Queue<Runnable> runs = new ConcurrentLinkedQueue<>();
+	
+	/**
+	 * The statuses passed to the listener in notification order.
+	 */
+	private final List<String> notified = new CopyOnWriteArrayList<>();
+	
+	
+	/**
+	 * Runs the scheduled notification runs.
+	 * 
+	 * @return The amount of runs.
+	 */
+	private int runScheduled() {
+		int count = 0;
+		
+		for (Runnable run = runs.poll(); Objects.nonNull(run); run = runs.poll()) {
+			run.run();
+			count++;
+		}
+		return count;
+	}
+	
+	/**
+	 * Subscribes a listener recording the notified statuses, notified by the test.
+	 * 
+	 * @param task The task.
+	 * 
+	 * @return The subscription.
+	 */
+	private TaskSubscription subscribe(Task task) {
+		return task.subscribe((t, state, status) -> notified.add(t.getName() + ": " + status), runs::add);
+	}
+	
+	@Test
+	public void busyListenersOnlyGetTheLatestChange() {
+		Task task = new IdleTask("task");
+		
+		subscribe(task);
+		task.setStatus("first");
+		task.setStatus("second");
+		task.setStatus("third");
+		
+		assertEquals(1, runScheduled());
+		assertEquals(1, notified.size());
+		assertEquals("task: third", notified.get(0));
+	}
+	
+	@Test
+	public void changedTasksAreNotifiedInChangeOrder() {
+		Task first = new IdleTask("first");
+		Task second = new IdleTask("second");
+		
+		subscribe(second);
+		subscribe(first);
+		second.setStatus("changed");
+		first.setStatus("changed");
+		second.setStatus("changed again");
+		
+		assertEquals(2, runScheduled());
+		assertEquals(2, notified.size());
+		assertEquals("second: changed again", notified.get(0));
+		assertEquals("first: changed", notified.get(1));
+	}
+	
+	@Test
+	public void cancelledSubscriptionsStopNotifying() {
+		Task task = new IdleTask("task");
+		TaskSubscription subscription = subscribe(task);
+		
+		task.setStatus("pending");
+		subscription.cancel();
+		task.setStatus("ignored");
+		
+		runScheduled();
+		
+		assertTrue(subscription.isCancelled());
+		assertTrue(notified.isEmpty());
+		
+		//Removed from the task, so new changes don't schedule runs either
+		task.setStatus("ignored again");
+		
+		assertEquals(0, runScheduled());
+	}
+	
+	@Test
+	public void rejectedRunsAreScheduledAgain() {
+		AtomicBoolean reject = new AtomicBoolean(true);
+		Task task = new IdleTask("task");
+		
+		task.subscribe((t, state, status) -> notified.add(status), run -> {
+			if (reject.getAndSet(false)) {
+				throw new RejectedExecutionException();
+			}
+			runs.add(run);
+		});
+		task.setStatus("rejected");
+		task.setStatus("accepted");
+		
+		assertEquals(1, runScheduled());
+		assertEquals(1, notified.size());
+		assertEquals("accepted", notified.get(0));
+	}
+	
+	@Test
+	public void failingListenersKeepNotifying() {
+		Task first = new IdleTask("first");
+		Task second = new IdleTask("second");
+		ITaskListener listener = (t, state, status) -> {
+			if (t == first) {
+				throw new IllegalStateException("listener failed");
+			}
+			notified.add(status);
+		};
+		TaskSubscription subscription = new TaskSubscription(listener, runs::add, new ArrayList<>());
+		
+		subscription.signal(first);
+		subscription.signal(second);
+		
+		assertEquals(1, runScheduled());
+		assertEquals(1, notified.size());
+	}
+	
+	@Test
+	public void defaultExecutorNotifiesOffTheChangingThread() throws InterruptedException {
+		CountDownLatch notifiedLatch = new CountDownLatch(1);
+		AtomicReference<String> thread = new AtomicReference<>();
+		Task task = new IdleTask("task");
+		
+		task.subscribe((t, state, status) -> {
+			thread.set(Thread.currentThread().getName());
+			notifiedLatch.countDown();
+		});
+		task.setStatus("changed");
+		
+		assertTrue(notifiedLatch.await(5L, TimeUnit.SECONDS));
+		assertEquals("Task Listener", thread.get());
+		assertFalse(Thread.currentThread().getName().equals(thread.get()));
+	}
+	
+	
+	/**
+	 * A task only used to change its status.
+	 */
+	private static final class IdleTask extends Task {
+		
+		/**
+		 * Creates a new idle task.
+		 * 
+		 * @param name The task name.
+		 */
+		private IdleTask(String name) {
+			super(name);
+		}
+		
+		@Override
+		protected TaskState executeTask() {
+			return TaskState.FINISHED;
+		}
+		
+	}
+	
+}
@@ -0,0 +1,164 @@
+package com.nattguld.tasker.tasks;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.nattguld.tasker.TaskManager;
+
+/**
+ * 
+ * @author randqm
+ *
+ */
+
+public class TimeoutWheelTest {
+	
+	/**
+	 * The tasks reported as expired in the order they expired.
+	 */
+	private final BlockingQueue<Task> expired = new LinkedBlockingQueue<>();
+	
+	/**
+	 * Holds the time in milliseconds each task got reported as expired.
+	 */
+	private final Map<Task, Long> expiredAt = new ConcurrentHashMap<>();
+	
+	/**
+	 * The wheel under test.
+	 */
+	private TimeoutWheel wheel;
+	
+	
+	@Before
+	public void setup() {
+		wheel = new TimeoutWheel(task -> {
+			expiredAt.put(task, System.currentTimeMillis());
+			expired.add(task);
+		});
+	}
+	
+	@After
+	public void dispose() {
+		wheel.dispose();
+	}
+	
+	/**
+	 * Creates a new started task tracked by the wheel under test only.
+	 * 
+	 * @param timeout The timeout.
+	 * 
+	 * @return The task.
+	 */
+	private Task track(long timeout) {
+		Task task = new IdleTask();
+		
+		task.setTimeout(timeout);
+		task.refreshStartTime();
+		TaskManager.getTimeoutWheel().cancel(task);
+		
+		wheel.schedule(task);
+		return task;
+	}
+	
+	@Test
+	public void expiresWithinTheInnerWheel() throws InterruptedException {
+		Task task = track(20L);
+		
+		assertEquals(task, expired.poll(1L, TimeUnit.SECONDS));
+		assertTrue(expiredAt.get(task) >= task.getDeadline());
+		assertNull(task.timeoutEntry);
+	}
+	
+	@Test
+	public void cascadesFromTheOverflowWheels() throws InterruptedException {
+		//Beyond the 64ms inner wheel, the 5s deadline lives two levels up
+		Task task = track(5000L);
+		
+		assertNull(expired.poll(4500L, TimeUnit.MILLISECONDS));
+		assertEquals(task, expired.poll(2L, TimeUnit.SECONDS));
+		
+		long late = expiredAt.get(task) - task.getDeadline();
+		
+		assertTrue("Expired " + late + "ms early", late >= 0L);
+		assertTrue("Expired " + late + "ms late", late < 250L);
+	}
+	
+	@Test
+	public void expiresInDeadlineOrder() throws InterruptedException {
+		List<Task> tasks = new ArrayList<>();
+		
+		for (long timeout : new long[] { 700L, 30L, 250L, 90L }) {
+			tasks.add(track(timeout));
+		}
+		List<Task> order = new ArrayList<>();
+		
+		for (int i = 0; i < tasks.size(); i++) {
+			order.add(expired.poll(2L, TimeUnit.SECONDS));
+		}
+		Collections.sort(tasks, (a, b) -> Long.compare(a.getDeadline(), b.getDeadline()));
+		assertEquals(tasks, order);
+	}
+	
+	@Test
+	public void cancelledTasksNeverExpire() throws InterruptedException {
+		Task inner = track(30L);
+		Task outer = track(300L);
+		
+		wheel.cancel(inner);
+		wheel.cancel(outer);
+		
+		assertNull(inner.timeoutEntry);
+		assertNull(outer.timeoutEntry);
+		assertNull(expired.poll(600L, TimeUnit.MILLISECONDS));
+	}
+	
+	@Test
+	public void extendedDeadlinesGetRescheduled() throws InterruptedException {
+		Task task = track(50L);
+		
+		//The entry keeps its earlier slot and gets moved once that slot expires
+		task.setTimeout(400L);
+		wheel.schedule(task);
+		
+		assertNull(expired.poll(300L, TimeUnit.MILLISECONDS));
+		assertEquals(task, expired.poll(1L, TimeUnit.SECONDS));
+		assertTrue(expiredAt.get(task) >= task.getDeadline());
+	}
+	
+	@Test
+	public void pastDeadlinesExpireRightAway() throws InterruptedException {
+		Task task = track(-1L);
+		
+		//Either expired while scheduling or on the next tick
+		assertEquals(task, expired.poll(20L, TimeUnit.MILLISECONDS));
+		assertNull(task.timeoutEntry);
+	}
+	
+	
+	/**
+	 * A task doing nothing.
+	 */
+	private static final class IdleTask extends Task {
+		
+		@Override
+		protected TaskState executeTask() {
+			return TaskState.FINISHED;
+		}
+		
+	}
+	
+}
@@ -0,0 +1,180 @@
+package com.nattguld.tasker.tasks;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * 
+ * @author randqm
+ *
+ */
+
+public class VirtualTaskExecutorTest {
+	
+	/**
+	 * Creates platform threads standing in for virtual threads on older runtimes.
+	 */
+	private static final ThreadFactory PLATFORM_THREADS = runnable -> {
+		Thread thread = new Thread(runnable);
+		thread.setDaemon(true);
+		return thread;
+	};
+	
+	/**
+	 * Releases the blocking runnables.
+	 */
+	private final CountDownLatch release = new CountDownLatch(1);
+	
+	/**
+	 * The rejected runnables.
+	 */
+	private final List<Runnable> rejected = new CopyOnWriteArrayList<>();
+	
+	
+	@After
+	public void dispose() {
+		release.countDown();
+	}
+	
+	/**
+	 * Creates a new executor running tasks on platform threads.
+	 * 
+	 * @param bounded Whether tasks wait for a permit or start right away.
+	 * 
+	 * @param maxParallel The maximum amount of tasks executed in parallel.
+	 * 
+	 * @param maxQueueSize The maximum queue size.
+	 * 
+	 * @return The executor.
+	 */
+	private VirtualTaskExecutor executor(boolean bounded, int maxParallel, int maxQueueSize) {
+		return new VirtualTaskExecutor(PLATFORM_THREADS, bounded, maxParallel, maxQueueSize, rejected::add, null);
+	}
+	
+	/**
+	 * Executes runnables blocking until released.
+	 * 
+	 * @param executor The executor.
+	 * 
+	 * @param amount The amount of runnables.
+	 */
+	private void block(VirtualTaskExecutor executor, int amount) {
+		for (int i = 0; i < amount; i++) {
+			executor.execute(() -> {
+				try {
+					release.await();
+					
+				} catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+			});
+		}
+	}
+	
+	/**
+	 * Waits for a condition to hold.
+	 * 
+	 * @param condition The condition.
+	 * 
+	 * @throws InterruptedException When interrupted while waiting.
+	 */
+	private static void await(BooleanSupplier condition) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 2000L;
+		
+		while (!condition.getAsBoolean()) {
+			if (System.currentTimeMillis() > deadline) {
+				fail("Condition didn't hold in time");
+			}
+			Thread.sleep(5L);
+		}
+	}
+	
+	@Test
+	public void boundedExecutorsQueueBeyondTheirLimit() throws InterruptedException {
+		VirtualTaskExecutor executor = executor(true, 2, 10);
+		
+		block(executor, 5);
+		await(() -> executor.getActiveCount() == 2);
+		
+		assertEquals(3, executor.getQueuedCount());
+		
+		release.countDown();
+		await(() -> executor.getCompletedTaskCount() == 5L);
+		
+		assertEquals(0, executor.getQueuedCount());
+		assertTrue(rejected.isEmpty());
+	}
+	
+	@Test
+	public void rejectsBeyondTheQueue() throws InterruptedException {
+		VirtualTaskExecutor executor = executor(true, 1, 1);
+		
+		block(executor, 3);
+		await(() -> executor.getActiveCount() == 1);
+		
+		assertEquals(1, executor.getQueuedCount());
+		assertEquals(1, rejected.size());
+	}
+	
+	@Test
+	public void raisingTheLimitStartsQueuedTasks() throws InterruptedException {
+		VirtualTaskExecutor executor = executor(true, 1, 10);
+		
+		block(executor, 4);
+		await(() -> executor.getActiveCount() == 1);
+		executor.setMaximumPoolSize(3);
+		await(() -> executor.getActiveCount() == 3);
+		
+		assertEquals(1, executor.getQueuedCount());
+	}
+	
+	@Test
+	public void unboundedExecutorsStartRightAway() throws InterruptedException {
+		VirtualTaskExecutor executor = executor(false, Integer.MAX_VALUE, Integer.MAX_VALUE);
+		
+		block(executor, 20);
+		await(() -> executor.getActiveCount() == 20);
+		
+		assertEquals(0, executor.getQueuedCount());
+		
+		release.countDown();
+		await(() -> executor.getCompletedTaskCount() == 20L);
+		executor.shutdown();
+		
+		assertTrue(executor.awaitTermination(1L, TimeUnit.SECONDS));
+	}
+	
+	@Test
+	public void olderRuntimesFallBackToTheThreadPool() {
+		ITaskExecutor bounded = ExecutorBackend.VIRTUAL_THREADS.create(2, 2, rejected::add, null);
+		ITaskExecutor unbounded = ExecutorBackend.VIRTUAL_THREADS.createUnbounded(null);
+		
+		if (VirtualTaskExecutor.isSupported()) {
+			assertTrue(bounded instanceof VirtualTaskExecutor);
+			assertTrue(unbounded instanceof VirtualTaskExecutor);
+			return;
+		}
+		assertTrue(bounded instanceof TaskPoolExecutor);
+		assertTrue(unbounded instanceof TaskPoolExecutor);
+		
+		try {
+			new VirtualTaskExecutor(null);
+			fail("Created a virtual task executor without virtual threads");
+			
+		} catch (UnsupportedOperationException ex) {
+			//Refused
+		}
+	}
+	
+}
@@ -0,0 +1,158 @@
+package com.nattguld.tasker.tasks;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * 
+ * @author randqm
+ *
+ */
+
+public class WorkStealingTaskExecutorTest {
+	
+	/**
+	 * Releases the blocking runnables.
+	 */
+	private final CountDownLatch release = new CountDownLatch(1);
+	
+	/**
+	 * The rejected runnables.
+	 */
+	private final List<Runnable> rejected = new CopyOnWriteArrayList<>();
+	
+	/**
+	 * The executor under test.
+	 */
+	private WorkStealingTaskExecutor executor;
+	
+	
+	@After
+	public void dispose() {
+		release.countDown();
+		
+		if (Objects.nonNull(executor)) {
+			executor.shutdownNow();
+		}
+	}
+	
+	/**
+	 * Creates a new executor.
+	 * 
+	 * @param maxParallel The maximum amount of tasks executed in parallel.
+	 * 
+	 * @param maxQueueSize The maximum queue size.
+	 * 
+	 * @return The executor.
+	 */
+	private WorkStealingTaskExecutor executor(int maxParallel, int maxQueueSize) {
+		executor = new WorkStealingTaskExecutor(maxParallel, maxQueueSize, rejected::add, null);
+		return executor;
+	}
+	
+	/**
+	 * Executes runnables blocking until released.
+	 * 
+	 * @param amount The amount of runnables.
+	 */
+	private void block(int amount) {
+		for (int i = 0; i < amount; i++) {
+			executor.execute(() -> {
+				try {
+					release.await();
+					
+				} catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+			});
+		}
+	}
+	
+	/**
+	 * Waits for a condition to hold.
+	 * 
+	 * @param condition The condition.
+	 * 
+	 * @throws InterruptedException When interrupted while waiting.
+	 */
+	private static void await(BooleanSupplier condition) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 2000L;
+		
+		while (!condition.getAsBoolean()) {
+			if (System.currentTimeMillis() > deadline) {
+				fail("Condition didn't hold in time");
+			}
+			Thread.sleep(5L);
+		}
+	}
+	
+	@Test
+	public void admitsUpToTheRunningAndQueuedLimits() throws InterruptedException {
+		executor(2, 2);
+		block(5);
+		await(() -> executor.getActiveCount() == 2);
+		
+		assertEquals(2, executor.getQueuedCount());
+		assertEquals(1, rejected.size());
+		
+		release.countDown();
+		await(() -> executor.getCompletedTaskCount() == 4L);
+		
+		assertEquals(0, executor.getQueuedCount());
+		assertEquals(0, executor.getActiveCount());
+	}
+	
+	@Test
+	public void queuedTasksRunInSubmissionOrder() throws InterruptedException {
+		List<Integer> order = new CopyOnWriteArrayList<>();
+		
+		executor(1, 10);
+		block(1);
+		await(() -> executor.getActiveCount() == 1);
+		
+		for (int i = 0; i < 5; i++) {
+			int index = i;
+			executor.execute(() -> order.add(index));
+		}
+		release.countDown();
+		await(() -> executor.getCompletedTaskCount() == 6L);
+		
+		assertEquals(Arrays.asList(0, 1, 2, 3, 4), order);
+	}
+	
+	@Test
+	public void shutdownNowHandsBackQueuedTasks() throws InterruptedException {
+		executor(1, 10);
+		block(4);
+		await(() -> executor.getActiveCount() == 1);
+		
+		assertEquals(3, executor.shutdownNow().size());
+		assertEquals(0, executor.getQueuedCount());
+		
+		release.countDown();
+		
+		assertTrue(executor.awaitTermination(1L, TimeUnit.SECONDS));
+		
+		block(1);
+		
+		assertEquals(1, rejected.size());
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void refusesEmptyQueues() {
+		executor(1, 1).setMaxQueueSize(0);
+	}
+	
+}
@@ -0,0 +1,139 @@
+package com.nattguld.tasker.tasks.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.SwingUtilities;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.nattguld.tasker.tasks.TaskState;
+
+/**
+ * 
+ * @author randqm
+ *
+ */
+
+public class GUIDispatcherTest {
+	
+	/**
+	 * Releases the event dispatch thread.
+	 */
+	private final CountDownLatch release = new CountDownLatch(1);
+	
+	/**
+	 * The executed updates in execution order.
+	 */
+	private final List<String> executed = new CopyOnWriteArrayList<>();
+	
+	
+	@Before
+	public void setup() throws InterruptedException {
+		CountDownLatch blocked = new CountDownLatch(1);
+		
+		//Holds the event dispatch thread so the dispatched updates share a batch
+		SwingUtilities.invokeLater(() -> {
+			blocked.countDown();
+			
+			try {
+				release.await(5L, TimeUnit.SECONDS);
+				
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		assertTrue(blocked.await(5L, TimeUnit.SECONDS));
+	}
+	
+	@After
+	public void dispose() {
+		release.countDown();
+	}
+	
+	/**
+	 * Dispatches an update recording its execution.
+	 * 
+	 * @param key The key of the updated component.
+	 * 
+	 * @param name The name of the update.
+	 * 
+	 * @param response The update response.
+	 * 
+	 * @return The future completing with the update response.
+	 */
+	private CompletableFuture<TaskState> dispatch(Object key, String name, TaskState response) {
+		return GUIDispatcher.dispatch(key, () -> {
+			executed.add(name);
+			return response;
+		});
+	}
+	
+	@Test
+	public void replacedUpdatesFinishWithoutTheLatestResponse() throws Exception {
+		CompletableFuture<TaskState> replaced = dispatch("label", "first", TaskState.ERROR);
+		CompletableFuture<TaskState> latest = dispatch("label", "second", TaskState.RETRY);
+		
+		assertEquals(TaskState.FINISHED, replaced.getNow(null));
+		assertFalse(latest.isDone());
+		assertEquals(1, GUIDispatcher.getPendingCount());
+		
+		release.countDown();
+		
+		assertEquals(TaskState.RETRY, latest.get(5L, TimeUnit.SECONDS));
+		assertEquals(1, executed.size());
+		assertEquals("second", executed.get(0));
+	}
+	
+	@Test
+	public void differentKeysRunInDispatchOrder() throws Exception {
+		CompletableFuture<TaskState> first = dispatch("first", "first", TaskState.FINISHED);
+		CompletableFuture<TaskState> second = dispatch("second", "second", TaskState.ERROR);
+		
+		release.countDown();
+		
+		assertEquals(TaskState.FINISHED, first.get(5L, TimeUnit.SECONDS));
+		assertEquals(TaskState.ERROR, second.get(5L, TimeUnit.SECONDS));
+		assertEquals("first", executed.get(0));
+		assertEquals("second", executed.get(1));
+	}
+	
+	@Test
+	public void failingUpdatesCancel() throws Exception {
+		CompletableFuture<TaskState> update = GUIDispatcher.dispatch("failing", () -> {
+			throw new IllegalStateException("update failed");
+		});
+		release.countDown();
+		
+		assertEquals(TaskState.CANCEL, update.get(5L, TimeUnit.SECONDS));
+	}
+	
+	@Test
+	public void tasksOfAClassShareTheirUpdateKey() {
+		assertEquals(LabelTask.class, new LabelTask().getUpdateKey());
+		assertEquals(new LabelTask().getUpdateKey(), new LabelTask().getUpdateKey());
+	}
+	
+	
+	/**
+	 * A task updating a label.
+	 */
+	private static final class LabelTask extends GUITask {
+		
+		@Override
+		protected TaskState updateGUI() {
+			return TaskState.FINISHED;
+		}
+		
+	}
+	
+}
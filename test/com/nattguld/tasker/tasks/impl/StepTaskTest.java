@@ -0,0 +1,122 @@
+package com.nattguld.tasker.tasks.impl;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Iterator;
+
+import org.junit.Test;
+
+import com.nattguld.tasker.metrics.ExecutionMetricsSnapshot;
+import com.nattguld.tasker.metrics.Metrics;
+import com.nattguld.tasker.steps.Step;
+import com.nattguld.tasker.steps.StepState;
+import com.nattguld.tasker.tasks.TaskState;
+
+/**
+ * 
+ * @author randqm
+ *
+ */
+
+public class StepTaskTest {
+	
+	/**
+	 * Retrieves the metrics of a step.
+	 * 
+	 * @param name The name of the step.
+	 * 
+	 * @return The metrics.
+	 */
+	private static ExecutionMetricsSnapshot metrics(String name) {
+		return Metrics.snapshotSteps().get(name);
+	}
+	
+	@Test
+	public void pollingStepsCountAsASingleAttempt() throws Exception {
+		String name = "StepTaskTest-polling";
+		FlowTask task = new FlowTask(new ScriptedStep(name, StepState.IN_PROGRESS, StepState.IN_PROGRESS, StepState.SUCCESS));
+		
+		assertEquals(TaskState.FINISHED, task.executeTask());
+		assertEquals(1L, metrics(name).getAttempts());
+		assertEquals(0L, metrics(name).getRetries());
+		assertEquals(1L, metrics(name).getExecutions());
+	}
+	
+	@Test
+	public void retriesAreRecorded() throws Exception {
+		String name = "StepTaskTest-retry";
+		FlowTask task = new FlowTask(new ScriptedStep(name, StepState.IN_PROGRESS, StepState.RETRY));
+		
+		assertEquals(TaskState.RETRY, task.executeTask());
+		assertEquals(1L, metrics(name).getAttempts());
+		assertEquals(1L, metrics(name).getRetries());
+	}
+	
+	
+	/**
+	 * A step task running a given flow without delays.
+	 */
+	private static final class FlowTask extends StepTask {
+		
+		/**
+		 * The steps of the flow.
+		 */
+		private final Step[] flow;
+		
+		
+		/**
+		 * Creates a new flow task.
+		 * 
+		 * @param flow The steps of the flow.
+		 */
+		private FlowTask(Step... flow) {
+			this.flow = flow;
+		}
+		
+		@Override
+		protected void buildStepFlow() {
+			for (Step step : flow) {
+				add(step);
+			}
+		}
+		
+		@Override
+		protected int getStepDelay() {
+			return 0;
+		}
+		
+	}
+	
+	/**
+	 * A step responding with a given sequence of states.
+	 */
+	private static final class ScriptedStep extends Step {
+		
+		/**
+		 * The states responded with.
+		 */
+		private final Iterator<StepState> states;
+		
+		
+		/**
+		 * Creates a new scripted step.
+		 * 
+		 * @param name The name of the step.
+		 * 
+		 * @param states The states responded with.
+		 */
+		private ScriptedStep(String name, StepState... states) {
+			super(name);
+			
+			this.states = Arrays.asList(states).iterator();
+		}
+		
+		@Override
+		public StepState execute() {
+			return states.next();
+		}
+		
+	}
+	
+}
@@ -0,0 +1,125 @@
+package com.nattguld.tasker.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Map;
+
+import org.junit.Test;
+
+/**
+ * 
+ * @author randqm
+ *
+ */
+
+public class AttributesTest {
+	
+	/**
+	 * The amount of keys used to force several resizes of the initial 8 slots.
+	 */
+	private static final int KEYS = 1000;
+	
+	
+	@Test
+	public void keepsValuesAcrossResizes() {
+		Attributes attributes = new Attributes();
+		
+		for (int i = 0; i < KEYS; i++) {
+			attributes.put("key" + i, i);
+		}
+		assertEquals(KEYS, attributes.size());
+		
+		for (int i = 0; i < KEYS; i++) {
+			assertEquals(i, attributes.getAsInt("key" + i));
+		}
+		assertFalse(attributes.has("key" + KEYS));
+	}
+	
+	@Test
+	public void probesPastCollidingKeys() {
+		Attributes attributes = new Attributes();
+		
+		//"Aa" and "BB" share their hash code and land in the same slot
+		attributes.put("Aa", 1);
+		attributes.put("BB", 2L);
+		attributes.put("AaBB", "three");
+		attributes.put("BBAa", 4D);
+		
+		assertEquals(4, attributes.size());
+		assertEquals(1, attributes.getAsInt("Aa"));
+		assertEquals(2L, attributes.getAsLong("BB"));
+		assertEquals("three", attributes.getAsString("AaBB"));
+		assertEquals(4D, attributes.getAsDouble("BBAa"), 0D);
+		assertFalse(attributes.has("AaAa"));
+	}
+	
+	@Test
+	public void overwritesWithoutGrowing() {
+		Attributes attributes = new Attributes();
+		
+		attributes.put("key", 1);
+		attributes.put("key", "value");
+		attributes.put("key", true);
+		
+		assertEquals(1, attributes.size());
+		assertTrue(attributes.getAsBool("key"));
+		assertEquals(Boolean.TRUE, attributes.get("key"));
+	}
+	
+	@Test
+	public void keepsPrimitiveKinds() {
+		Attributes attributes = new Attributes();
+		
+		attributes.put("byte", (byte)7);
+		attributes.put("char", 'c');
+		attributes.put("float", 1.5F);
+		attributes.put("long", Long.MAX_VALUE);
+		attributes.put("object", (Object)Integer.valueOf(3));
+		
+		Map<String, Object> kvps = attributes.getKvps();
+		
+		assertEquals(Byte.valueOf((byte)7), kvps.get("byte"));
+		assertEquals(Character.valueOf('c'), kvps.get("char"));
+		assertEquals(Float.valueOf(1.5F), kvps.get("float"));
+		assertEquals(Long.MAX_VALUE, kvps.get("long"));
+		assertEquals(Integer.valueOf(3), kvps.get("object"));
+	}
+	
+	@Test
+	public void countsFromAbsentKeys() {
+		Attributes attributes = new Attributes();
+		
+		assertEquals(1L, attributes.increment("count", 1L));
+		assertEquals(3L, attributes.increment("count", 2L));
+		assertEquals(-1, attributes.decrement("other", 1));
+		assertEquals(0.5D, attributes.increment("ratio", 0.5D), 0D);
+		assertEquals(3L, attributes.getAsLong("count"));
+	}
+	
+	@Test
+	public void clearFreesEverySlot() {
+		Attributes attributes = new Attributes();
+		
+		for (int i = 0; i < KEYS; i++) {
+			attributes.put("key" + i, "value" + i);
+		}
+		attributes.clear();
+		
+		assertEquals(0, attributes.size());
+		assertTrue(attributes.getKvps().isEmpty());
+		assertFalse(attributes.has("key0"));
+		assertNull(attributes.get("key" + (KEYS - 1)));
+		
+		//The cleared slots get claimed again without stale values
+		for (int i = 0; i < KEYS; i += 2) {
+			attributes.increment("key" + i, 1);
+		}
+		assertEquals(KEYS / 2, attributes.size());
+		assertEquals(1, attributes.getAsInt("key0"));
+		assertFalse(attributes.has("key1"));
+	}
+	
+}
@@ -0,0 +1,236 @@
+package com.nattguld.tasker.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+/**
+ * 
+ * @author randqm
+ *
+ */
+
+public class BoundedCacheTest {
+	
+	@Test
+	public void evictsTheLeastRecentlyUsed() {
+		BoundedCache<String, String> cache = new BoundedCache<>(3L);
+		
+		cache.put("a", "a", 0L, 1);
+		cache.put("b", "b", 0L, 1);
+		cache.put("c", "c", 0L, 1);
+		cache.getIfPresent("a");
+		cache.put("d", "d", 0L, 1);
+		
+		assertNull(cache.getIfPresent("b"));
+		assertEquals("a", cache.getIfPresent("a"));
+		assertEquals(3, cache.size());
+		assertEquals(3L, cache.getWeight());
+		assertEquals(1L, cache.getEvictionCount());
+	}
+	
+	@Test
+	public void evictsByWeight() {
+		BoundedCache<String, String> cache = new BoundedCache<>(10L);
+		
+		cache.put("a", "a", 0L, 4);
+		cache.put("b", "b", 0L, 4);
+		cache.put("c", "c", 0L, 6);
+		
+		assertNull(cache.getIfPresent("a"));
+		assertEquals("b", cache.getIfPresent("b"));
+		assertEquals(10L, cache.getWeight());
+		
+		//Heavier than the cache itself, never cached
+		cache.put("d", "d", 0L, 11);
+		
+		assertNull(cache.getIfPresent("d"));
+		assertEquals(10L, cache.getWeight());
+	}
+	
+	@Test
+	public void evictsExpiredEntriesFirst() throws InterruptedException {
+		BoundedCache<String, String> cache = new BoundedCache<>(2L);
+		
+		cache.put("a", "a", 0L, 1);
+		cache.put("b", "b", 10L, 1);
+		Thread.sleep(20L);
+		cache.put("c", "c", 0L, 1);
+		
+		assertEquals("a", cache.getIfPresent("a"));
+		assertNull(cache.getIfPresent("b"));
+		assertEquals(0L, cache.getEvictionCount());
+	}
+	
+	@Test
+	public void shrinkingEvicts() {
+		BoundedCache<Integer, Integer> cache = new BoundedCache<>(10L);
+		
+		for (int i = 0; i < 10; i++) {
+			cache.put(i, i, 0L, 1);
+		}
+		cache.setMaxWeight(4L);
+		
+		assertEquals(4, cache.size());
+		assertNull(cache.getIfPresent(5));
+		assertEquals(Integer.valueOf(9), cache.getIfPresent(9));
+	}
+	
+	@Test
+	public void concurrentLookupsShareASingleLoad() throws Exception {
+		BoundedCache<String, Object> cache = new BoundedCache<>(10L);
+		AtomicInteger loads = new AtomicInteger();
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		
+		try {
+			List<Future<Object>> lookups = new ArrayList<>();
+			
+			for (int i = 0; i < 4; i++) {
+				lookups.add(executor.submit(() -> cache.get("key", () -> {
+					loads.incrementAndGet();
+					started.countDown();
+					release.await();
+					return new Object();
+				}, 0L, v -> 1)));
+			}
+			assertTrue(started.await(1L, TimeUnit.SECONDS));
+			
+			//Leave the other lookups time to join the load
+			Thread.sleep(50L);
+			release.countDown();
+			
+			Object value = lookups.get(0).get(1L, TimeUnit.SECONDS);
+			
+			for (Future<Object> lookup : lookups) {
+				assertSame(value, lookup.get(1L, TimeUnit.SECONDS));
+			}
+			assertEquals(1, loads.get());
+			assertEquals(1L, cache.getMissCount());
+			assertEquals(3L, cache.getHitCount());
+			assertSame(value, cache.getIfPresent("key"));
+			
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+	
+	@Test
+	public void failedLoadsReachEveryWaiterAndAreNotCached() throws Exception {
+		BoundedCache<String, String> cache = new BoundedCache<>(10L);
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		
+		try {
+			Future<String> owner = executor.submit(() -> cache.get("key", () -> {
+				started.countDown();
+				release.await();
+				throw new IllegalArgumentException("load failed");
+			}, 0L, String::length));
+			
+			assertTrue(started.await(1L, TimeUnit.SECONDS));
+			
+			Future<String> waiter = executor.submit(() -> cache.get("key", () -> "other", 0L, String::length));
+			
+			Thread.sleep(50L);
+			release.countDown();
+			
+			for (Future<String> lookup : Arrays.asList(owner, waiter)) {
+				try {
+					lookup.get(1L, TimeUnit.SECONDS);
+					fail("The lookup didn't share the failed load");
+					
+				} catch (ExecutionException ex) {
+					assertTrue(ex.getCause() instanceof IllegalArgumentException);
+				}
+			}
+			assertNull(cache.getIfPresent("key"));
+			assertEquals("loaded", cache.get("key", () -> "loaded", 0L, String::length));
+			
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+	
+	@Test
+	public void invalidatedLoadsAreNotCached() throws Exception {
+		BoundedCache<String, String> cache = new BoundedCache<>(10L);
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		
+		try {
+			Future<String> stale = executor.submit(() -> cache.get("key", () -> {
+				started.countDown();
+				release.await();
+				return "stale";
+			}, 0L, String::length));
+			
+			assertTrue(started.await(1L, TimeUnit.SECONDS));
+			cache.invalidate("key");
+			
+			//Starts a load of its own rather than joining the invalidated one
+			assertEquals("fresh", cache.get("key", () -> "fresh", 0L, String::length));
+			
+			release.countDown();
+			
+			assertEquals("stale", stale.get(1L, TimeUnit.SECONDS));
+			assertEquals("fresh", cache.getIfPresent("key"));
+			
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+	
+	@Test
+	public void clearedLoadsAreNotCached() throws Exception {
+		BoundedCache<String, String> cache = new BoundedCache<>(10L);
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		
+		try {
+			Future<String> stale = executor.submit(() -> cache.get("key", () -> {
+				started.countDown();
+				release.await();
+				return "stale";
+			}, 0L, String::length));
+			
+			assertTrue(started.await(1L, TimeUnit.SECONDS));
+			cache.clear();
+			release.countDown();
+			
+			assertEquals("stale", stale.get(1L, TimeUnit.SECONDS));
+			assertNull(cache.getIfPresent("key"));
+			assertEquals(0, cache.size());
+			
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+	
+	@Test(expected = IllegalStateException.class)
+	public void recursiveLoadsFailFast() throws Exception {
+		BoundedCache<String, String> cache = new BoundedCache<>(10L);
+		
+		cache.get("key", () -> cache.get("key", () -> "inner", 0L, String::length), 0L, String::length);
+	}
+	
+}
@@ -0,0 +1,196 @@
+package com.nattguld.tasker.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * 
+ * @author randqm
+ *
+ */
+
+public class ConcurrentAttributesTest {
+	
+	/**
+	 * The amount of threads updating the attributes.
+	 */
+	private static final int THREADS = 4;
+	
+	/**
+	 * The amount of updates per thread.
+	 */
+	private static final int UPDATES = 20000;
+	
+	
+	@Test
+	public void concurrentUpdatesAreNeverLost() throws Exception {
+		ConcurrentAttributes attributes = new ConcurrentAttributes();
+		
+		run(THREADS, () -> {
+			for (int i = 0; i < UPDATES; i++) {
+				attributes.increment("count", 1L);
+				attributes.add("count", 1L);
+				attributes.increment("ratio", 0.5D);
+			}
+		});
+		assertEquals(2L * THREADS * UPDATES, attributes.getAsLong("count"));
+		assertEquals(0.5D * THREADS * UPDATES, attributes.getAsDouble("ratio"), 0D);
+	}
+	
+	@Test
+	public void setAndCompareAndSetCountAdditions() {
+		ConcurrentAttributes attributes = new ConcurrentAttributes();
+		
+		attributes.add("count", 5L);
+		attributes.put("count", 2L);
+		
+		assertEquals(2L, attributes.getAsLong("count"));
+		
+		attributes.add("count", 3L);
+		
+		assertFalse(attributes.compareAndSet("count", 3L, 10L));
+		assertTrue(attributes.compareAndSet("count", 5L, 10L));
+		assertEquals(10L, attributes.getAsLong("count"));
+		assertTrue(attributes.compareAndSet("count", (Object)10L, (Object)20L));
+		assertEquals(21L, attributes.increment("count", 1L));
+	}
+	
+	@Test
+	public void additionsRacingASetCountOnTopOfIt() throws Exception {
+		ConcurrentAttributes attributes = new ConcurrentAttributes();
+		
+		attributes.put("count", 0L);
+		
+		run(THREADS, () -> {
+			for (int i = 0; i < UPDATES; i++) {
+				attributes.add("count", 1L);
+			}
+		}, () -> {
+			//Every reset takes the whole count so far, leaving only later additions behind
+			long taken = 0L;
+			
+			for (int i = 0; i < 1000; i++) {
+				long current = attributes.getAsLong("count");
+				
+				if (attributes.compareAndSet("count", current, 0L)) {
+					taken += current;
+				}
+			}
+			attributes.add("taken", taken);
+		});
+		assertEquals((long)THREADS * UPDATES, attributes.getAsLong("count") + attributes.getAsLong("taken"));
+	}
+	
+	@Test
+	public void snapshotsNeverHoldOffWriters() throws Exception {
+		ConcurrentAttributes attributes = new ConcurrentAttributes();
+		
+		run(THREADS, () -> {
+			for (int i = 0; i < UPDATES; i++) {
+				attributes.add("count", 1L);
+			}
+		}, () -> {
+			long previous = 0L;
+			
+			for (int i = 0; i < 1000; i++) {
+				Object value = attributes.snapshot().get("count");
+				long count = Objects.isNull(value) ? 0L : (Long)value;
+				
+				assertTrue(count >= previous);
+				previous = count;
+			}
+		});
+		assertEquals((long)THREADS * UPDATES, attributes.snapshot().get("count"));
+	}
+	
+	@Test
+	public void compareAndSetObjects() {
+		ConcurrentAttributes attributes = new ConcurrentAttributes();
+		
+		assertTrue(attributes.compareAndSet("key", null, "a"));
+		assertFalse(attributes.compareAndSet("key", null, "b"));
+		assertFalse(attributes.compareAndSet("key", "b", "c"));
+		assertTrue(attributes.compareAndSet("key", "a", 1));
+		assertEquals(1, attributes.getAsInt("key"));
+		assertTrue(attributes.compareAndSet("key", 1, "d"));
+		assertEquals("d", attributes.getAsString("key"));
+	}
+	
+	@Test
+	public void keepsNullValues() {
+		ConcurrentAttributes attributes = new ConcurrentAttributes();
+		
+		attributes.put("key", (Object)null);
+		
+		Map<String, Object> kvps = attributes.getKvps();
+		
+		assertTrue(attributes.has("key"));
+		assertTrue(kvps.containsKey("key"));
+		assertNull(kvps.get("key"));
+	}
+	
+	@Test(expected = IllegalStateException.class)
+	public void refusesUpdatesOfAnotherKind() {
+		ConcurrentAttributes attributes = new ConcurrentAttributes();
+		
+		attributes.increment("ratio", 0.5D);
+		attributes.increment("ratio", 1L);
+	}
+	
+	/**
+	 * Runs tasks concurrently, the first one on a given amount of threads, and waits for them to finish.
+	 * 
+	 * @param threads The amount of threads running the first task.
+	 * 
+	 * @param first The first task.
+	 * 
+	 * @param others The other tasks, each running on a thread of its own.
+	 * 
+	 * @throws Exception When a task failed.
+	 */
+	private static void run(int threads, Runnable first, Runnable... others) throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(threads + others.length);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<?>> futures = new ArrayList<>();
+		
+		try {
+			List<Runnable> runnables = new ArrayList<>();
+			
+			for (int i = 0; i < threads; i++) {
+				runnables.add(first);
+			}
+			for (Runnable other : others) {
+				runnables.add(other);
+			}
+			for (Runnable runnable : runnables) {
+				futures.add(executor.submit(() -> {
+					start.await();
+					runnable.run();
+					return null;
+				}));
+			}
+			start.countDown();
+			
+			for (Future<?> future : futures) {
+				future.get(10L, TimeUnit.SECONDS);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+	
+}
@@ -0,0 +1,157 @@
+package com.nattguld.tasker.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * 
+ * @author randqm
+ *
+ */
+
+public class ConcurrentLinkedSetTest {
+	
+	@Test
+	public void keepsInsertionOrderWithoutDuplicates() {
+		ConcurrentLinkedSet<String> set = new ConcurrentLinkedSet<>();
+		
+		assertTrue(set.offer("a"));
+		assertTrue(set.offer("b"));
+		assertFalse(set.offer("a"));
+		assertTrue(set.add("c"));
+		
+		assertEquals(3, set.size());
+		assertEquals(Arrays.asList("a", "b", "c"), new ArrayList<>(set));
+		assertEquals("a", set.peek());
+		assertEquals("a", set.poll());
+		assertEquals("b", set.poll());
+		assertEquals("c", set.poll());
+		assertNull(set.poll());
+		assertTrue(set.isEmpty());
+	}
+	
+	@Test
+	public void removedElementsAreSkipped() {
+		ConcurrentLinkedSet<Integer> set = new ConcurrentLinkedSet<>();
+		
+		for (int i = 0; i < 5; i++) {
+			set.offer(i);
+		}
+		assertTrue(set.remove(0));
+		assertTrue(set.remove(2));
+		assertFalse(set.remove(2));
+		assertFalse(set.contains(0));
+		
+		assertEquals(Integer.valueOf(1), set.peek());
+		assertEquals(Arrays.asList(1, 3, 4), new ArrayList<>(set));
+	}
+	
+	@Test
+	public void removedElementsCanBeAddedAgain() {
+		ConcurrentLinkedSet<String> set = new ConcurrentLinkedSet<>();
+		
+		set.offer("a");
+		set.offer("b");
+		set.remove("a");
+		
+		assertTrue(set.offer("a"));
+		assertEquals(Arrays.asList("b", "a"), new ArrayList<>(set));
+	}
+	
+	@Test
+	public void iteratorRemovesElements() {
+		ConcurrentLinkedSet<Integer> set = new ConcurrentLinkedSet<>();
+		
+		for (int i = 0; i < 6; i++) {
+			set.offer(i);
+		}
+		for (Iterator<Integer> it = set.iterator(); it.hasNext();) {
+			if (it.next() % 2 == 0) {
+				it.remove();
+			}
+		}
+		assertEquals(3, set.size());
+		assertEquals(Arrays.asList(1, 3, 5), new ArrayList<>(set));
+	}
+	
+	@Test
+	public void manyRemovalsKeepTheOrder() {
+		ConcurrentLinkedSet<Integer> set = new ConcurrentLinkedSet<>();
+		
+		//Far beyond the purge threshold
+		for (int i = 0; i < 1000; i++) {
+			set.offer(i);
+		}
+		for (int i = 0; i < 1000; i++) {
+			if (i % 10 != 0) {
+				set.remove(i);
+			}
+		}
+		List<Integer> expected = new ArrayList<>();
+		
+		for (int i = 0; i < 1000; i += 10) {
+			expected.add(i);
+		}
+		assertEquals(expected, new ArrayList<>(set));
+		
+		set.clear();
+		
+		assertTrue(set.isEmpty());
+		assertNull(set.peek());
+	}
+	
+	@Test
+	public void concurrentPollsHandOutEveryElementOnce() throws Exception {
+		ConcurrentLinkedSet<Integer> set = new ConcurrentLinkedSet<>();
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		
+		for (int i = 0; i < 10000; i++) {
+			set.offer(i);
+		}
+		try {
+			List<Future<List<Integer>>> consumers = new ArrayList<>();
+			
+			for (int i = 0; i < 4; i++) {
+				consumers.add(executor.submit(() -> {
+					List<Integer> polled = new ArrayList<>();
+					
+					for (Integer element = set.poll(); Objects.nonNull(element); element = set.poll()) {
+						polled.add(element);
+					}
+					return polled;
+				}));
+			}
+			Set<Integer> seen = new HashSet<>();
+			int total = 0;
+			
+			for (Future<List<Integer>> consumer : consumers) {
+				List<Integer> polled = consumer.get(5L, TimeUnit.SECONDS);
+				
+				total += polled.size();
+				seen.addAll(polled);
+			}
+			assertEquals(10000, total);
+			assertEquals(10000, seen.size());
+			
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+	
+}
@@ -0,0 +1,113 @@
+package com.nattguld.tasker.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * 
+ * @author randqm
+ *
+ */
+
+public class RingBufferTest {
+	
+	@Test
+	public void capacityRoundsUpToAPowerOfTwo() {
+		assertEquals(2, new RingBuffer<>(1).capacity());
+		assertEquals(8, new RingBuffer<>(5).capacity());
+		assertEquals(16, new RingBuffer<>(16).capacity());
+	}
+	
+	@Test
+	public void drainsInOfferOrder() {
+		RingBuffer<Integer> buffer = new RingBuffer<>(8);
+		List<Integer> drained = new ArrayList<>();
+		
+		for (int i = 0; i < 5; i++) {
+			assertTrue(buffer.offer(i));
+		}
+		assertEquals(5, buffer.size());
+		assertEquals(3, buffer.drain(drained::add, 3));
+		assertEquals(Arrays.asList(0, 1, 2), drained);
+		assertEquals(2, buffer.drain(drained::add, 10));
+		assertEquals(Arrays.asList(0, 1, 2, 3, 4), drained);
+		assertTrue(buffer.isEmpty());
+	}
+	
+	@Test
+	public void dropsWhenFull() {
+		RingBuffer<Integer> buffer = new RingBuffer<>(4);
+		List<Integer> drained = new ArrayList<>();
+		
+		for (int i = 0; i < 4; i++) {
+			assertTrue(buffer.offer(i));
+		}
+		assertFalse(buffer.offer(4));
+		assertEquals(1L, buffer.getDroppedCount());
+		
+		//Draining frees the slots for wrapped around sequences
+		buffer.drain(drained::add, 2);
+		
+		assertTrue(buffer.offer(5));
+		assertTrue(buffer.offer(6));
+		assertFalse(buffer.offer(7));
+		
+		buffer.drain(drained::add, 10);
+		
+		assertEquals(Arrays.asList(0, 1, 2, 3, 5, 6), drained);
+		assertEquals(2L, buffer.getDroppedCount());
+	}
+	
+	@Test
+	public void concurrentProducersLoseNothing() throws Exception {
+		RingBuffer<Integer> buffer = new RingBuffer<>(1 << 16);
+		ExecutorService producers = Executors.newFixedThreadPool(4);
+		CountDownLatch done = new CountDownLatch(4);
+		
+		try {
+			for (int i = 0; i < 4; i++) {
+				int offset = i * 10000;
+				
+				producers.execute(() -> {
+					for (int j = 0; j < 10000; j++) {
+						buffer.offer(offset + j);
+					}
+					done.countDown();
+				});
+			}
+			Set<Integer> drained = new HashSet<>();
+			long deadline = System.currentTimeMillis() + 5000L;
+			
+			while (drained.size() < 40000 && System.currentTimeMillis() < deadline) {
+				if (buffer.drain(drained::add, 256) == 0) {
+					Thread.sleep(1L);
+				}
+			}
+			assertTrue(done.await(1L, TimeUnit.SECONDS));
+			assertEquals(40000, drained.size());
+			assertEquals(0L, buffer.getDroppedCount());
+			
+		} finally {
+			producers.shutdownNow();
+		}
+	}
+	
+	@Test(expected = NullPointerException.class)
+	public void refusesNull() {
+		new RingBuffer<>(2).offer(null);
+	}
+	
+}